@@ -0,0 +1,138 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import roamingcollection.RoamingMap;
+
+/**
+ * BarricadeBenchmark measures the checked get, put and size of Barricade under every verification
+ * policy, on tracked and untracked maps, on maps over their own tree or an injected one and with
+ * metrics on and off, next to the raw RoamingMap calls they wrap
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BarricadeBenchmark {
+
+	private static final int PROBES = 1 << 12;
+
+	private static final MethodHandle GET = Unpackaged.method("Barricade", "getWithStateVar",
+		RoamingMap.class, Comparable.class);
+	private static final MethodHandle PUT = Unpackaged.method("Barricade", "putWithStateVar",
+		RoamingMap.class, Comparable.class, Object.class);
+	private static final MethodHandle SIZE = Unpackaged.method("Barricade", "correctSize",
+		RoamingMap.class);
+	private static final MethodHandle SET_POLICY = Unpackaged.method("Barricade",
+		"setVerificationPolicy", "VerificationPolicy");
+	private static final MethodHandle TRACK = Unpackaged.method("Barricade", "track",
+		RoamingMap.class);
+	private static final MethodHandle UNTRACK = Unpackaged.method("Barricade", "untrack",
+		RoamingMap.class);
+	private static final MethodHandle SET_METRICS = Unpackaged.method("BarricadeMetrics",
+		"setEnabled", boolean.class);
+
+	@Param({"1000", "100000"})
+	public int size;
+
+	@Param({"always", "shadow", "async", "sampled", "off"})
+	public String policy;
+
+	@Param({"false", "true"})
+	public boolean tracked;
+
+	@Param({"false", "true"})
+	public boolean injected;
+
+	@Param({"false", "true"})
+	public boolean metrics;
+
+	private RoamingMap<Integer, Integer> map;
+	private Integer[] probes;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		Object verificationPolicy = switch (policy) {
+			case "sampled" -> Unpackaged.call(
+				Unpackaged.method("VerificationPolicy", "sampled", int.class), 64);
+			default -> Unpackaged.call(Unpackaged.method("VerificationPolicy", policy));
+		};
+		Unpackaged.call(SET_POLICY, verificationPolicy);
+		Unpackaged.call(SET_METRICS, metrics);
+		map = injected ? new RoamingMap<>(new TreeMap<Integer, Integer>(), true)
+			: new RoamingMap<>();
+		for (int i = 0; i < size; i++) {
+			map.put(i, i);
+		}
+		if (tracked) {
+			Unpackaged.call(TRACK, map);
+		}
+		Random random = new Random(42);
+		probes = new Integer[PROBES];
+		for (int i = 0; i < PROBES; i++) {
+			probes[i] = random.nextInt(size);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		Unpackaged.call(UNTRACK, map);
+		Unpackaged.call(SET_METRICS, false);
+		Unpackaged.call(SET_POLICY,
+			Unpackaged.call(Unpackaged.method("VerificationPolicy", "always")));
+	}
+
+	private Integer probe() {
+		next = (next + 1) & (PROBES - 1);
+		return probes[next];
+	}
+
+	@Benchmark
+	public Integer rawGet() {
+		return map.get(probe());
+	}
+
+	@Benchmark
+	public Object checkedGet() throws Throwable {
+		return (Object) GET.invokeExact((Object) map, (Object) probe());
+	}
+
+	@Benchmark
+	public Integer rawPut() {
+		Integer key = probe();
+		return map.put(key, key);
+	}
+
+	@Benchmark
+	public Object checkedPut() throws Throwable {
+		Integer key = probe();
+		return (Object) PUT.invokeExact((Object) map, (Object) key, (Object) key);
+	}
+
+	@Benchmark
+	public int rawSize() {
+		return map.size();
+	}
+
+	@Benchmark
+	public int checkedSize() throws Throwable {
+		return (int) SIZE.invokeExact((Object) map);
+	}
+}
@@ -0,0 +1,53 @@
+package benchmarks;
+
+import java.io.IOException;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * BenchmarkMain runs the suite with the usual JMH command line, writing the results as JSON to
+ * jmh-result.json unless -rf or -rff ask for another format or file, so every run can be kept for
+ * trend tracking
+ */
+public final class BenchmarkMain {
+
+	/**
+	 * The file the results are written to when the command line names none
+	 */
+	static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+	private BenchmarkMain() {
+	}
+
+	/**
+	 * Runs the benchmarks selected by the command line
+	 *
+	 * @param args the JMH command line
+	 * @throws CommandLineOptionException if the command line cannot be parsed
+	 * @throws RunnerException            if a benchmark fails
+	 * @throws IOException                if a listing cannot be written
+	 */
+	public static void main(String[] args)
+		throws CommandLineOptionException, RunnerException, IOException {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers()
+			|| commandLine.shouldListResultFormats() || commandLine.shouldListWithParams()) {
+			Main.main(args);
+			return;
+		}
+		ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+		if (!commandLine.getResultFormat().hasValue()) {
+			options.resultFormat(ResultFormatType.JSON);
+		}
+		if (!commandLine.getResult().hasValue()) {
+			options.result(DEFAULT_RESULT_FILE);
+		}
+		new Runner(options.build()).run();
+	}
+}
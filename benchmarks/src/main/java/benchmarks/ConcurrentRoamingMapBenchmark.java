@@ -0,0 +1,85 @@
+package benchmarks;
+
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import roamingcollection.ConcurrentRoamingMap;
+import roamingcollection.RoamingMap;
+
+/**
+ * ConcurrentRoamingMapBenchmark measures the throughput of a mix of 90% get and 10% put on a shared
+ * map from 1 to 64 threads, for ConcurrentRoamingMap, a bare ConcurrentSkipListMap and a RoamingMap
+ * behind Collections.synchronizedNavigableMap
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentRoamingMapBenchmark {
+
+	@Param({"100000"})
+	public int size;
+
+	@Param({"concurrent", "skipList", "synchronized"})
+	public String map;
+
+	private NavigableMap<Integer, Integer> shared;
+
+	@Setup
+	public void setUp() {
+		shared = switch (map) {
+			case "concurrent" -> new ConcurrentRoamingMap<>();
+			case "skipList" -> new ConcurrentSkipListMap<>();
+			default -> Collections.synchronizedNavigableMap(new RoamingMap<Integer, Integer>());
+		};
+		for (int i = 0; i < size; i++) {
+			shared.put(i, i);
+		}
+	}
+
+	private Integer mixed() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Integer key = random.nextInt(size);
+		return (random.nextInt(10) == 0) ? shared.put(key, key) : shared.get(key);
+	}
+
+	@Benchmark
+	@Threads(1)
+	public Integer threads01() {
+		return mixed();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Integer threads04() {
+		return mixed();
+	}
+
+	@Benchmark
+	@Threads(16)
+	public Integer threads16() {
+		return mixed();
+	}
+
+	@Benchmark
+	@Threads(64)
+	public Integer threads64() {
+		return mixed();
+	}
+}
@@ -0,0 +1,99 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * IndexesBenchmark measures a row-major traversal of rows x 1000 cells through Indexes.stream, its
+ * parallel form and Indexes.packedStream, next to a plain nested loop, and the cost of obtaining an
+ * Indexes through the interning Indexes.of and through the constructor
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IndexesBenchmark {
+
+	private static final int COLUMNS = 1_000;
+
+	private static final MethodHandle NEW = Unpackaged.constructor("Indexes", int.class,
+		int.class);
+	private static final MethodHandle OF = Unpackaged.method("Indexes", "of", int.class, int.class);
+	private static final MethodHandle STREAM = Unpackaged.method("Indexes", "stream", "Indexes",
+		"Indexes");
+	private static final MethodHandle PACKED_STREAM = Unpackaged.method("Indexes", "packedStream",
+		"Indexes", "Indexes");
+
+	@Param({"1000", "10000", "100000"})
+	public int rows;
+
+	private Object from;
+	private Object to;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		from = Unpackaged.call(NEW, 0, 0);
+		to = Unpackaged.call(NEW, rows - 1, COLUMNS - 1);
+	}
+
+	@Benchmark
+	public long nestedLoop() {
+		long sum = 0;
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < COLUMNS; j++) {
+				sum += 31 * i + j;
+			}
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public long stream() throws Throwable {
+		return ((Stream<Object>) (Object) STREAM.invokeExact(from, to))
+			.mapToLong(Object::hashCode).sum();
+	}
+
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public long parallelStream() throws Throwable {
+		return ((Stream<Object>) (Object) STREAM.invokeExact(from, to)).parallel()
+			.mapToLong(Object::hashCode).sum();
+	}
+
+	@Benchmark
+	public long packedStream() throws Throwable {
+		return ((LongStream) (Object) PACKED_STREAM.invokeExact(from, to))
+			.map(packed -> 31 * (packed >> 32) + (int) packed).sum();
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public Object interned() throws Throwable {
+		next = (next + 1) & 63;
+		return (Object) OF.invokeExact(next, next);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public Object allocated() throws Throwable {
+		next = (next + 1) & 63;
+		return (Object) NEW.invokeExact(next, next);
+	}
+}
@@ -0,0 +1,126 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import roamingcollection.MappedNavigableMap;
+import roamingcollection.MappedNavigableMap.Codec;
+
+/**
+ * MappedNavigableMapBenchmark measures point lookups, in-place updates, navigation and short range
+ * scans on a MappedNavigableMap of long keys and values, next to the same calls on a TreeMap
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappedNavigableMapBenchmark {
+
+	private static final int PROBES = 1 << 12;
+
+	@Param({"100000", "1000000"})
+	public int size;
+
+	private Path directory;
+	private MappedNavigableMap<Long, Long> mapped;
+	private TreeMap<Long, Long> tree;
+	private Long[] probes;
+	private int next;
+
+	@Setup
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("mapped-map");
+		mapped = MappedNavigableMap.open(directory.resolve("map.bin"), Codec.longs(), Codec.longs());
+		tree = new TreeMap<>();
+		for (long i = 0; i < size; i++) {
+			mapped.put(2 * i, i);
+			tree.put(2 * i, i);
+		}
+		Random random = new Random(42);
+		probes = new Long[PROBES];
+		for (int i = 0; i < PROBES; i++) {
+			probes[i] = (long) random.nextInt(2 * size);
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		mapped.close();
+		Files.deleteIfExists(directory.resolve("map.bin"));
+		Files.delete(directory);
+	}
+
+	private Long probe() {
+		next = (next + 1) & (PROBES - 1);
+		return probes[next];
+	}
+
+	@Benchmark
+	public Long get() {
+		return mapped.get(probe());
+	}
+
+	@Benchmark
+	public Long treeMapGet() {
+		return tree.get(probe());
+	}
+
+	@Benchmark
+	public Long put() {
+		Long key = probe();
+		return mapped.put(key & ~1L, key);
+	}
+
+	@Benchmark
+	public Long treeMapPut() {
+		Long key = probe();
+		return tree.put(key & ~1L, key);
+	}
+
+	@Benchmark
+	public Map.Entry<Long, Long> ceilingEntry() {
+		return mapped.ceilingEntry(probe());
+	}
+
+	@Benchmark
+	public Map.Entry<Long, Long> treeMapCeilingEntry() {
+		return tree.ceilingEntry(probe());
+	}
+
+	@Benchmark
+	public long subMapScan() {
+		return scan(mapped, probe());
+	}
+
+	@Benchmark
+	public long treeMapSubMapScan() {
+		return scan(tree, probe());
+	}
+
+	private static long scan(NavigableMap<Long, Long> map, Long from) {
+		long sum = 0;
+		for (Long value : map.subMap(from, true, from + 200, false).values()) {
+			sum += value;
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,120 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.nio.file.Path;
+import java.util.function.Function;
+import roamingcollection.MappedNavigableMap;
+
+/**
+ * Matrices holds the handles of the MatrixMap members used by the benchmarks and builds their
+ * input matrices; MatrixMap, Indexes and Semiring live in the default package, so every matrix is
+ * typed as Object here
+ */
+final class Matrices {
+
+	static final MethodHandle INSTANCE = Unpackaged.method("MatrixMap", "instance", int.class,
+		int.class, Function.class, "MatrixMap$Layout");
+	static final MethodHandle PARALLEL_INSTANCE = Unpackaged.method("MatrixMap", "instance",
+		int.class, int.class, Function.class, "MatrixMap$ParallelBuild");
+	static final MethodHandle DEFAULT_INSTANCE = Unpackaged.method("MatrixMap", "instance",
+		int.class, int.class, Function.class);
+	static final MethodHandle VALUE = Unpackaged.method("MatrixMap", "value", int.class, int.class);
+	static final MethodHandle SIZE = Unpackaged.method("MatrixMap", "size");
+	static final MethodHandle ROW = Unpackaged.method("MatrixMap", "row", int.class);
+	static final MethodHandle WRITE_TO = Unpackaged.method("MatrixMap", "writeTo",
+		Appendable.class);
+	static final MethodHandle WRITE_TO_LIMITED = Unpackaged.method("MatrixMap", "writeTo",
+		Appendable.class, long.class);
+	static final MethodHandle MULTIPLY = Unpackaged.method("MatrixMap", "multiply", "MatrixMap",
+		"Semiring");
+	static final MethodHandle PARALLEL_MULTIPLY = Unpackaged.method("MatrixMap", "multiply",
+		"MatrixMap", "Semiring", "MatrixMap$ParallelBuild");
+	static final MethodHandle SAVE = Unpackaged.method("MatrixMap", "save", Path.class,
+		MappedNavigableMap.Codec.class);
+	static final MethodHandle MAP = Unpackaged.method("MatrixMap", "map", Path.class,
+		MappedNavigableMap.Codec.class);
+
+	/**
+	 * The value mapper of the benchmark matrices: cheap, deterministic and spread over 97 values,
+	 * so no value dominates and instance keeps the matrix dense
+	 */
+	static final Function<Object, Object> VALUES = indexes -> Math.floorMod(indexes.hashCode(),
+		97);
+
+	private Matrices() {
+	}
+
+	/**
+	 * Returns the MatrixMap.Layout constant with the input name
+	 *
+	 * @param name the name of the layout
+	 * @return the MatrixMap.Layout constant with the input name
+	 */
+	static Object layout(String name) {
+		return Unpackaged.constant("MatrixMap$Layout", name);
+	}
+
+	/**
+	 * Returns MatrixMap.ParallelBuild.common()
+	 *
+	 * @return the parallel build on the common pool with the default threshold
+	 */
+	static Object commonBuild() {
+		return Unpackaged.call(Unpackaged.method("MatrixMap$ParallelBuild", "common"));
+	}
+
+	/**
+	 * Returns Semiring.longs()
+	 *
+	 * @return the semiring of longs
+	 */
+	static Object longs() {
+		return Unpackaged.call(Unpackaged.method("Semiring", "longs"));
+	}
+
+	/**
+	 * Returns the rows x columns matrix of VALUES stored with the input layout; MAPPED matrices are
+	 * saved densely to file first and mapped back
+	 *
+	 * @param rows    the number of rows
+	 * @param columns the number of columns
+	 * @param layout  the name of the layout
+	 * @param file    the file MAPPED matrices are saved to
+	 * @return the rows x columns matrix of VALUES stored with the input layout
+	 */
+	static Object build(int rows, int columns, String layout, Path file) {
+		if (!layout.equals("MAPPED")) {
+			return Unpackaged.call(INSTANCE, rows, columns, VALUES, layout(layout));
+		}
+		Object dense = Unpackaged.call(INSTANCE, rows, columns, VALUES, layout("DENSE"));
+		Unpackaged.call(SAVE, dense, file, MappedNavigableMap.Codec.integers());
+		return Unpackaged.call(MAP, file, MappedNavigableMap.Codec.integers());
+	}
+
+	/**
+	 * Sink is an Appendable that only counts the characters it is given, so rendering is measured
+	 * without the cost of keeping the text
+	 */
+	static final class Sink implements Appendable {
+
+		long length;
+
+		@Override
+		public Appendable append(CharSequence text) {
+			length += text.length();
+			return this;
+		}
+
+		@Override
+		public Appendable append(CharSequence text, int start, int end) {
+			length += end - start;
+			return this;
+		}
+
+		@Override
+		public Appendable append(char c) {
+			length++;
+			return this;
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MatrixBuildBenchmark measures the time MatrixMap.instance takes to build a square matrix of
+ * every dimension, for every layout and for the sequential and parallel default builds
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatrixBuildBenchmark {
+
+	/**
+	 * LayoutState selects the dimension and layout of the matrix built
+	 */
+	@State(Scope.Benchmark)
+	public static class LayoutState {
+
+		@Param({"64", "256", "1024"})
+		public int dimension;
+
+		@Param({"DENSE", "SPARSE", "PACKED", "LAZY", "MAP"})
+		public String layout;
+
+		Object layoutConstant;
+
+		@Setup
+		public void setUp() {
+			layoutConstant = Matrices.layout(layout);
+		}
+	}
+
+	/**
+	 * DefaultState selects the dimension of the matrix built and how expensive every value is
+	 */
+	@State(Scope.Benchmark)
+	public static class DefaultState {
+
+		@Param({"64", "256", "1024"})
+		public int dimension;
+
+		@Param({"0", "200"})
+		public int work;
+
+		Function<Object, Object> mapper;
+		Object build;
+
+		@Setup
+		public void setUp() {
+			int rounds = work;
+			mapper = indexes -> {
+				int value = indexes.hashCode();
+				for (int i = 0; i < rounds; i++) {
+					value = value * 1_103_515_245 + 12_345;
+				}
+				return Math.floorMod(value, 97);
+			};
+			build = Matrices.commonBuild();
+		}
+	}
+
+	private static final MethodHandle INSTANCE = Matrices.INSTANCE;
+	private static final MethodHandle DEFAULT_INSTANCE = Matrices.DEFAULT_INSTANCE;
+	private static final MethodHandle PARALLEL_INSTANCE = Matrices.PARALLEL_INSTANCE;
+
+	@Benchmark
+	public Object instanceWithLayout(LayoutState state) throws Throwable {
+		return (Object) INSTANCE.invokeExact(state.dimension, state.dimension,
+			(Object) Matrices.VALUES, state.layoutConstant);
+	}
+
+	@Benchmark
+	public Object instance(DefaultState state) throws Throwable {
+		return (Object) DEFAULT_INSTANCE.invokeExact(state.dimension, state.dimension,
+			(Object) state.mapper);
+	}
+
+	@Benchmark
+	public Object parallelInstance(DefaultState state) throws Throwable {
+		return (Object) PARALLEL_INSTANCE.invokeExact(state.dimension, state.dimension,
+			(Object) state.mapper, state.build);
+	}
+}
@@ -0,0 +1,116 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MatrixMultiplyBenchmark measures the product of two square matrices of longs: a naive triple loop
+ * over MatrixMap.value, the blocked multiply and the fork-join multiply on the common pool. Every
+ * call takes seconds at the larger sizes, so each one is timed once per iteration.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class MatrixMultiplyBenchmark {
+
+	private static final MethodHandle VALUE = Matrices.VALUE;
+	private static final MethodHandle MULTIPLY = Matrices.MULTIPLY;
+	private static final MethodHandle PARALLEL_MULTIPLY = Matrices.PARALLEL_MULTIPLY;
+
+	/**
+	 * Factors holds two size x size matrices of longs and what multiply needs besides them
+	 */
+	public abstract static class Factors {
+
+		int size;
+		Object left;
+		Object right;
+		Object semiring;
+		Object build;
+
+		void build(int size) {
+			Function<Object, Object> leftValues = indexes -> (long) Math.floorMod(indexes.hashCode(),
+				10);
+			Function<Object, Object> rightValues = indexes -> (long) Math.floorMod(
+				indexes.hashCode() * 7, 10);
+			this.size = size;
+			left = Unpackaged.call(Matrices.DEFAULT_INSTANCE, size, size, leftValues);
+			right = Unpackaged.call(Matrices.DEFAULT_INSTANCE, size, size, rightValues);
+			semiring = Matrices.longs();
+			build = Matrices.commonBuild();
+		}
+	}
+
+	/**
+	 * Operands covers every size of the blocked and parallel multiply
+	 */
+	@State(Scope.Benchmark)
+	public static class Operands extends Factors {
+
+		@Param({"512", "1024", "2048", "4096"})
+		public int dimension;
+
+		@Setup
+		public void setUp() {
+			build(dimension);
+		}
+	}
+
+	/**
+	 * NaiveOperands stops at the sizes the naive loop finishes in reasonable time; larger ones can
+	 * still be requested with -p naiveDimension
+	 */
+	@State(Scope.Benchmark)
+	public static class NaiveOperands extends Factors {
+
+		@Param({"512", "1024"})
+		public int naiveDimension;
+
+		@Setup
+		public void setUp() {
+			build(naiveDimension);
+		}
+	}
+
+	@Benchmark
+	public long[] naive(NaiveOperands operands) throws Throwable {
+		int size = operands.size;
+		long[] product = new long[size * size];
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < size; j++) {
+				long sum = 0;
+				for (int p = 0; p < size; p++) {
+					sum += (Long) (Object) VALUE.invokeExact(operands.left, i, p)
+						* (Long) (Object) VALUE.invokeExact(operands.right, p, j);
+				}
+				product[i * size + j] = sum;
+			}
+		}
+		return product;
+	}
+
+	@Benchmark
+	public Object blocked(Operands operands) throws Throwable {
+		return (Object) MULTIPLY.invokeExact(operands.left, operands.right, operands.semiring);
+	}
+
+	@Benchmark
+	public Object parallel(Operands operands) throws Throwable {
+		return (Object) PARALLEL_MULTIPLY.invokeExact(operands.left, operands.right,
+			operands.semiring, operands.build);
+	}
+}
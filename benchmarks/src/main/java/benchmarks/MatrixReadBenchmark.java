@@ -0,0 +1,123 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MatrixReadBenchmark measures the latency of value, size, row scans and rendering on a square
+ * matrix of every dimension and layout
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatrixReadBenchmark {
+
+	private static final int PROBES = 1 << 12;
+
+	private static final MethodHandle VALUE = Matrices.VALUE;
+	private static final MethodHandle SIZE = Matrices.SIZE;
+	private static final MethodHandle ROW = Matrices.ROW;
+	private static final MethodHandle WRITE_TO = Matrices.WRITE_TO;
+	private static final MethodHandle WRITE_TO_LIMITED = Matrices.WRITE_TO_LIMITED;
+
+	@Param({"256", "1024"})
+	public int dimension;
+
+	@Param({"DENSE", "SPARSE", "PACKED", "LAZY", "MAP", "MAPPED"})
+	public String layout;
+
+	private Path directory;
+	private Object matrix;
+	private int[] rows;
+	private int[] columns;
+	private int next;
+
+	@Setup
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("matrix-read");
+		matrix = Matrices.build(dimension, dimension, layout, directory.resolve("matrix.bin"));
+		Random random = new Random(42);
+		rows = new int[PROBES];
+		columns = new int[PROBES];
+		for (int i = 0; i < PROBES; i++) {
+			rows[i] = random.nextInt(dimension);
+			columns[i] = random.nextInt(dimension);
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(directory.resolve("matrix.bin"));
+		Files.delete(directory);
+	}
+
+	@Benchmark
+	public Object value() throws Throwable {
+		next = (next + 1) & (PROBES - 1);
+		return (Object) VALUE.invokeExact(matrix, rows[next], columns[next]);
+	}
+
+	@Benchmark
+	public Object size() throws Throwable {
+		return (Object) SIZE.invokeExact(matrix);
+	}
+
+	@Benchmark
+	public long rowByValue() throws Throwable {
+		next = (next + 1) & (PROBES - 1);
+		int row = rows[next];
+		long sum = 0;
+		for (int j = 0; j < dimension; j++) {
+			sum += ((Object) VALUE.invokeExact(matrix, row, j)).hashCode();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long rowViewWriteTo() throws Throwable {
+		next = (next + 1) & (PROBES - 1);
+		Matrices.Sink sink = new Matrices.Sink();
+		WRITE_TO.invokeExact((Object) ROW.invokeExact(matrix, rows[next]), (Object) sink);
+		return sink.length;
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public String toStringWhole() {
+		return matrix.toString();
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public long writeToWhole() throws Throwable {
+		Matrices.Sink sink = new Matrices.Sink();
+		WRITE_TO.invokeExact(matrix, (Object) sink);
+		return sink.length;
+	}
+
+	@Benchmark
+	public long writeToFirstHundred() throws Throwable {
+		Matrices.Sink sink = new Matrices.Sink();
+		WRITE_TO_LIMITED.invokeExact(matrix, (Object) sink, 100L);
+		return sink.length;
+	}
+}
@@ -0,0 +1,138 @@
+package benchmarks;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import roamingcollection.RoamingMap;
+
+/**
+ * RoamingMapBenchmark measures the point, navigation and snapshot operations of RoamingMap next to
+ * the same calls on a plain TreeMap, for maps of size entries
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoamingMapBenchmark {
+
+	/**
+	 * The number of keys looked up in turn, a power of two
+	 */
+	private static final int PROBES = 1 << 12;
+
+	@Param({"1000", "100000", "1000000"})
+	public int size;
+
+	private RoamingMap<Integer, Integer> roaming;
+	private RoamingMap<Integer, Integer> snapshotted;
+	private TreeMap<Integer, Integer> tree;
+	private Integer[] probes;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		roaming = new RoamingMap<>();
+		tree = new TreeMap<>();
+		for (int i = 0; i < size; i++) {
+			roaming.put(2 * i, i);
+			tree.put(2 * i, i);
+		}
+		snapshotted = new RoamingMap<>(tree);
+		snapshotted.snapshot();
+		Random random = new Random(42);
+		probes = new Integer[PROBES];
+		for (int i = 0; i < PROBES; i++) {
+			probes[i] = random.nextInt(2 * size);
+		}
+	}
+
+	private Integer probe() {
+		next = (next + 1) & (PROBES - 1);
+		return probes[next];
+	}
+
+	@Benchmark
+	public Integer get() {
+		return roaming.get(probe());
+	}
+
+	@Benchmark
+	public Integer treeMapGet() {
+		return tree.get(probe());
+	}
+
+	@Benchmark
+	public Integer put() {
+		Integer key = probe();
+		return roaming.put(key & ~1, key);
+	}
+
+	@Benchmark
+	public Integer treeMapPut() {
+		Integer key = probe();
+		return tree.put(key & ~1, key);
+	}
+
+	@Benchmark
+	public Map.Entry<Integer, Integer> floorEntry() {
+		return roaming.floorEntry(probe());
+	}
+
+	@Benchmark
+	public Integer ceilingKey() {
+		return roaming.ceilingKey(probe());
+	}
+
+	@Benchmark
+	public Map.Entry<Integer, Integer> treeMapFloorEntry() {
+		return tree.floorEntry(probe());
+	}
+
+	@Benchmark
+	public long subMapScan() {
+		Integer from = probe();
+		long sum = 0;
+		for (Integer value : roaming.subMap(from, true, from + 200, false).values()) {
+			sum += value;
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long treeMapSubMapScan() {
+		Integer from = probe();
+		long sum = 0;
+		for (Integer value : tree.subMap(from, true, from + 200, false).values()) {
+			sum += value;
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public Integer putOnSnapshottedMap() {
+		Integer key = probe();
+		return snapshotted.put(key & ~1, key);
+	}
+
+	@Benchmark
+	public NavigableMap<Integer, Integer> putAndSnapshot() {
+		Integer key = probe();
+		snapshotted.put(key & ~1, key);
+		return snapshotted.snapshot();
+	}
+}
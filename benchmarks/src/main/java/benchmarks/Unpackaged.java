@@ -0,0 +1,116 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Unpackaged reaches the library classes that live in the default package, which code in a named
+ * package cannot refer to by name and JMH cannot host benchmarks in. Every handle has its reference
+ * types erased to Object so it can be called with invokeExact; benchmarks keep the handles in
+ * static final fields, where the JIT inlines them like direct calls.
+ */
+final class Unpackaged {
+
+	private Unpackaged() {
+	}
+
+	/**
+	 * Returns the class with the input binary name, such as MatrixMap$Layout
+	 *
+	 * @param name the binary name of the class
+	 * @return the class with the input binary name
+	 */
+	static Class<?> type(String name) {
+		try {
+			return Class.forName(name);
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException("Missing library class " + name, e);
+		}
+	}
+
+	/**
+	 * Returns the handle of the static or instance method name of the class owner; an instance
+	 * method takes the receiver as its first argument
+	 *
+	 * @param owner          the binary name of the class declaring the method
+	 * @param name           the name of the method
+	 * @param parameterTypes the parameter types of the method, each a Class or a binary class name
+	 * @return the erased handle of the method
+	 */
+	static MethodHandle method(String owner, String name, Object... parameterTypes) {
+		Class<?> type = type(owner);
+		try {
+			Method method = type.getDeclaredMethod(name, resolve(parameterTypes));
+			return erase(lookup(type).unreflect(method));
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Missing library method " + owner + "." + name, e);
+		}
+	}
+
+	/**
+	 * Returns the handle of the constructor of the class owner
+	 *
+	 * @param owner          the binary name of the class
+	 * @param parameterTypes the parameter types of the constructor, each a Class or a binary class
+	 *                       name
+	 * @return the erased handle of the constructor
+	 */
+	static MethodHandle constructor(String owner, Object... parameterTypes) {
+		Class<?> type = type(owner);
+		try {
+			Constructor<?> constructor = type.getDeclaredConstructor(resolve(parameterTypes));
+			return erase(lookup(type).unreflectConstructor(constructor));
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Missing library constructor of " + owner, e);
+		}
+	}
+
+	/**
+	 * Returns the constant name of the enum with the input binary name
+	 *
+	 * @param owner the binary name of the enum
+	 * @param name  the name of the constant
+	 * @return the constant name of the enum
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	static Object constant(String owner, String name) {
+		return Enum.valueOf((Class<? extends Enum>) type(owner), name);
+	}
+
+	/**
+	 * Invokes the handle with the input arguments; meant for setup code, where the cost of the
+	 * generic invocation does not matter
+	 *
+	 * @param handle    the handle to invoke
+	 * @param arguments the arguments of the handle
+	 * @return the result of the handle
+	 */
+	static Object call(MethodHandle handle, Object... arguments) {
+		try {
+			return handle.invokeWithArguments(arguments);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static MethodHandles.Lookup lookup(Class<?> type) throws IllegalAccessException {
+		return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+	}
+
+	private static MethodHandle erase(MethodHandle handle) {
+		return handle.asType(handle.type().erase());
+	}
+
+	private static Class<?>[] resolve(Object[] parameterTypes) {
+		Class<?>[] types = new Class<?>[parameterTypes.length];
+		for (int i = 0; i < types.length; i++) {
+			types[i] = (parameterTypes[i] instanceof Class<?> type) ? type
+				: type((String) parameterTypes[i]);
+		}
+		return types;
+	}
+}
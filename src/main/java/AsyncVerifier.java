@@ -0,0 +1,284 @@
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * AsyncVerifier runs the checks of Barricade calls made in the ASYNC verification mode on an
+ * executor instead of the calling thread. At most capacity checks are pending at once; when that
+ * many are pending, a new check is either dropped or waited for, according to the backpressure.
+ * Pending checks are queued and run in batches, so the executor is handed one task per batch
+ * rather than one per call. Every mismatch found is handed to the mismatch callback on the thread
+ * that found it.
+ */
+public final class AsyncVerifier {
+
+	private static final Logger logger = Logger.getLogger(Barricade.class.getName());
+
+	/**
+	 * The capacity of the default verifier
+	 */
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	/**
+	 * The executor on which the checks run
+	 */
+	private final Executor executor;
+	/**
+	 * The number of checks that may still be submitted before the verifier is full
+	 */
+	private final Semaphore permits;
+	/**
+	 * What a submission does when the verifier is full
+	 */
+	private final Backpressure backpressure;
+	/**
+	 * The callback every mismatch is reported to
+	 */
+	private final Consumer<? super Mismatch> onMismatch;
+	/**
+	 * The checks submitted and not run yet
+	 */
+	private final Queue<Check> pending = new ConcurrentLinkedQueue<>();
+	/**
+	 * Whether a drain of pending is scheduled or running
+	 */
+	private final AtomicBoolean draining = new AtomicBoolean();
+	/**
+	 * The number of checks dropped so far
+	 */
+	private final LongAdder dropped = new LongAdder();
+
+	/**
+	 * Initializes with input executor, capacity, backpressure and mismatch callback
+	 *
+	 * @param executor     the executor on which the checks run
+	 * @param capacity     the largest number of pending checks
+	 * @param backpressure what a submission does when capacity checks are pending
+	 * @param onMismatch   the callback every mismatch is reported to
+	 * @throws NullPointerException     if executor, backpressure or onMismatch is null
+	 * @throws IllegalArgumentException if capacity is not positive
+	 */
+	public AsyncVerifier(Executor executor, int capacity, Backpressure backpressure,
+		Consumer<? super Mismatch> onMismatch) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive");
+		}
+		this.executor = Objects.requireNonNull(executor);
+		this.permits = new Semaphore(capacity);
+		this.backpressure = Objects.requireNonNull(backpressure);
+		this.onMismatch = Objects.requireNonNull(onMismatch);
+	}
+
+	/**
+	 * Returns the verifier used until Barricade is given another: DEFAULT_CAPACITY pending checks
+	 * run on a single daemon thread, checks beyond them are dropped and mismatches are reported as
+	 * warnings through the MismatchReporter of Barricade
+	 *
+	 * @return the default verifier
+	 */
+	public static AsyncVerifier defaultVerifier() {
+		return DefaultHolder.VERIFIER;
+	}
+
+	/**
+	 * Returns the number of checks dropped so far because the verifier was full
+	 *
+	 * @return the number of checks dropped so far
+	 */
+	public long dropped() {
+		return dropped.sum();
+	}
+
+	/**
+	 * Submits a check of a call of the input operation and returns the stage completed with its
+	 * outcome; the check returns the mismatch it finds, or null if the call was correct
+	 *
+	 * @param operation the operation whose call is checked
+	 * @param check     the check of the call
+	 * @return the stage completed with the outcome of the check
+	 */
+	CompletionStage<Outcome> submit(BarricadeMetrics.Operation operation,
+		Supplier<Mismatch> check) {
+		Check submitted = new Check(operation, check);
+		if (!acquire()) {
+			dropped.increment();
+			submitted.complete(Outcome.DROPPED);
+			return submitted;
+		}
+		pending.add(submitted);
+		scheduleDrain();
+		return submitted;
+	}
+
+	// Hands a drain to the executor unless one is scheduled already, so a burst of calls costs a
+	// single handoff instead of one per call.
+	private void scheduleDrain() {
+		if (!draining.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			executor.execute(this::drain);
+		} catch (RejectedExecutionException e) {
+			Check check;
+			while ((check = pending.poll()) != null) {
+				permits.release();
+				dropped.increment();
+				check.complete(Outcome.DROPPED);
+			}
+			draining.set(false);
+		}
+	}
+
+	// Runs every pending check; a check submitted after the queue is found empty but before the
+	// flag is cleared is picked up by looping once more. An Error ends the drain, so the checks left
+	// behind are handed to a new one before it propagates.
+	private void drain() {
+		do {
+			try {
+				Check check;
+				while ((check = pending.poll()) != null) {
+					try {
+						check.run();
+					} finally {
+						permits.release();
+					}
+				}
+			} catch (Error e) {
+				draining.set(false);
+				if (!pending.isEmpty()) {
+					scheduleDrain();
+				}
+				throw e;
+			}
+			draining.set(false);
+		} while (!pending.isEmpty() && draining.compareAndSet(false, true));
+	}
+
+	// Takes a permit for a new check, waiting for one under BLOCK; an interrupted wait drops the
+	// check and keeps the interrupt status for the caller.
+	private boolean acquire() {
+		if (backpressure == Backpressure.DROP) {
+			return permits.tryAcquire();
+		}
+		try {
+			permits.acquire();
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	// A submitted check, completed with its outcome once it has run.
+	private final class Check extends CompletableFuture<Outcome> {
+
+		private final BarricadeMetrics.Operation operation;
+		private final Supplier<Mismatch> check;
+
+		private Check(BarricadeMetrics.Operation operation, Supplier<Mismatch> check) {
+			this.operation = operation;
+			this.check = check;
+		}
+
+		// An Error thrown by the check or the callback still completes the stage, so no caller waits
+		// forever, and is then rethrown to the drain.
+		private void run() {
+			Mismatch mismatch;
+			try {
+				mismatch = check.get();
+			} catch (Throwable e) {
+				completeExceptionally(e);
+				if (e instanceof Error error) {
+					throw error;
+				}
+				return;
+			}
+			if (mismatch == null) {
+				complete(Outcome.VERIFIED);
+				return;
+			}
+			BarricadeMetrics.mismatched(operation);
+			try {
+				onMismatch.accept(mismatch);
+			} catch (RuntimeException e) {
+				logger.log(Level.WARNING, "mismatch callback of AsyncVerifier failed", e);
+			} finally {
+				complete(Outcome.MISMATCHED);
+			}
+		}
+	}
+
+	/**
+	 * The Enum Backpressure with what a submission does when the verifier is full
+	 */
+	public enum Backpressure {
+		/**
+		 * The check is not run and its outcome is DROPPED
+		 */
+		DROP,
+		/**
+		 * The calling thread waits until a pending check completes
+		 */
+		BLOCK
+	}
+
+	/**
+	 * The Enum Outcome with the result of a submitted check
+	 */
+	public enum Outcome {
+		/**
+		 * The call was found correct
+		 */
+		VERIFIED,
+		/**
+		 * The call was found incorrect and reported to the mismatch callback
+		 */
+		MISMATCHED,
+		/**
+		 * The check was not run because the verifier was full
+		 */
+		DROPPED
+	}
+
+	/**
+	 * The Mismatch record describes a call whose result did not match the value expected of it
+	 *
+	 * @param method   the name of the RoamingMap method that was called
+	 * @param key      the key the method was called with
+	 * @param expected the value the shadow or an independent lookup of the map holds
+	 * @param actual   the value the method returned or stored
+	 */
+	public record Mismatch(String method, Object key, Object expected, Object actual) {
+
+	}
+
+	// Builds the default verifier and its thread on first use only.
+	private static final class DefaultHolder {
+
+		private static final AsyncVerifier VERIFIER = new AsyncVerifier(newDaemonExecutor(),
+			DEFAULT_CAPACITY, Backpressure.DROP, mismatch -> Barricade.mismatchReporter().warning(
+			mismatch.method(), () -> mismatch.method() + " method of RoamingMap returned incorrect"
+				+ " value; found by asynchronous verification"));
+
+		private static ExecutorService newDaemonExecutor() {
+			return Executors.newSingleThreadExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "Barricade-verifier");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+}
@@ -1,9 +1,18 @@
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.logging.Level;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 import roamingcollection.RoamingMap;
 
@@ -12,39 +21,302 @@ public class Barricade {
 
 	private static final Logger logger = Logger.getLogger(Barricade.class.getName());
 
+	private static volatile VerificationPolicy verificationPolicy = VerificationPolicy.always();
+
+	private static volatile MismatchReporter mismatchReporter = MismatchReporter.of(logger);
+
+	// Null until set, so the default verifier and its thread are only created if ASYNC is used.
+	private static volatile AsyncVerifier asyncVerifier;
+
+	final static VerificationPolicy verificationPolicy() {
+		return verificationPolicy;
+	}
+
+	final static void setVerificationPolicy(VerificationPolicy policy) {
+		verificationPolicy = Objects.requireNonNull(policy);
+	}
+
+	final static MismatchReporter mismatchReporter() {
+		return mismatchReporter;
+	}
+
+	final static void setMismatchReporter(MismatchReporter reporter) {
+		mismatchReporter = Objects.requireNonNull(reporter);
+	}
+
+	final static AsyncVerifier asyncVerifier() {
+		AsyncVerifier verifier = asyncVerifier;
+		return (verifier != null) ? verifier : AsyncVerifier.defaultVerifier();
+	}
+
+	final static void setAsyncVerifier(AsyncVerifier verifier) {
+		asyncVerifier = Objects.requireNonNull(verifier);
+	}
+
+	// RoamingMap keeps identity equals/hashCode, so every tracked map gets its own shadow; the weak
+	// keys let an abandoned map be collected together with its shadow.
+	private static final Map<RoamingMap<?, ?>, ShadowState<?, ?>> shadows =
+		Collections.synchronizedMap(new WeakHashMap<>());
+
+	final static <K extends Comparable<K>, V> void track(RoamingMap<K, V> roamingMap) {
+		Objects.requireNonNull(roamingMap);
+		shadows.computeIfAbsent(roamingMap, map -> new ShadowState<>(roamingMap));
+	}
+
+	final static void untrack(RoamingMap<?, ?> roamingMap) {
+		shadows.remove(Objects.requireNonNull(roamingMap));
+	}
+
+	final static boolean isTracked(RoamingMap<?, ?> roamingMap) {
+		return shadows.containsKey(Objects.requireNonNull(roamingMap));
+	}
+
+	// Weak keys as for the shadows; a map only gets a cache once it is read through
+	// getWithStateVar, and never if its writes are not all counted, as for maps created with the
+	// injection constructor. The caches are spread over stripes by identity hash, so reads of
+	// different maps rarely wait on the same lock.
+	private static final int READ_CACHE_STRIPES = 16;
+
+	private static final List<Map<RoamingMap<?, ?>, VerifiedReadCache<?, ?>>> readCaches =
+		new ArrayList<>(READ_CACHE_STRIPES);
+
+	static {
+		for (int stripe = 0; stripe < READ_CACHE_STRIPES; stripe++) {
+			readCaches.add(Collections.synchronizedMap(new WeakHashMap<>()));
+		}
+	}
+
+	static final int DEFAULT_READ_CACHE_CAPACITY = 1024;
+
+	private static volatile int readCacheCapacity = DEFAULT_READ_CACHE_CAPACITY;
+
+	private static final LongAdder readCacheHits = new LongAdder();
+
+	private static final LongAdder readCacheMisses = new LongAdder();
+
+	final static int readCacheCapacity() {
+		return readCacheCapacity;
+	}
+
+	// Drops every cached value, so a smaller capacity applies at once; 0 turns the cache off.
+	final static void setReadCacheCapacity(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("capacity must not be negative");
+		}
+		readCacheCapacity = capacity;
+		readCaches.forEach(Map::clear);
+	}
+
+	final static ReadCacheStatistics readCacheStatistics() {
+		return new ReadCacheStatistics(readCacheHits.sum(), readCacheMisses.sum());
+	}
+
+	final static void resetReadCacheStatistics() {
+		readCacheHits.reset();
+		readCacheMisses.reset();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K extends Comparable<K>, V> VerifiedReadCache<K, V> readCacheOf(
+		RoamingMap<K, V> roamingMap) {
+		int capacity = readCacheCapacity;
+		if (capacity == 0) {
+			return null;
+		}
+		Map<RoamingMap<?, ?>, VerifiedReadCache<?, ?>> stripe = readCaches.get(
+			System.identityHashCode(roamingMap) & (READ_CACHE_STRIPES - 1));
+		return (VerifiedReadCache<K, V>) stripe.computeIfAbsent(roamingMap,
+			map -> new VerifiedReadCache<>(capacity));
+	}
+
+	final static <K extends Comparable<K>, V> boolean audit(RoamingMap<K, V> roamingMap) {
+		ShadowState<K, V> shadow = shadowOf(Objects.requireNonNull(roamingMap));
+		if (shadow == null) {
+			throw new IllegalStateException("RoamingMap is not tracked");
+		}
+		return shadow.matches(roamingMap);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K extends Comparable<K>, V> ShadowState<K, V> shadowOf(
+		RoamingMap<K, V> roamingMap) {
+		return (ShadowState<K, V>) shadows.get(roamingMap);
+	}
+
 	final static <K extends Comparable<K>, V> StateRecoveryOptional<V> getWithStateVar(
+		RoamingMap<K, V> roamingMap, K key) {
+		return BarricadeMetrics.isEnabled() ? measured(BarricadeMetrics.Operation.GET,
+			() -> checkedGet(roamingMap, key)) : checkedGet(roamingMap, key);
+	}
+
+	private static <K extends Comparable<K>, V> StateRecoveryOptional<V> checkedGet(
 		RoamingMap<K, V> roamingMap, K key) {
 		Objects.requireNonNull(roamingMap);
 		Objects.requireNonNull(key);
-		Map<K, V> copy = new TreeMap<>();
-		copy.putAll(roamingMap);
-		Set<Map.Entry<K, V>> entrySetBefore = copy.entrySet();
-		V prevValue = entrySetBefore.stream().filter(entry -> Objects.equals(entry.getKey(), key))
-			.map(Map.Entry::getValue).findFirst().orElse(null);
-		V value = roamingMap.get(key);
+		VerificationPolicy.Mode mode = verificationPolicy.select();
+		if (mode == VerificationPolicy.Mode.NONE) {
+			return new StateRecoveryOptional<>(rawGet(roamingMap, key), null);
+		}
+		if (mode == VerificationPolicy.Mode.ASYNC) {
+			return asyncGet(roamingMap, key);
+		}
+		long modCount = roamingMap.modCount();
+		VerifiedReadCache<K, V> cache = (modCount < 0) ? null : readCacheOf(roamingMap);
+		if (cache == null) {
+			return verifiedGet(roamingMap, key, mode);
+		}
+		VerifiedReadCache.Hit<V> hit = cache.get(key, modCount);
+		if (hit != null) {
+			readCacheHits.increment();
+			return new StateRecoveryOptional<>(hit.value(), null);
+		}
+		readCacheMisses.increment();
+		StateRecoveryOptional<V> result = verifiedGet(roamingMap, key, mode);
+		if (roamingMap.modCount() == modCount) {
+			cache.put(key, result.value(), modCount);
+		}
+		return result;
+	}
+
+	private static <K extends Comparable<K>, V> StateRecoveryOptional<V> verifiedGet(
+		RoamingMap<K, V> roamingMap, K key, VerificationPolicy.Mode mode) {
+		ShadowState<K, V> shadow = shadowOf(roamingMap);
+		if (shadow != null) {
+			return trackedGet(roamingMap, shadow, key, mode == VerificationPolicy.Mode.FULL);
+		}
+		return (mode == VerificationPolicy.Mode.FULL) ? fullGet(roamingMap, key)
+			: shadowGet(roamingMap, key);
+	}
+
+	// The expected value comes from the shadow; the state is checked by digest in full mode and by
+	// size otherwise, so no copy of the map is made.
+	private static <K extends Comparable<K>, V> StateRecoveryOptional<V> trackedGet(
+		RoamingMap<K, V> roamingMap, ShadowState<K, V> shadow, K key, boolean fullState) {
+		V prevValue = shadow.get(key);
+		V value = rawGet(roamingMap, key);
+		if (!consistent(roamingMap, shadow, fullState)) {
+			BarricadeMetrics.mismatched(BarricadeMetrics.Operation.GET);
+			throw new RuntimeException("get method of RoamingMap operated incorrectly");
+		}
+		if (!Objects.equals(prevValue, value)) {
+			BarricadeMetrics.recovered(BarricadeMetrics.Operation.GET);
+			mismatchReporter.warning(
+				"get method of RoamingMap returned incorrect value; correct value was used instead");
+			return new StateRecoveryOptional<>(prevValue, null);
+		}
+		return new StateRecoveryOptional<>(value, null);
+	}
+
+	private static <K extends Comparable<K>, V> boolean consistent(RoamingMap<K, V> roamingMap,
+		ShadowState<K, V> shadow, boolean fullState) {
+		return fullState ? shadow.matches(roamingMap) : roamingMap.size() == shadow.size();
+	}
+
+	private static <K extends Comparable<K>, V> StateRecoveryOptional<V> fullGet(
+		RoamingMap<K, V> roamingMap, K key) {
+		NavigableMap<K, V> snapshot = roamingMap.snapshot();
+		Set<Map.Entry<K, V>> entrySetBefore = snapshot.entrySet();
+		V prevValue = snapshot.get(key);
+		V value = rawGet(roamingMap, key);
 		Set<Map.Entry<K, V>> entrySetAfter = correctEntrySet(roamingMap);
 		if (!Objects.equals(entrySetBefore, entrySetAfter)) {
+			BarricadeMetrics.mismatched(BarricadeMetrics.Operation.GET);
+			throw new RuntimeException("get method of RoamingMap operated incorrectly");
+		}
+		if (!Objects.equals(prevValue, value)) {
+			BarricadeMetrics.recovered(BarricadeMetrics.Operation.GET);
+			mismatchReporter.warning(
+				"get method of RoamingMap returned incorrect value; correct value was used instead");
+			return new StateRecoveryOptional<>(prevValue, null);
+		}
+		return new StateRecoveryOptional<>(value, null);
+	}
+
+	// Looks the key up through floorEntry, an independent navigation path, and only checks that the
+	// size is left unchanged instead of copying the whole map.
+	private static <K extends Comparable<K>, V> StateRecoveryOptional<V> shadowGet(
+		RoamingMap<K, V> roamingMap, K key) {
+		int sizeBefore = roamingMap.size();
+		V prevValue = navigatedValue(roamingMap, key);
+		V value = rawGet(roamingMap, key);
+		if (sizeBefore != roamingMap.size()) {
+			BarricadeMetrics.mismatched(BarricadeMetrics.Operation.GET);
 			throw new RuntimeException("get method of RoamingMap operated incorrectly");
 		}
 		if (!Objects.equals(prevValue, value)) {
-			logger.log(Level.WARNING,
+			BarricadeMetrics.recovered(BarricadeMetrics.Operation.GET);
+			mismatchReporter.warning(
 				"get method of RoamingMap returned incorrect value; correct value was used instead");
 			return new StateRecoveryOptional<>(prevValue, null);
 		}
 		return new StateRecoveryOptional<>(value, null);
 	}
 
+	// Only records the value expected from the shadow, or from floorEntry for an untracked map,
+	// next to the value returned on the calling thread, so no copy of the map is made; the two are
+	// compared on the AsyncVerifier and the result is returned unchecked.
+	private static <K extends Comparable<K>, V> StateRecoveryOptional<V> asyncGet(
+		RoamingMap<K, V> roamingMap, K key) {
+		V expectedValue = expectedValue(roamingMap, shadowOf(roamingMap), key);
+		V value = rawGet(roamingMap, key);
+		Observation<K, V> returned = new Observation<>("get", key, expectedValue, value);
+		return new StateRecoveryOptional<>(value, null,
+			asyncVerifier().submit(BarricadeMetrics.Operation.GET, returned::mismatch));
+	}
+
+	private static <K extends Comparable<K>, V> V expectedValue(RoamingMap<K, V> roamingMap,
+		ShadowState<K, V> shadow, K key) {
+		return (shadow != null) ? shadow.get(key) : navigatedValue(roamingMap, key);
+	}
+
+	private static <K extends Comparable<K>, V> V navigatedValue(RoamingMap<K, V> roamingMap,
+		K key) {
+		Map.Entry<K, V> floorEntry = roamingMap.floorEntry(key);
+		return (floorEntry != null && key.compareTo(floorEntry.getKey()) == 0)
+			? floorEntry.getValue() : null;
+	}
+
 	final static <K extends Comparable<K>, V> int correctSize(RoamingMap<K, V> roamingMap) {
+		return BarricadeMetrics.isEnabled() ? measured(BarricadeMetrics.Operation.SIZE,
+			() -> checkedSize(roamingMap)) : checkedSize(roamingMap);
+	}
+
+	private static <K extends Comparable<K>, V> int checkedSize(RoamingMap<K, V> roamingMap) {
 		Objects.requireNonNull(roamingMap);
+		VerificationPolicy.Mode mode = verificationPolicy.select();
+		if (mode == VerificationPolicy.Mode.NONE) {
+			return rawSize(roamingMap);
+		}
+		ShadowState<K, V> shadow = shadowOf(roamingMap);
+		if (shadow != null) {
+			int size = rawSize(roamingMap);
+			if (mode == VerificationPolicy.Mode.FULL
+				&& ShadowState.digestOf(roamingMap) != shadow.digest()) {
+				BarricadeMetrics.mismatched(BarricadeMetrics.Operation.SIZE);
+				throw new RuntimeException("size method of RoamingMap operated incorrectly");
+			}
+			if (size != shadow.size()) {
+				BarricadeMetrics.recovered(BarricadeMetrics.Operation.SIZE);
+				mismatchReporter.warning(
+					"size method of RoamingMap returned incorrect value; correct value was used instead");
+				return shadow.size();
+			}
+			return size;
+		}
+		if (mode != VerificationPolicy.Mode.FULL) {
+			return rawSize(roamingMap);
+		}
 		int prevSize = Collections.unmodifiableNavigableMap(roamingMap).size();
 		Set<Map.Entry<K, V>> entrySetBefore = correctEntrySet(roamingMap);
-		int size = roamingMap.size();
+		int size = rawSize(roamingMap);
 		Set<Map.Entry<K, V>> entrySetAfter = correctEntrySet(roamingMap);
 		if (!Objects.equals(entrySetBefore, entrySetAfter)) {
+			BarricadeMetrics.mismatched(BarricadeMetrics.Operation.SIZE);
 			throw new RuntimeException("size method of RoamingMap operated incorrectly");
 		}
 		if (size != prevSize) {
-			logger.log(Level.WARNING,
+			BarricadeMetrics.recovered(BarricadeMetrics.Operation.SIZE);
+			mismatchReporter.warning(
 				"size method of RoamingMap returned incorrect value; correct value was used instead");
 			return size;
 		}
@@ -52,23 +324,232 @@ public class Barricade {
 	}
 
 	final static <K extends Comparable<K>, V> StateRecoveryOptional<V> putWithStateVar(
+		RoamingMap<K, V> roamingMap, K key, V value) {
+		return BarricadeMetrics.isEnabled() ? measured(BarricadeMetrics.Operation.PUT,
+			() -> checkedPut(roamingMap, key, value)) : checkedPut(roamingMap, key, value);
+	}
+
+	private static <K extends Comparable<K>, V> StateRecoveryOptional<V> checkedPut(
 		RoamingMap<K, V> roamingMap, K key, V value) {
 		Objects.requireNonNull(roamingMap);
 		Objects.requireNonNull(key);
 		Objects.requireNonNull(value);
+		VerificationPolicy.Mode mode = verificationPolicy.select();
+		ShadowState<K, V> shadow = shadowOf(roamingMap);
+		if (shadow != null && mode != VerificationPolicy.Mode.ASYNC) {
+			return trackedPut(roamingMap, shadow, key, value, mode);
+		}
+		return switch (mode) {
+			case FULL -> fullPut(roamingMap, key, value);
+			case SHADOW -> shadowPut(roamingMap, key, value);
+			case ASYNC -> asyncPut(roamingMap, shadow, key, value);
+			case NONE -> new StateRecoveryOptional<>(rawPut(roamingMap, key, value), null);
+		};
+	}
+
+	// The shadow is updated even when the put is not verified, so it never misses a mutation made
+	// through Barricade.
+	private static <K extends Comparable<K>, V> StateRecoveryOptional<V> trackedPut(
+		RoamingMap<K, V> roamingMap, ShadowState<K, V> shadow, K key, V value,
+		VerificationPolicy.Mode mode) {
+		V lastValue = rawPut(roamingMap, key, value);
+		shadow.put(key, value);
+		if (mode == VerificationPolicy.Mode.NONE || (Objects.equals(navigatedValue(roamingMap, key),
+			value) && consistent(roamingMap, shadow, mode == VerificationPolicy.Mode.FULL))) {
+			return new StateRecoveryOptional<>(lastValue, null);
+		} else {
+			BarricadeMetrics.mismatched(BarricadeMetrics.Operation.PUT);
+			throw new RuntimeException("put method of RoamingMap operated incorrectly");
+		}
+	}
+
+	private static <K extends Comparable<K>, V> StateRecoveryOptional<V> fullPut(
+		RoamingMap<K, V> roamingMap, K key, V value) {
 		Map<K, V> copy = new TreeMap<>();
+		copy.putAll(roamingMap);
 		copy.put(key, value);
 		Set<Map.Entry<K, V>> prevRoamingSet = copy.entrySet();
-		V lastValue = roamingMap.put(key, value);
-		V updatedValue = getWithStateVar(roamingMap, key).value();
+		V lastValue = rawPut(roamingMap, key, value);
+		V updatedValue = fullGet(roamingMap, key).value();
 		Set<Map.Entry<K, V>> newRoamingSet = correctEntrySet(roamingMap);
 		if (Objects.equals(updatedValue, value) && Objects.equals(prevRoamingSet, newRoamingSet)) {
 			return new StateRecoveryOptional<>(lastValue, null);
 		} else {
+			BarricadeMetrics.mismatched(BarricadeMetrics.Operation.PUT);
 			throw new RuntimeException("put method of RoamingMap operated incorrectly");
 		}
 	}
 
+	// Checks the stored value through floorEntry and that the size grew only for a new key.
+	private static <K extends Comparable<K>, V> StateRecoveryOptional<V> shadowPut(
+		RoamingMap<K, V> roamingMap, K key, V value) {
+		int sizeBefore = roamingMap.size();
+		V lastValue = rawPut(roamingMap, key, value);
+		int expectedSize = (lastValue == null) ? sizeBefore + 1 : sizeBefore;
+		if (Objects.equals(navigatedValue(roamingMap, key), value)
+			&& roamingMap.size() == expectedSize) {
+			return new StateRecoveryOptional<>(lastValue, null);
+		} else {
+			BarricadeMetrics.mismatched(BarricadeMetrics.Operation.PUT);
+			throw new RuntimeException("put method of RoamingMap operated incorrectly");
+		}
+	}
+
+	final static <K extends Comparable<K>, V> void putAllWithStateVar(RoamingMap<K, V> roamingMap,
+		Map<? extends K, ? extends V> entries) {
+		if (BarricadeMetrics.isEnabled()) {
+			measured(BarricadeMetrics.Operation.PUT_ALL, () -> {
+				checkedPutAll(roamingMap, entries);
+				return null;
+			});
+		} else {
+			checkedPutAll(roamingMap, entries);
+		}
+	}
+
+	// Records the value expected to be returned before the put and the value read back through
+	// floorEntry after it, so the AsyncVerifier can check both without a copy of the map; a tracked
+	// map still has its shadow updated on the calling thread.
+	private static <K extends Comparable<K>, V> StateRecoveryOptional<V> asyncPut(
+		RoamingMap<K, V> roamingMap, ShadowState<K, V> shadow, K key, V value) {
+		V expectedLastValue = expectedValue(roamingMap, shadow, key);
+		V lastValue = rawPut(roamingMap, key, value);
+		if (shadow != null) {
+			shadow.put(key, value);
+		}
+		Observation<K, V> returned = new Observation<>("put", key, expectedLastValue, lastValue);
+		Observation<K, V> stored = new Observation<>("put", key, value,
+			navigatedValue(roamingMap, key));
+		return new StateRecoveryOptional<>(lastValue, null, asyncVerifier().submit(
+			BarricadeMetrics.Operation.PUT, () -> {
+				AsyncVerifier.Mismatch mismatch = returned.mismatch();
+				return (mismatch != null) ? mismatch : stored.mismatch();
+			}));
+	}
+
+	// Writes the whole batch first and checks the resulting state once, instead of once per entry.
+	private static <K extends Comparable<K>, V> void checkedPutAll(RoamingMap<K, V> roamingMap,
+		Map<? extends K, ? extends V> entries) {
+		Objects.requireNonNull(roamingMap);
+		Objects.requireNonNull(entries);
+		entries.forEach((key, value) -> {
+			Objects.requireNonNull(key);
+			Objects.requireNonNull(value);
+		});
+		VerificationPolicy.Mode mode = verificationPolicy.select();
+		ShadowState<K, V> shadow = shadowOf(roamingMap);
+		if (shadow != null) {
+			entries.forEach((key, value) -> {
+				rawPut(roamingMap, key, value);
+				shadow.put(key, value);
+			});
+			if (mode != VerificationPolicy.Mode.NONE && !(storedAll(roamingMap, entries)
+				&& consistent(roamingMap, shadow, mode == VerificationPolicy.Mode.FULL))) {
+				BarricadeMetrics.mismatched(BarricadeMetrics.Operation.PUT_ALL);
+				throw new RuntimeException("putAll method of RoamingMap operated incorrectly");
+			}
+			return;
+		}
+		switch (mode) {
+			case FULL -> {
+				Map<K, V> copy = new TreeMap<>();
+				copy.putAll(roamingMap);
+				copy.putAll(entries);
+				rawPutAll(roamingMap, entries);
+				if (!Objects.equals(copy.entrySet(), correctEntrySet(roamingMap))) {
+					BarricadeMetrics.mismatched(BarricadeMetrics.Operation.PUT_ALL);
+					throw new RuntimeException("putAll method of RoamingMap operated incorrectly");
+				}
+			}
+			case SHADOW, ASYNC -> {
+				int expectedSize = roamingMap.size();
+				for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+					if (rawPut(roamingMap, entry.getKey(), entry.getValue()) == null) {
+						expectedSize++;
+					}
+				}
+				if (!storedAll(roamingMap, entries) || roamingMap.size() != expectedSize) {
+					BarricadeMetrics.mismatched(BarricadeMetrics.Operation.PUT_ALL);
+					throw new RuntimeException("putAll method of RoamingMap operated incorrectly");
+				}
+			}
+			case NONE -> rawPutAll(roamingMap, entries);
+		}
+	}
+
+	private static <K extends Comparable<K>, V> boolean storedAll(RoamingMap<K, V> roamingMap,
+		Map<? extends K, ? extends V> entries) {
+		for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+			if (!Objects.equals(navigatedValue(roamingMap, entry.getKey()), entry.getValue())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	final static <K extends Comparable<K>, V> void forEachWithStateVar(RoamingMap<K, V> roamingMap,
+		K fromKey, K toKey, BiConsumer<? super K, ? super V> action) {
+		if (BarricadeMetrics.isEnabled()) {
+			measured(BarricadeMetrics.Operation.FOR_EACH, () -> {
+				checkedForEach(roamingMap, fromKey, toKey, action);
+				return null;
+			});
+		} else {
+			checkedForEach(roamingMap, fromKey, toKey, action);
+		}
+	}
+
+	// Streams the expected entries of the range in order, from the shadow when the map is tracked
+	// and from a snapshot otherwise, and checks the range of the map against them as it goes, so
+	// neither a copy of the map nor a String of it is built.
+	private static <K extends Comparable<K>, V> void checkedForEach(RoamingMap<K, V> roamingMap,
+		K fromKey, K toKey, BiConsumer<? super K, ? super V> action) {
+		Objects.requireNonNull(roamingMap);
+		Objects.requireNonNull(fromKey);
+		Objects.requireNonNull(toKey);
+		Objects.requireNonNull(action);
+		VerificationPolicy.Mode mode = verificationPolicy.select();
+		NavigableMap<K, V> range = roamingMap.subMap(fromKey, true, toKey, true);
+		if (mode == VerificationPolicy.Mode.NONE) {
+			range.forEach(action);
+			return;
+		}
+		ShadowState<K, V> shadow = shadowOf(roamingMap);
+		NavigableMap<K, V> expected;
+		int expectedSize;
+		if (shadow != null) {
+			expected = shadow.range(fromKey, toKey);
+			expectedSize = shadow.size();
+		} else {
+			NavigableMap<K, V> snapshot = roamingMap.snapshot();
+			expected = snapshot.subMap(fromKey, true, toKey, true);
+			expectedSize = snapshot.size();
+		}
+		boolean correct = lockstepForEach(range, expected, action);
+		if (roamingMap.size() != expectedSize) {
+			BarricadeMetrics.mismatched(BarricadeMetrics.Operation.FOR_EACH);
+			throw new RuntimeException("forEach method of RoamingMap operated incorrectly");
+		}
+		if (!correct) {
+			BarricadeMetrics.recovered(BarricadeMetrics.Operation.FOR_EACH);
+			mismatchReporter.warning(
+				"forEach method of RoamingMap returned incorrect value; correct value was used instead");
+		}
+	}
+
+	// Hands the expected entries to the action and compares the range with them in lockstep, so a
+	// cell missing from the range, an extra one or a wrong value are all reported as a mismatch.
+	private static <K extends Comparable<K>, V> boolean lockstepForEach(NavigableMap<K, V> range,
+		NavigableMap<K, V> expected, BiConsumer<? super K, ? super V> action) {
+		Iterator<Map.Entry<K, V>> actual = range.entrySet().iterator();
+		boolean correct = true;
+		for (Map.Entry<K, V> entry : expected.entrySet()) {
+			correct &= actual.hasNext() && Objects.equals(entry, actual.next());
+			action.accept(entry.getKey(), entry.getValue());
+		}
+		return correct && !actual.hasNext();
+	}
+
 	final static <K extends Comparable<K>, V> Set<K> correctKeySet(RoamingMap<K, V> roamingMap) {
 		return Collections.unmodifiableMap(Objects.requireNonNull(roamingMap)).keySet();
 	}
@@ -79,25 +560,143 @@ public class Barricade {
 	}
 
 	final static <K extends Comparable<K>, V> String correctStringRepresentation(
+		RoamingMap<K, V> roamingMap) {
+		return BarricadeMetrics.isEnabled() ? measured(BarricadeMetrics.Operation.TO_STRING,
+			() -> checkedStringRepresentation(roamingMap))
+			: checkedStringRepresentation(roamingMap);
+	}
+
+	private static <K extends Comparable<K>, V> String checkedStringRepresentation(
 		RoamingMap<K, V> roamingMap) {
 		Objects.requireNonNull(roamingMap);
-		Map<K, V> copy = new TreeMap<>();
-		copy.putAll(roamingMap);
-		String prevRepresentation = copy.toString();
+		VerificationPolicy.Mode mode = verificationPolicy.select();
+		if (mode == VerificationPolicy.Mode.NONE) {
+			return rawToString(roamingMap);
+		}
+		ShadowState<K, V> shadow = shadowOf(roamingMap);
+		if (shadow != null) {
+			String representation = rawToString(roamingMap);
+			if (!consistent(roamingMap, shadow, mode == VerificationPolicy.Mode.FULL)) {
+				BarricadeMetrics.mismatched(BarricadeMetrics.Operation.TO_STRING);
+				throw new RuntimeException("toString method of RoamingMap operated incorrectly");
+			}
+			String expectedRepresentation = shadow.toString();
+			if (!Objects.equals(expectedRepresentation, representation)) {
+				BarricadeMetrics.recovered(BarricadeMetrics.Operation.TO_STRING);
+				mismatchReporter.warning(
+					"toString method of RoamingMap returned incorrect value; correct value was used instead");
+				return expectedRepresentation;
+			}
+			return representation;
+		}
+		if (mode != VerificationPolicy.Mode.FULL) {
+			return rawToString(roamingMap);
+		}
+		String prevRepresentation = roamingMap.snapshot().toString();
 		Set<Map.Entry<K, V>> roamingSetBefore = correctEntrySet(roamingMap);
-		String representation = roamingMap.toString();
+		String representation = rawToString(roamingMap);
 		Set<Map.Entry<K, V>> roamingSetAfter = correctEntrySet(roamingMap);
 		if (!Objects.equals(roamingSetBefore, roamingSetAfter)) {
+			BarricadeMetrics.mismatched(BarricadeMetrics.Operation.TO_STRING);
 			throw new RuntimeException("toString method of RoamingMap operated incorrectly");
 		}
 		if (!Objects.equals(prevRepresentation, representation)) {
-			logger.log(Level.WARNING,
+			BarricadeMetrics.recovered(BarricadeMetrics.Operation.TO_STRING);
+			mismatchReporter.warning(
 				"toString method of RoamingMap returned incorrect value; correct value was used instead");
 		}
 		return representation;
 	}
 
-	record StateRecoveryOptional<V>(V value, Exception exception) {
+	// Times a checked call and counts it as failed if it throws; only reached while metrics are on.
+	private static <T> T measured(BarricadeMetrics.Operation operation, Supplier<T> call) {
+		long start = System.nanoTime();
+		try {
+			return call.get();
+		} catch (RuntimeException | Error e) {
+			BarricadeMetrics.failed(operation);
+			throw e;
+		} finally {
+			BarricadeMetrics.checked(operation, System.nanoTime() - start);
+		}
+	}
+
+	// The raw RoamingMap calls whose results are checked; they are timed only while metrics are on.
+	private static <K extends Comparable<K>, V> V rawGet(RoamingMap<K, V> roamingMap, K key) {
+		if (!BarricadeMetrics.isEnabled()) {
+			return roamingMap.get(key);
+		}
+		long start = System.nanoTime();
+		V value = roamingMap.get(key);
+		BarricadeMetrics.raw(BarricadeMetrics.Operation.GET, System.nanoTime() - start);
+		return value;
+	}
 
+	private static <K extends Comparable<K>, V> V rawPut(RoamingMap<K, V> roamingMap, K key,
+		V value) {
+		if (!BarricadeMetrics.isEnabled()) {
+			return roamingMap.put(key, value);
+		}
+		long start = System.nanoTime();
+		V lastValue = roamingMap.put(key, value);
+		BarricadeMetrics.raw(BarricadeMetrics.Operation.PUT, System.nanoTime() - start);
+		return lastValue;
+	}
+
+	// Puts the entries one by one, so every put of a batch is timed as a raw PUT.
+	private static <K extends Comparable<K>, V> void rawPutAll(RoamingMap<K, V> roamingMap,
+		Map<? extends K, ? extends V> entries) {
+		entries.forEach((key, value) -> rawPut(roamingMap, key, value));
+	}
+
+	private static int rawSize(RoamingMap<?, ?> roamingMap) {
+		if (!BarricadeMetrics.isEnabled()) {
+			return roamingMap.size();
+		}
+		long start = System.nanoTime();
+		int size = roamingMap.size();
+		BarricadeMetrics.raw(BarricadeMetrics.Operation.SIZE, System.nanoTime() - start);
+		return size;
+	}
+
+	private static String rawToString(RoamingMap<?, ?> roamingMap) {
+		if (!BarricadeMetrics.isEnabled()) {
+			return roamingMap.toString();
+		}
+		long start = System.nanoTime();
+		String representation = roamingMap.toString();
+		BarricadeMetrics.raw(BarricadeMetrics.Operation.TO_STRING, System.nanoTime() - start);
+		return representation;
+	}
+
+	// What an ASYNC call observed on the calling thread: the value it returned or stored next to
+	// the value expected of it, compared later on the AsyncVerifier.
+	private record Observation<K, V>(String method, K key, V expected, V actual) {
+
+		private AsyncVerifier.Mismatch mismatch() {
+			return Objects.equals(expected, actual) ? null
+				: new AsyncVerifier.Mismatch(method, key, expected, actual);
+		}
+	}
+
+	record ReadCacheStatistics(long hits, long misses) {
+
+		double hitRate() {
+			long reads = hits + misses;
+			return (reads == 0) ? 0 : (double) hits / reads;
+		}
+	}
+
+	record StateRecoveryOptional<V>(V value, Exception exception,
+									CompletionStage<AsyncVerifier.Outcome> verification) {
+
+		StateRecoveryOptional(V value, Exception exception) {
+			this(value, exception, null);
+		}
+
+		// Present only for calls made in ASYNC mode, whose check may still be running.
+		Optional<CompletionStage<AsyncVerifier.Outcome>> pendingVerification() {
+			return Optional.ofNullable(verification);
+		}
 	}
 }
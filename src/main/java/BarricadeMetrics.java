@@ -0,0 +1,311 @@
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * BarricadeMetrics counts the calls made through Barricade and times them, both as a whole and for
+ * the raw RoamingMap calls they wrap. Recording is off unless the system property
+ * BarricadeMetrics.enabled is true or setEnabled turns it on, here or through the JMX MXBean;
+ * while it is off every Barricade call pays a single volatile read and nothing is registered. The
+ * MXBean is registered when recording is turned on, by the property or by setEnabled; to turn
+ * recording on at runtime through JMX alone, call register first. The counters are read through
+ * snapshot or through the MXBean.
+ */
+public final class BarricadeMetrics {
+
+	/**
+	 * The name the MXBean is registered under
+	 */
+	static final String OBJECT_NAME = "Barricade:type=Metrics";
+
+	/**
+	 * Whether Barricade calls are recorded
+	 */
+	private static volatile boolean enabled = Boolean.getBoolean("BarricadeMetrics.enabled");
+
+	/**
+	 * The recorders of every operation
+	 */
+	private static final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+
+	static {
+		for (Operation operation : Operation.values()) {
+			recorders.put(operation, new Recorder());
+		}
+		if (enabled) {
+			try {
+				register();
+			} catch (IllegalStateException e) {
+				Logger.getLogger(Barricade.class.getName()).log(Level.WARNING, e.getMessage(), e);
+			}
+		}
+	}
+
+	private BarricadeMetrics() {
+	}
+
+	/**
+	 * Returns whether Barricade calls are recorded
+	 *
+	 * @return whether Barricade calls are recorded
+	 */
+	final static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Turns the recording of Barricade calls on or off; the counters are kept while it is off, and
+	 * turning it on registers the MXBean again if it was unregistered
+	 *
+	 * @param enabled whether Barricade calls are recorded
+	 * @throws IllegalStateException if recording is turned on and the MXBean cannot be registered
+	 */
+	final static void setEnabled(boolean enabled) {
+		if (enabled) {
+			register();
+		}
+		BarricadeMetrics.enabled = enabled;
+	}
+
+	/**
+	 * Records a Barricade call of the input operation that took the input time, checking included
+	 *
+	 * @param operation the operation
+	 * @param nanos     the duration of the call in nanoseconds
+	 */
+	final static void checked(Operation operation, long nanos) {
+		Recorder recorder = recorders.get(operation);
+		recorder.calls.increment();
+		recorder.checked.record(nanos);
+	}
+
+	/**
+	 * Records a raw RoamingMap call of the input operation that took the input time
+	 *
+	 * @param operation the operation
+	 * @param nanos     the duration of the call in nanoseconds
+	 */
+	final static void raw(Operation operation, long nanos) {
+		recorders.get(operation).raw.record(nanos);
+	}
+
+	/**
+	 * Counts a Barricade call of the input operation that threw
+	 *
+	 * @param operation the operation
+	 */
+	final static void failed(Operation operation) {
+		recorders.get(operation).failures.increment();
+	}
+
+	/**
+	 * Counts a Barricade call of the input operation that found the RoamingMap wrong, if recording
+	 * is on
+	 *
+	 * @param operation the operation
+	 */
+	final static void mismatched(Operation operation) {
+		if (enabled) {
+			recorders.get(operation).mismatches.increment();
+		}
+	}
+
+	/**
+	 * Counts a Barricade call of the input operation that found the RoamingMap result wrong and
+	 * used the correct value instead, if recording is on
+	 *
+	 * @param operation the operation
+	 */
+	final static void recovered(Operation operation) {
+		if (enabled) {
+			Recorder recorder = recorders.get(operation);
+			recorder.mismatches.increment();
+			recorder.recoveries.increment();
+		}
+	}
+
+	/**
+	 * Returns the counters of every operation; counts made while it is taken may be partly included
+	 *
+	 * @return the counters of every operation
+	 */
+	final static Map<Operation, OperationMetrics> snapshot() {
+		Map<Operation, OperationMetrics> snapshot = new EnumMap<>(Operation.class);
+		recorders.forEach((operation, recorder) -> snapshot.put(operation, recorder.snapshot()));
+		return Collections.unmodifiableMap(snapshot);
+	}
+
+	/**
+	 * Returns the counters of the input operation
+	 *
+	 * @param operation the operation
+	 * @return the counters of the input operation
+	 */
+	final static OperationMetrics snapshot(Operation operation) {
+		return recorders.get(operation).snapshot();
+	}
+
+	/**
+	 * Sets every counter back to 0
+	 */
+	final static void reset() {
+		recorders.values().forEach(Recorder::reset);
+	}
+
+	/**
+	 * Registers the MXBean with the platform MBean server under OBJECT_NAME, unless it is
+	 * registered already, without turning recording on
+	 *
+	 * @throws IllegalStateException if the MXBean cannot be registered
+	 */
+	public final static void register() {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (!server.isRegistered(name)) {
+				server.registerMBean(
+					new StandardMBean(new MXBean(), BarricadeMetricsMXBean.class, true), name);
+			}
+		} catch (InstanceAlreadyExistsException e) {
+			// registered concurrently
+		} catch (JMException e) {
+			throw new IllegalStateException("BarricadeMetrics could not be registered", e);
+		}
+	}
+
+	/**
+	 * The Enum Operation with the Barricade calls that are recorded
+	 */
+	enum Operation {
+		GET("get"), PUT("put"), PUT_ALL("putAll"), SIZE("size"), TO_STRING("toString"),
+		FOR_EACH("forEach");
+
+		/**
+		 * The name of the RoamingMap method the operation checks
+		 */
+		private final String method;
+
+		Operation(String method) {
+			this.method = method;
+		}
+
+		/**
+		 * Returns the name of the RoamingMap method the operation checks
+		 *
+		 * @return the name of the RoamingMap method the operation checks
+		 */
+		String method() {
+			return method;
+		}
+	}
+
+	/**
+	 * The counters of an operation: the Barricade calls made, how many of them threw, found the
+	 * RoamingMap wrong or used the correct value instead of its result, and the latency of the
+	 * calls with and without checking
+	 */
+	record OperationMetrics(long calls, long failures, long mismatches, long recoveries,
+							Latency checked, Latency raw) {
+
+	}
+
+	/**
+	 * The summary of a latency histogram; the percentiles are upper bounds within 1/8 of the exact
+	 * value
+	 */
+	record Latency(long count, long totalNanos, long maxNanos, long p50Nanos, long p90Nanos,
+				   long p99Nanos, long p999Nanos) {
+
+		/**
+		 * Returns the mean duration, or 0 if nothing was recorded
+		 *
+		 * @return the mean duration in nanoseconds
+		 */
+		double meanNanos() {
+			return (count == 0) ? 0 : (double) totalNanos / count;
+		}
+	}
+
+	/**
+	 * The counters of a single operation
+	 */
+	private static final class Recorder {
+
+		private final LongAdder calls = new LongAdder();
+		private final LongAdder failures = new LongAdder();
+		private final LongAdder mismatches = new LongAdder();
+		private final LongAdder recoveries = new LongAdder();
+		private final LatencyHistogram checked = new LatencyHistogram();
+		private final LatencyHistogram raw = new LatencyHistogram();
+
+		private OperationMetrics snapshot() {
+			return new OperationMetrics(calls.sum(), failures.sum(), mismatches.sum(),
+				recoveries.sum(), checked.snapshot(), raw.snapshot());
+		}
+
+		private void reset() {
+			calls.reset();
+			failures.reset();
+			mismatches.reset();
+			recoveries.reset();
+			checked.reset();
+			raw.reset();
+		}
+	}
+
+	/**
+	 * The MXBean view of BarricadeMetrics
+	 */
+	private static final class MXBean implements BarricadeMetricsMXBean {
+
+		@Override
+		public boolean isEnabled() {
+			return BarricadeMetrics.isEnabled();
+		}
+
+		@Override
+		public void setEnabled(boolean enabled) {
+			BarricadeMetrics.setEnabled(enabled);
+		}
+
+		@Override
+		public Map<String, Long> getCounters() {
+			Map<String, Long> counters = new LinkedHashMap<>();
+			snapshot().forEach((operation, metrics) -> {
+				String prefix = operation.method() + ".";
+				counters.put(prefix + "calls", metrics.calls());
+				counters.put(prefix + "failures", metrics.failures());
+				counters.put(prefix + "mismatches", metrics.mismatches());
+				counters.put(prefix + "recoveries", metrics.recoveries());
+				putLatency(counters, prefix + "checked.", metrics.checked());
+				putLatency(counters, prefix + "raw.", metrics.raw());
+			});
+			return counters;
+		}
+
+		private static void putLatency(Map<String, Long> counters, String prefix, Latency latency) {
+			counters.put(prefix + "count", latency.count());
+			counters.put(prefix + "totalNanos", latency.totalNanos());
+			counters.put(prefix + "maxNanos", latency.maxNanos());
+			counters.put(prefix + "p50Nanos", latency.p50Nanos());
+			counters.put(prefix + "p90Nanos", latency.p90Nanos());
+			counters.put(prefix + "p99Nanos", latency.p99Nanos());
+			counters.put(prefix + "p999Nanos", latency.p999Nanos());
+		}
+
+		@Override
+		public void reset() {
+			BarricadeMetrics.reset();
+		}
+	}
+}
@@ -0,0 +1,34 @@
+import java.util.Map;
+
+/**
+ * BarricadeMetricsMXBean is the JMX management interface of BarricadeMetrics
+ */
+public interface BarricadeMetricsMXBean {
+
+	/**
+	 * Returns whether Barricade calls are recorded
+	 *
+	 * @return whether Barricade calls are recorded
+	 */
+	boolean isEnabled();
+
+	/**
+	 * Turns the recording of Barricade calls on or off
+	 *
+	 * @param enabled whether Barricade calls are recorded
+	 */
+	void setEnabled(boolean enabled);
+
+	/**
+	 * Returns every counter keyed by operation and counter name, such as get.calls, put.failures,
+	 * get.recoveries or size.checked.p99Nanos
+	 *
+	 * @return every counter keyed by operation and counter name
+	 */
+	Map<String, Long> getCounters();
+
+	/**
+	 * Sets every counter back to 0
+	 */
+	void reset();
+}
@@ -0,0 +1,186 @@
+import java.util.Objects;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * DenseMatrixStorage stores every cell of a fully populated matrix in a flat row-major array, so a
+ * value lookup is a single index computation
+ *
+ * @param <T> the type of the values
+ */
+final class DenseMatrixStorage<T> implements MatrixStorage<T> {
+
+	/**
+	 * The number of rows of the matrix
+	 */
+	private final int rows;
+	/**
+	 * The number of columns of the matrix
+	 */
+	private final int columns;
+	/**
+	 * The values of the matrix in row-major order
+	 */
+	private final Object[] cells;
+
+	/**
+	 * Initializes with the input dimensions and row-major values
+	 *
+	 * @param rows    the number of rows of the matrix
+	 * @param columns the number of columns of the matrix
+	 * @param cells   the values of the matrix in row-major order
+	 */
+	private DenseMatrixStorage(int rows, int columns, Object[] cells) {
+		this.rows = rows;
+		this.columns = columns;
+		this.cells = cells;
+	}
+
+	/**
+	 * Returns the storage over the input row-major values, which it keeps without copying
+	 *
+	 * @param rows    the number of rows of the matrix
+	 * @param columns the number of columns of the matrix
+	 * @param cells   the values of the matrix in row-major order
+	 * @param <S>     the generic type
+	 * @return the storage over the input row-major values
+	 */
+	static <S> DenseMatrixStorage<S> of(int rows, int columns, Object[] cells) {
+		return new DenseMatrixStorage<>(rows, columns, cells);
+	}
+
+	/**
+	 * Builds and returns the storage with rows and columns as number of rows and number of columns
+	 * respectively and values determined by valueMapper
+	 *
+	 * @param rows        the number of rows of the matrix
+	 * @param columns     the number of columns of the matrix
+	 * @param valueMapper the function that maps the indexes to the corresponding value
+	 * @param <S>         the generic type
+	 * @return the storage with rows and columns as number of rows and number of columns respectively
+	 * and values determined by valueMapper
+	 * @throws ArithmeticException  if the matrix has more cells than an array can hold
+	 * @throws NullPointerException if valueMapper maps some indexes to null
+	 */
+	static <S> DenseMatrixStorage<S> build(int rows, int columns, Function<Indexes, S> valueMapper) {
+		Object[] cells = new Object[Math.multiplyExact(rows, columns)];
+		fillRows(cells, columns, valueMapper, 0, rows);
+		return new DenseMatrixStorage<>(rows, columns, cells);
+	}
+
+	/**
+	 * Builds and returns the storage with rows and columns as number of rows and number of columns
+	 * respectively and values determined by valueMapper, evaluated in parallel row blocks; every
+	 * block writes its values straight into the final array, so no merge is needed
+	 *
+	 * @param rows        the number of rows of the matrix
+	 * @param columns     the number of columns of the matrix
+	 * @param valueMapper the function that maps the indexes to the corresponding value
+	 * @param build       the pool and threshold of the parallel build
+	 * @param <S>         the generic type
+	 * @return the storage with rows and columns as number of rows and number of columns respectively
+	 * and values determined by valueMapper
+	 * @throws ArithmeticException  if the matrix has more cells than an array can hold
+	 * @throws NullPointerException if valueMapper maps some indexes to null
+	 */
+	static <S> DenseMatrixStorage<S> build(int rows, int columns, Function<Indexes, S> valueMapper,
+		MatrixMap.ParallelBuild build) {
+		Object[] cells = new Object[Math.multiplyExact(rows, columns)];
+		if (cells.length <= build.threshold()) {
+			fillRows(cells, columns, valueMapper, 0, rows);
+		} else {
+			build.pool().invoke(new RowBlock<>(cells, columns, valueMapper, build.threshold(), 0, rows));
+		}
+		return new DenseMatrixStorage<>(rows, columns, cells);
+	}
+
+	private static <S> void fillRows(Object[] cells, int columns, Function<Indexes, S> valueMapper,
+		int fromRow, int toRow) {
+		int position = fromRow * columns;
+		for (int i = fromRow; i < toRow; i++) {
+			for (int j = 0; j < columns; j++) {
+				cells[position++] = Objects.requireNonNull(valueMapper.apply(new Indexes(i, j)));
+			}
+		}
+	}
+
+	@Override
+	public T value(Indexes indexes) {
+		return value(indexes.row(), indexes.column());
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T value(int row, int column) {
+		if (row < 0 || row >= rows || column < 0 || column >= columns) {
+			return null;
+		}
+		return (T) cells[row * columns + column];
+	}
+
+	@Override
+	public Indexes size() {
+		return new Indexes(rows, columns);
+	}
+
+	@Override
+	public MatrixMap.Layout layout() {
+		return MatrixMap.Layout.DENSE;
+	}
+
+	// Renders the same representation as the RoamingMap of the map-backed layout.
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("{");
+		int position = 0;
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < columns; j++) {
+				if (position > 0) {
+					builder.append(", ");
+				}
+				builder.append(new Indexes(i, j)).append('=').append(cells[position++]);
+			}
+		}
+		return builder.append('}').toString();
+	}
+
+	/**
+	 * RowBlock fills a block of rows, splitting it in halves while it holds more cells than the
+	 * threshold
+	 *
+	 * @param <S> the type of the values
+	 */
+	private static final class RowBlock<S> extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Object[] cells;
+		private final int columns;
+		private final Function<Indexes, S> valueMapper;
+		private final int threshold;
+		private final int fromRow;
+		private final int toRow;
+
+		private RowBlock(Object[] cells, int columns, Function<Indexes, S> valueMapper, int threshold,
+			int fromRow, int toRow) {
+			this.cells = cells;
+			this.columns = columns;
+			this.valueMapper = valueMapper;
+			this.threshold = threshold;
+			this.fromRow = fromRow;
+			this.toRow = toRow;
+		}
+
+		@Override
+		protected void compute() {
+			int blockRows = toRow - fromRow;
+			if (blockRows <= 1 || (long) blockRows * columns <= threshold) {
+				fillRows(cells, columns, valueMapper, fromRow, toRow);
+				return;
+			}
+			int middle = fromRow + blockRows / 2;
+			invokeAll(new RowBlock<>(cells, columns, valueMapper, threshold, fromRow, middle),
+				new RowBlock<>(cells, columns, valueMapper, threshold, middle, toRow));
+		}
+	}
+}
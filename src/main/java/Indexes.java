@@ -1,7 +1,9 @@
-import java.util.LinkedList;
-import java.util.List;
+import java.nio.ByteBuffer;
 import java.util.Objects;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import roamingcollection.MappedNavigableMap;
 
 // Assume correct implementation
 
@@ -16,7 +18,42 @@ public record Indexes(int row, int column) implements Comparable<Indexes> {
 	public static final Indexes ORIGIN = new Indexes(0, 0);
 
 	/**
-	 * Returns stream of all indexes between starting point from and ending point to
+	 * The number of slots of the interning cache used by of, read from the system property
+	 * Indexes.cacheSize and rounded down to a power of two; 0 disables the cache
+	 */
+	private static final int CACHE_SIZE = Integer.highestOneBit(
+		Math.max(0, Integer.getInteger("Indexes.cacheSize", 4096)));
+
+	/**
+	 * The direct-mapped interning cache used by of; a slot keeps the indexes last created for it
+	 */
+	private static final Indexes[] CACHE = new Indexes[CACHE_SIZE];
+
+	/**
+	 * Returns the indexes with input row and column, reusing a recently created instance if the
+	 * interning cache holds one
+	 *
+	 * @param row    the row of the indexes
+	 * @param column the column of the indexes
+	 * @return the indexes with input row and column
+	 */
+	public static Indexes of(int row, int column) {
+		if (CACHE_SIZE == 0) {
+			return new Indexes(row, column);
+		}
+		int slot = (int) ((pack(row, column) * 0x9E3779B97F4A7C15L) >>> 32) & (CACHE_SIZE - 1);
+		Indexes cached = CACHE[slot];
+		if (cached != null && cached.row() == row && cached.column() == column) {
+			return cached;
+		}
+		Indexes created = new Indexes(row, column);
+		CACHE[slot] = created;
+		return created;
+	}
+
+	/**
+	 * Returns stream of all indexes between starting point from and ending point to; the indexes
+	 * are generated lazily in row-major order and the stream splits evenly when parallel
 	 *
 	 * @param from starting point
 	 * @param to   ending point
@@ -26,13 +63,106 @@ public record Indexes(int row, int column) implements Comparable<Indexes> {
 	public static Stream<Indexes> stream(Indexes from, Indexes to) {
 		Objects.requireNonNull(from);
 		Objects.requireNonNull(to);
-		List<Indexes> list = new LinkedList<>();
+		return StreamSupport.stream(IndexesSpliterator.of(from, to), false);
+	}
+
+	/**
+	 * Returns stream of all indexes between starting point from and ending point to, each packed
+	 * by pack, so no Indexes is allocated
+	 *
+	 * @param from starting point
+	 * @param to   ending point
+	 * @return stream of all packed indexes between starting point from and ending point to
+	 * @throws NullPointerException if from or to is null
+	 */
+	public static LongStream packedStream(Indexes from, Indexes to) {
+		Objects.requireNonNull(from);
+		Objects.requireNonNull(to);
+		return StreamSupport.longStream(IndexesSpliterator.of(from, to).packed(), false);
+	}
+
+	/**
+	 * Performs the action for the row and column of all indexes between starting point from and
+	 * ending point to, in row-major order, without allocating any Indexes
+	 *
+	 * @param from   starting point
+	 * @param to     ending point
+	 * @param action the action performed for every row and column
+	 * @throws NullPointerException if from, to or action is null
+	 */
+	public static void forEach(Indexes from, Indexes to, CellConsumer action) {
+		Objects.requireNonNull(from);
+		Objects.requireNonNull(to);
+		Objects.requireNonNull(action);
 		for (int i = from.row(); i <= to.row(); i++) {
 			for (int j = from.column(); j <= to.column(); j++) {
-				list.add(new Indexes(i, j));
+				action.accept(i, j);
 			}
 		}
-		return list.stream();
+	}
+
+	/**
+	 * Returns the row and column packed in a single long whose signed order is the row-major order
+	 * of compareTo
+	 *
+	 * @param row    the row
+	 * @param column the column
+	 * @return the row and column packed in a single long
+	 */
+	public static long pack(int row, int column) {
+		return ((long) row << 32) | ((column ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Returns the row of the packed indexes
+	 *
+	 * @param packed the indexes packed by pack
+	 * @return the row of the packed indexes
+	 */
+	public static int packedRow(long packed) {
+		return (int) (packed >> 32);
+	}
+
+	/**
+	 * Returns the column of the packed indexes
+	 *
+	 * @param packed the indexes packed by pack
+	 * @return the column of the packed indexes
+	 */
+	public static int packedColumn(long packed) {
+		return ((int) packed) ^ Integer.MIN_VALUE;
+	}
+
+	/**
+	 * Returns the codec that stores indexes in the 8 bytes of pack, for use as the keys of a
+	 * MappedNavigableMap
+	 *
+	 * @return the codec that stores indexes in the 8 bytes of pack
+	 */
+	public static MappedNavigableMap.Codec<Indexes> codec() {
+		return new MappedNavigableMap.Codec<>() {
+
+			@Override
+			public int width() {
+				return Long.BYTES;
+			}
+
+			@Override
+			public int id() {
+				return 5;
+			}
+
+			@Override
+			public void write(ByteBuffer buffer, int offset, Indexes value) {
+				buffer.putLong(offset, pack(value.row(), value.column()));
+			}
+
+			@Override
+			public Indexes read(ByteBuffer buffer, int offset) {
+				long packed = buffer.getLong(offset);
+				return new Indexes(packedRow(packed), packedColumn(packed));
+			}
+		};
 	}
 
 	/**
@@ -94,4 +224,19 @@ public record Indexes(int row, int column) implements Comparable<Indexes> {
 	public boolean areDiagonal() {
 		return row() == column();
 	}
-}
\ No newline at end of file
+
+	/**
+	 * The CellConsumer interface accepts the row and column of a cell without boxing
+	 */
+	@FunctionalInterface
+	public interface CellConsumer {
+
+		/**
+		 * Performs this operation on the row and column of a cell
+		 *
+		 * @param row    the row of the cell
+		 * @param column the column of the cell
+		 */
+		void accept(int row, int column);
+	}
+}
@@ -0,0 +1,186 @@
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * IndexesSpliterator generates the indexes of a rectangular range in row-major order on demand;
+ * it splits the range of row-major positions evenly, so parallel traversal is balanced
+ */
+final class IndexesSpliterator implements Spliterator<Indexes> {
+
+	/**
+	 * The characteristics shared by all range spliterators
+	 */
+	private static final int CHARACTERISTICS =
+		ORDERED | DISTINCT | NONNULL | IMMUTABLE | SIZED | SUBSIZED;
+
+	/**
+	 * The first row of the range
+	 */
+	private final int fromRow;
+	/**
+	 * The first column of the range
+	 */
+	private final int fromColumn;
+	/**
+	 * The number of columns of the range
+	 */
+	private final long width;
+	/**
+	 * The row-major position of the next indexes
+	 */
+	private long position;
+	/**
+	 * The row-major position after the last indexes
+	 */
+	private final long end;
+
+	/**
+	 * Initializes with the input range and row-major positions
+	 *
+	 * @param fromRow    the first row of the range
+	 * @param fromColumn the first column of the range
+	 * @param width      the number of columns of the range
+	 * @param position   the row-major position of the first indexes
+	 * @param end        the row-major position after the last indexes
+	 */
+	private IndexesSpliterator(int fromRow, int fromColumn, long width, long position, long end) {
+		this.fromRow = fromRow;
+		this.fromColumn = fromColumn;
+		this.width = width;
+		this.position = position;
+		this.end = end;
+	}
+
+	/**
+	 * Returns the spliterator over all indexes between starting point from and ending point to,
+	 * both inclusive
+	 *
+	 * @param from starting point
+	 * @param to   ending point
+	 * @return the spliterator over all indexes between starting point from and ending point to
+	 */
+	static IndexesSpliterator of(Indexes from, Indexes to) {
+		long height = Math.max(0L, (long) to.row() - from.row() + 1);
+		long width = Math.max(0L, (long) to.column() - from.column() + 1);
+		return new IndexesSpliterator(from.row(), from.column(), width, 0L, height * width);
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super Indexes> action) {
+		if (position >= end) {
+			return false;
+		}
+		action.accept(indexesAt(position++));
+		return true;
+	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super Indexes> action) {
+		for (long current = position; current < end; current++) {
+			action.accept(indexesAt(current));
+		}
+		position = end;
+	}
+
+	private Indexes indexesAt(long current) {
+		return new Indexes(fromRow + (int) (current / width), fromColumn + (int) (current % width));
+	}
+
+	@Override
+	public IndexesSpliterator trySplit() {
+		long middle = (position + end) >>> 1;
+		if (middle <= position) {
+			return null;
+		}
+		IndexesSpliterator prefix = new IndexesSpliterator(fromRow, fromColumn, width, position,
+			middle);
+		position = middle;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize() {
+		return end - position;
+	}
+
+	@Override
+	public int characteristics() {
+		return CHARACTERISTICS;
+	}
+
+	/**
+	 * Returns the primitive spliterator over the remaining range, which hands back every indexes
+	 * packed in a single long instead of allocating it
+	 *
+	 * @return the primitive spliterator over the remaining range
+	 */
+	Spliterator.OfLong packed() {
+		return new Packed(fromRow, fromColumn, width, position, end);
+	}
+
+	/**
+	 * Packed is the primitive counterpart of IndexesSpliterator that hands back the indexes packed by
+	 * Indexes.pack
+	 */
+	private static final class Packed implements Spliterator.OfLong {
+
+		// Same range and positions as the enclosing spliterator.
+		private final int fromRow;
+		private final int fromColumn;
+		private final long width;
+		private long position;
+		private final long end;
+
+		private Packed(int fromRow, int fromColumn, long width, long position, long end) {
+			this.fromRow = fromRow;
+			this.fromColumn = fromColumn;
+			this.width = width;
+			this.position = position;
+			this.end = end;
+		}
+
+		@Override
+		public boolean tryAdvance(LongConsumer action) {
+			if (position >= end) {
+				return false;
+			}
+			action.accept(packedAt(position++));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(LongConsumer action) {
+			for (long current = position; current < end; current++) {
+				action.accept(packedAt(current));
+			}
+			position = end;
+		}
+
+		private long packedAt(long current) {
+			return Indexes.pack(fromRow + (int) (current / width),
+				fromColumn + (int) (current % width));
+		}
+
+		@Override
+		public Spliterator.OfLong trySplit() {
+			long middle = (position + end) >>> 1;
+			if (middle <= position) {
+				return null;
+			}
+			Packed prefix = new Packed(fromRow, fromColumn, width, position, middle);
+			position = middle;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return end - position;
+		}
+
+		@Override
+		public int characteristics() {
+			return CHARACTERISTICS;
+		}
+	}
+}
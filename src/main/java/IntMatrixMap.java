@@ -0,0 +1,227 @@
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+import roamingcollection.MappedNavigableMap;
+
+/**
+ * IntMatrixMap is the int specialization of MatrixMap that stores its values unboxed in a flat
+ * row-major array, or reads them unboxed straight from a memory-mapped matrix file
+ */
+public final class IntMatrixMap {
+
+	/**
+	 * The number of rows of the matrix
+	 */
+	private final int rows;
+	/**
+	 * The number of columns of the matrix
+	 */
+	private final int columns;
+	/**
+	 * The values of the matrix in row-major order, over an array or a mapped matrix file
+	 */
+	private final IntBuffer cells;
+
+	/**
+	 * Initializes with the input dimensions and row-major values
+	 *
+	 * @param rows    the number of rows of the matrix
+	 * @param columns the number of columns of the matrix
+	 * @param cells   the values of the matrix in row-major order
+	 */
+	private IntMatrixMap(int rows, int columns, IntBuffer cells) {
+		this.rows = rows;
+		this.columns = columns;
+		this.cells = cells;
+	}
+
+	/**
+	 * Returns the IntMatrixMap instance with matrix that has size of rows x columns and values
+	 * determined by valueMapper
+	 *
+	 * @param rows        the number of rows in the matrix
+	 * @param columns     the number of columns in the matrix
+	 * @param valueMapper the function that maps the row and column to the corresponding value
+	 * @return the IntMatrixMap instance with matrix that has size of rows x columns and values
+	 * determined by valueMapper
+	 */
+	public static IntMatrixMap instance(int rows, int columns, CellMapper valueMapper) {
+		Objects.requireNonNull(valueMapper);
+		int rowsNumber = MatrixMap.InvalidLengthException.requireNonEmpty(
+			MatrixMap.InvalidLengthException.Cause.ROW, rows);
+		int columnsNumber = MatrixMap.InvalidLengthException.requireNonEmpty(
+			MatrixMap.InvalidLengthException.Cause.COLUMN, columns);
+		int[] cells = new int[Math.multiplyExact(rowsNumber, columnsNumber)];
+		int position = 0;
+		for (int i = 0; i < rowsNumber; i++) {
+			for (int j = 0; j < columnsNumber; j++) {
+				cells[position++] = valueMapper.applyAsInt(i, j);
+			}
+		}
+		return new IntMatrixMap(rowsNumber, columnsNumber, IntBuffer.wrap(cells));
+	}
+
+	/**
+	 * Returns the IntMatrixMap instance with matrix that has size of rows x columns and values
+	 * determined by valueMapper
+	 *
+	 * @param rows        the number of rows in the matrix
+	 * @param columns     the number of columns in the matrix
+	 * @param valueMapper the function that maps the indexes to the corresponding value
+	 * @return the IntMatrixMap instance with matrix that has size of rows x columns and values
+	 * determined by valueMapper
+	 */
+	public static IntMatrixMap instance(int rows, int columns, ToIntFunction<Indexes> valueMapper) {
+		Objects.requireNonNull(valueMapper);
+		return instance(rows, columns,
+			(row, column) -> valueMapper.applyAsInt(new Indexes(row, column)));
+	}
+
+	/**
+	 * Returns the IntMatrixMap instance with matrix that has size of size x size and all values
+	 * being the input value
+	 *
+	 * @param size  the size to define the matrix's size
+	 * @param value the value corresponding to all indexes of the matrix
+	 * @return the IntMatrixMap instance with matrix that has size of size x size and all values
+	 * being the input value
+	 */
+	public static IntMatrixMap constant(int size, int value) {
+		return instance(size, size, (row, column) -> value);
+	}
+
+	/**
+	 * Returns the IntMatrixMap instance with matrix that has size of size x size, all values in
+	 * diagonal indexes as identity, all other values as zero
+	 *
+	 * @param size     the size to define the matrix's size
+	 * @param zero     the zero value
+	 * @param identity the identity value
+	 * @return the IntMatrixMap instance with matrix that has size of size x size, all values in
+	 * diagonal indexes as identity, all other values as zero
+	 */
+	public static IntMatrixMap identity(int size, int zero, int identity) {
+		return instance(size, size, (row, column) -> (row == column) ? identity : zero);
+	}
+
+	/**
+	 * Returns IntMatrixMap instance with matrix that has corresponding values in input matrix
+	 *
+	 * @param matrix the input matrix used to create the IntMatrixMap instance
+	 * @return IntMatrixMap instance with matrix that has corresponding values in input matrix
+	 * @throws IllegalArgumentException if the input matrix is empty or its rows differ in length
+	 */
+	public static IntMatrixMap from(int[][] matrix) {
+		Objects.requireNonNull(matrix);
+		int rows = MatrixMap.InvalidLengthException.requireNonEmpty(
+			MatrixMap.InvalidLengthException.Cause.ROW, matrix.length);
+		int columns = MatrixMap.InvalidLengthException.requireNonEmpty(
+			MatrixMap.InvalidLengthException.Cause.COLUMN, matrix[0].length);
+		for (int[] row : matrix) {
+			if (row.length != columns) {
+				throw new IllegalArgumentException(new MatrixMap.InvalidLengthException(
+					MatrixMap.InvalidLengthException.Cause.COLUMN, row.length));
+			}
+		}
+		return instance(rows, columns, (row, column) -> matrix[row][column]);
+	}
+
+	/**
+	 * Returns the IntMatrixMap instance that reads its values straight from the dense matrix file at
+	 * path written by MatrixMap.save with Codec.integers(); mapping only reads the header, and no
+	 * value is copied or boxed
+	 *
+	 * @param path the file to map
+	 * @return the IntMatrixMap instance that reads its values from the matrix file at path
+	 * @throws IOException if the file cannot be mapped, is not a dense matrix file written with
+	 *                     Codec.integers(), or its values take more than 2 GB
+	 */
+	public static IntMatrixMap map(Path path) throws IOException {
+		Objects.requireNonNull(path);
+		MappedMatrixStorage.DenseBody body = MappedMatrixStorage.mapDense(path,
+			MappedNavigableMap.Codec.integers());
+		return new IntMatrixMap(body.rows(), body.columns(), body.cells().asIntBuffer());
+	}
+
+	/**
+	 * Returns the value corresponding to the indexes with input row and column
+	 *
+	 * @param row    the row of the indexes
+	 * @param column the column of the indexes
+	 * @return the value corresponding to the indexes with input row and column
+	 * @throws IndexOutOfBoundsException if the indexes are outside the matrix
+	 */
+	public int getInt(int row, int column) {
+		Objects.checkIndex(row, rows);
+		Objects.checkIndex(column, columns);
+		return cells.get(row * columns + column);
+	}
+
+	/**
+	 * Returns the value corresponding to the input indexes
+	 *
+	 * @param indexes the input indexes used to find the corresponding value
+	 * @return the value corresponding to the input indexes
+	 * @throws IndexOutOfBoundsException if the indexes are outside the matrix
+	 */
+	public int getInt(Indexes indexes) {
+		Objects.requireNonNull(indexes);
+		return getInt(indexes.row(), indexes.column());
+	}
+
+	/**
+	 * Returns the indexes with row and column as number of rows and number of columns of the matrix
+	 * respectively
+	 *
+	 * @return the indexes with row and column as number of rows and number of columns of the matrix
+	 * respectively
+	 */
+	public Indexes size() {
+		return new Indexes(rows, columns);
+	}
+
+	/**
+	 * Returns the MatrixMap instance with the boxed values of this matrix
+	 *
+	 * @return the MatrixMap instance with the boxed values of this matrix
+	 */
+	public MatrixMap<Integer> boxed() {
+		return MatrixMap.instance(rows, columns, this::getInt);
+	}
+
+	/**
+	 * Returns the String representation of the matrix, in the same format as MatrixMap
+	 *
+	 * @return the String representation of the matrix
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("{");
+		for (int position = 0; position < cells.limit(); position++) {
+			if (position > 0) {
+				builder.append(", ");
+			}
+			builder.append(new Indexes(position / columns, position % columns)).append('=')
+				.append(cells.get(position));
+		}
+		return builder.append('}').toString();
+	}
+
+	/**
+	 * The CellMapper interface maps the row and column of a cell to its value without boxing
+	 */
+	@FunctionalInterface
+	public interface CellMapper {
+
+		/**
+		 * Returns the value of the cell with input row and column
+		 *
+		 * @param row    the row of the cell
+		 * @param column the column of the cell
+		 * @return the value of the cell with input row and column
+		 */
+		int applyAsInt(int row, int column);
+	}
+}
@@ -0,0 +1,144 @@
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram counts durations in log-linear buckets in the manner of HdrHistogram: every
+ * power of two is split into SUB_BUCKETS equal buckets, so a recorded value is known to within
+ * 1/SUB_BUCKETS of itself whatever its magnitude. Every bucket is a LongAdder, so concurrent
+ * recording does not contend on a single counter.
+ */
+final class LatencyHistogram {
+
+	/**
+	 * The number of bits of a value kept below its highest set bit
+	 */
+	private static final int PRECISION = 3;
+	/**
+	 * The number of buckets every power of two is split into
+	 */
+	private static final int SUB_BUCKETS = 1 << PRECISION;
+	/**
+	 * The number of buckets needed for every non-negative long
+	 */
+	private static final int BUCKETS = (Long.SIZE - PRECISION) * SUB_BUCKETS;
+
+	/**
+	 * The number of values recorded in every bucket
+	 */
+	private final LongAdder[] counts = new LongAdder[BUCKETS];
+	/**
+	 * The sum of all recorded values
+	 */
+	private final LongAdder total = new LongAdder();
+	/**
+	 * The largest recorded value
+	 */
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Initializes with no recorded values
+	 */
+	LatencyHistogram() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Returns the bucket of the input value
+	 *
+	 * @param value the non-negative value
+	 * @return the bucket of the input value
+	 */
+	static int bucketOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - PRECISION)) & (SUB_BUCKETS - 1);
+		return (exponent - PRECISION + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * Returns the largest value of the input bucket
+	 *
+	 * @param bucket the bucket
+	 * @return the largest value of the input bucket
+	 */
+	static long highestValueOf(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int exponent = bucket / SUB_BUCKETS + PRECISION - 1;
+		long lowest = (1L << exponent) | ((long) (bucket % SUB_BUCKETS) << (exponent - PRECISION));
+		return lowest + (1L << (exponent - PRECISION)) - 1;
+	}
+
+	/**
+	 * Records the input duration; negative durations, which a clock adjustment can produce, are
+	 * recorded as 0
+	 *
+	 * @param nanos the duration in nanoseconds
+	 */
+	void record(long nanos) {
+		long value = Math.max(nanos, 0);
+		counts[bucketOf(value)].increment();
+		total.add(value);
+		max.accumulate(value);
+	}
+
+	/**
+	 * Forgets every recorded value
+	 */
+	void reset() {
+		for (LongAdder count : counts) {
+			count.reset();
+		}
+		total.reset();
+		max.reset();
+	}
+
+	/**
+	 * Returns the summary of the values recorded so far; values recorded while it is taken may be
+	 * partly included
+	 *
+	 * @return the summary of the values recorded so far
+	 */
+	BarricadeMetrics.Latency snapshot() {
+		long[] bucketCounts = new long[BUCKETS];
+		long count = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			bucketCounts[i] = counts[i].sum();
+			count += bucketCounts[i];
+		}
+		long maxNanos = max.get();
+		return new BarricadeMetrics.Latency(count, total.sum(), maxNanos,
+			percentile(bucketCounts, count, 0.50, maxNanos),
+			percentile(bucketCounts, count, 0.90, maxNanos),
+			percentile(bucketCounts, count, 0.99, maxNanos),
+			percentile(bucketCounts, count, 0.999, maxNanos));
+	}
+
+	/**
+	 * Returns the upper bound of the bucket holding the input quantile of the counted values,
+	 * capped by the largest recorded value
+	 *
+	 * @param bucketCounts the number of values in every bucket
+	 * @param count        the number of values
+	 * @param quantile     the quantile, between 0 and 1
+	 * @param maxNanos     the largest recorded value
+	 * @return the upper bound of the bucket holding the input quantile, or 0 if no value is counted
+	 */
+	private static long percentile(long[] bucketCounts, long count, double quantile,
+		long maxNanos) {
+		long rank = (long) Math.ceil(quantile * count);
+		long seen = 0;
+		for (int i = 0; i < bucketCounts.length; i++) {
+			seen += bucketCounts[i];
+			if (seen >= rank && seen > 0) {
+				return Math.min(highestValueOf(i), maxNanos);
+			}
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,73 @@
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * LazyMatrixStorage keeps only the dimensions and the value mapper of a matrix and computes every
+ * value when it is read, optionally remembering the values already computed
+ *
+ * @param <T> the type of the values
+ */
+final class LazyMatrixStorage<T> implements MatrixStorage<T> {
+
+	/**
+	 * The number of rows of the matrix
+	 */
+	private final int rows;
+	/**
+	 * The number of columns of the matrix
+	 */
+	private final int columns;
+	/**
+	 * The function that maps the indexes to the corresponding value
+	 */
+	private final Function<Indexes, T> valueMapper;
+	/**
+	 * The values already computed, or null if values are not memoized
+	 */
+	private final Map<Indexes, T> cache;
+
+	/**
+	 * Initializes with the input dimensions and value mapper
+	 *
+	 * @param rows        the number of rows of the matrix
+	 * @param columns     the number of columns of the matrix
+	 * @param valueMapper the function that maps the indexes to the corresponding value
+	 * @param memoize     true if computed values are remembered, false otherwise
+	 */
+	LazyMatrixStorage(int rows, int columns, Function<Indexes, T> valueMapper, boolean memoize) {
+		this.rows = rows;
+		this.columns = columns;
+		this.valueMapper = Objects.requireNonNull(valueMapper);
+		this.cache = memoize ? new ConcurrentHashMap<>() : null;
+	}
+
+	@Override
+	public T value(Indexes indexes) {
+		if (indexes.row() < 0 || indexes.row() >= rows || indexes.column() < 0
+			|| indexes.column() >= columns) {
+			return null;
+		}
+		return (cache == null) ? compute(indexes) : cache.computeIfAbsent(indexes, this::compute);
+	}
+
+	private T compute(Indexes indexes) {
+		return Objects.requireNonNull(valueMapper.apply(indexes));
+	}
+
+	@Override
+	public Indexes size() {
+		return new Indexes(rows, columns);
+	}
+
+	@Override
+	public MatrixMap.Layout layout() {
+		return MatrixMap.Layout.LAZY;
+	}
+
+	@Override
+	public String toString() {
+		return MatrixStorage.render(this);
+	}
+}
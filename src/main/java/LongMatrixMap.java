@@ -0,0 +1,228 @@
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+import roamingcollection.MappedNavigableMap;
+
+/**
+ * LongMatrixMap is the long specialization of MatrixMap that stores its values unboxed in a flat
+ * row-major array, or reads them unboxed straight from a memory-mapped matrix file
+ */
+public final class LongMatrixMap {
+
+	/**
+	 * The number of rows of the matrix
+	 */
+	private final int rows;
+	/**
+	 * The number of columns of the matrix
+	 */
+	private final int columns;
+	/**
+	 * The values of the matrix in row-major order, over an array or a mapped matrix file
+	 */
+	private final LongBuffer cells;
+
+	/**
+	 * Initializes with the input dimensions and row-major values
+	 *
+	 * @param rows    the number of rows of the matrix
+	 * @param columns the number of columns of the matrix
+	 * @param cells   the values of the matrix in row-major order
+	 */
+	private LongMatrixMap(int rows, int columns, LongBuffer cells) {
+		this.rows = rows;
+		this.columns = columns;
+		this.cells = cells;
+	}
+
+	/**
+	 * Returns the LongMatrixMap instance with matrix that has size of rows x columns and values
+	 * determined by valueMapper
+	 *
+	 * @param rows        the number of rows in the matrix
+	 * @param columns     the number of columns in the matrix
+	 * @param valueMapper the function that maps the row and column to the corresponding value
+	 * @return the LongMatrixMap instance with matrix that has size of rows x columns and values
+	 * determined by valueMapper
+	 */
+	public static LongMatrixMap instance(int rows, int columns, CellMapper valueMapper) {
+		Objects.requireNonNull(valueMapper);
+		int rowsNumber = MatrixMap.InvalidLengthException.requireNonEmpty(
+			MatrixMap.InvalidLengthException.Cause.ROW, rows);
+		int columnsNumber = MatrixMap.InvalidLengthException.requireNonEmpty(
+			MatrixMap.InvalidLengthException.Cause.COLUMN, columns);
+		long[] cells = new long[Math.multiplyExact(rowsNumber, columnsNumber)];
+		int position = 0;
+		for (int i = 0; i < rowsNumber; i++) {
+			for (int j = 0; j < columnsNumber; j++) {
+				cells[position++] = valueMapper.applyAsLong(i, j);
+			}
+		}
+		return new LongMatrixMap(rowsNumber, columnsNumber, LongBuffer.wrap(cells));
+	}
+
+	/**
+	 * Returns the LongMatrixMap instance with matrix that has size of rows x columns and values
+	 * determined by valueMapper
+	 *
+	 * @param rows        the number of rows in the matrix
+	 * @param columns     the number of columns in the matrix
+	 * @param valueMapper the function that maps the indexes to the corresponding value
+	 * @return the LongMatrixMap instance with matrix that has size of rows x columns and values
+	 * determined by valueMapper
+	 */
+	public static LongMatrixMap instance(int rows, int columns,
+		ToLongFunction<Indexes> valueMapper) {
+		Objects.requireNonNull(valueMapper);
+		return instance(rows, columns,
+			(row, column) -> valueMapper.applyAsLong(new Indexes(row, column)));
+	}
+
+	/**
+	 * Returns the LongMatrixMap instance with matrix that has size of size x size and all values
+	 * being the input value
+	 *
+	 * @param size  the size to define the matrix's size
+	 * @param value the value corresponding to all indexes of the matrix
+	 * @return the LongMatrixMap instance with matrix that has size of size x size and all values
+	 * being the input value
+	 */
+	public static LongMatrixMap constant(int size, long value) {
+		return instance(size, size, (row, column) -> value);
+	}
+
+	/**
+	 * Returns the LongMatrixMap instance with matrix that has size of size x size, all values in
+	 * diagonal indexes as identity, all other values as zero
+	 *
+	 * @param size     the size to define the matrix's size
+	 * @param zero     the zero value
+	 * @param identity the identity value
+	 * @return the LongMatrixMap instance with matrix that has size of size x size, all values in
+	 * diagonal indexes as identity, all other values as zero
+	 */
+	public static LongMatrixMap identity(int size, long zero, long identity) {
+		return instance(size, size, (row, column) -> (row == column) ? identity : zero);
+	}
+
+	/**
+	 * Returns LongMatrixMap instance with matrix that has corresponding values in input matrix
+	 *
+	 * @param matrix the input matrix used to create the LongMatrixMap instance
+	 * @return LongMatrixMap instance with matrix that has corresponding values in input matrix
+	 * @throws IllegalArgumentException if the input matrix is empty or its rows differ in length
+	 */
+	public static LongMatrixMap from(long[][] matrix) {
+		Objects.requireNonNull(matrix);
+		int rows = MatrixMap.InvalidLengthException.requireNonEmpty(
+			MatrixMap.InvalidLengthException.Cause.ROW, matrix.length);
+		int columns = MatrixMap.InvalidLengthException.requireNonEmpty(
+			MatrixMap.InvalidLengthException.Cause.COLUMN, matrix[0].length);
+		for (long[] row : matrix) {
+			if (row.length != columns) {
+				throw new IllegalArgumentException(new MatrixMap.InvalidLengthException(
+					MatrixMap.InvalidLengthException.Cause.COLUMN, row.length));
+			}
+		}
+		return instance(rows, columns, (row, column) -> matrix[row][column]);
+	}
+
+	/**
+	 * Returns the LongMatrixMap instance that reads its values straight from the dense matrix file at
+	 * path written by MatrixMap.save with Codec.longs(); mapping only reads the header, and no
+	 * value is copied or boxed
+	 *
+	 * @param path the file to map
+	 * @return the LongMatrixMap instance that reads its values from the matrix file at path
+	 * @throws IOException if the file cannot be mapped, is not a dense matrix file written with
+	 *                     Codec.longs(), or its values take more than 2 GB
+	 */
+	public static LongMatrixMap map(Path path) throws IOException {
+		Objects.requireNonNull(path);
+		MappedMatrixStorage.DenseBody body = MappedMatrixStorage.mapDense(path,
+			MappedNavigableMap.Codec.longs());
+		return new LongMatrixMap(body.rows(), body.columns(), body.cells().asLongBuffer());
+	}
+
+	/**
+	 * Returns the value corresponding to the indexes with input row and column
+	 *
+	 * @param row    the row of the indexes
+	 * @param column the column of the indexes
+	 * @return the value corresponding to the indexes with input row and column
+	 * @throws IndexOutOfBoundsException if the indexes are outside the matrix
+	 */
+	public long getLong(int row, int column) {
+		Objects.checkIndex(row, rows);
+		Objects.checkIndex(column, columns);
+		return cells.get(row * columns + column);
+	}
+
+	/**
+	 * Returns the value corresponding to the input indexes
+	 *
+	 * @param indexes the input indexes used to find the corresponding value
+	 * @return the value corresponding to the input indexes
+	 * @throws IndexOutOfBoundsException if the indexes are outside the matrix
+	 */
+	public long getLong(Indexes indexes) {
+		Objects.requireNonNull(indexes);
+		return getLong(indexes.row(), indexes.column());
+	}
+
+	/**
+	 * Returns the indexes with row and column as number of rows and number of columns of the matrix
+	 * respectively
+	 *
+	 * @return the indexes with row and column as number of rows and number of columns of the matrix
+	 * respectively
+	 */
+	public Indexes size() {
+		return new Indexes(rows, columns);
+	}
+
+	/**
+	 * Returns the MatrixMap instance with the boxed values of this matrix
+	 *
+	 * @return the MatrixMap instance with the boxed values of this matrix
+	 */
+	public MatrixMap<Long> boxed() {
+		return MatrixMap.instance(rows, columns, this::getLong);
+	}
+
+	/**
+	 * Returns the String representation of the matrix, in the same format as MatrixMap
+	 *
+	 * @return the String representation of the matrix
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("{");
+		for (int position = 0; position < cells.limit(); position++) {
+			if (position > 0) {
+				builder.append(", ");
+			}
+			builder.append(new Indexes(position / columns, position % columns)).append('=')
+				.append(cells.get(position));
+		}
+		return builder.append('}').toString();
+	}
+
+	/**
+	 * The CellMapper interface maps the row and column of a cell to its value without boxing
+	 */
+	@FunctionalInterface
+	public interface CellMapper {
+
+		/**
+		 * Returns the value of the cell with input row and column
+		 *
+		 * @param row    the row of the cell
+		 * @param column the column of the cell
+		 * @return the value of the cell with input row and column
+		 */
+		long applyAsLong(int row, int column);
+	}
+}
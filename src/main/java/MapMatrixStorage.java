@@ -0,0 +1,90 @@
+import java.util.Iterator;
+import java.util.Objects;
+import roamingcollection.RoamingMap;
+
+/**
+ * MapMatrixStorage stores every cell as an Indexes to value entry of a RoamingMap checked through
+ * Barricade
+ *
+ * @param <T> the type of the values
+ */
+final class MapMatrixStorage<T> implements MatrixStorage<T> {
+
+	/**
+	 * The matrix for this storage
+	 */
+	private final RoamingMap<Indexes, T> matrix;
+	/**
+	 * The number of rows and number of columns of the matrix, recorded when it was built
+	 */
+	private final Indexes size;
+
+	/**
+	 * Initializes with the input matrix and its dimensions
+	 *
+	 * @param matrix  the matrix used to initialize
+	 * @param rows    the number of rows of the matrix
+	 * @param columns the number of columns of the matrix
+	 */
+	MapMatrixStorage(RoamingMap<Indexes, T> matrix, int rows, int columns) {
+		this.matrix = Objects.requireNonNull(matrix);
+		this.size = new Indexes(rows, columns);
+	}
+
+	@Override
+	public T value(Indexes indexes) {
+		if (indexes.row() < 0 || indexes.row() >= size.row() || indexes.column() < 0
+			|| indexes.column() >= size.column()) {
+			return null;
+		}
+		return Barricade.getWithStateVar(matrix, indexes).value();
+	}
+
+	// Serves the recorded dimensions; with assertions enabled they are checked against the key set.
+	@Override
+	public Indexes size() {
+		assert size.equals(scannedSize()) : "recorded size " + size + " differs from key set size "
+			+ scannedSize();
+		return size;
+	}
+
+	/**
+	 * Returns the dimensions implied by the largest indexes of the key set, found by walking all of
+	 * it
+	 *
+	 * @return the dimensions implied by the largest indexes of the key set
+	 */
+	private Indexes scannedSize() {
+		Iterator<Indexes> iterator = Barricade.correctKeySet(matrix).iterator();
+		Indexes size = iterator.next();
+		while (iterator.hasNext()) {
+			Indexes currentIndex = iterator.next();
+			size = (size.compareTo(currentIndex) < 0) ? currentIndex : size;
+		}
+		return new Indexes(size.row() + 1, size.column() + 1);
+	}
+
+	// Streams the entries of every row through one checked range, in the order the RoamingMap keeps
+	// them.
+	@Override
+	public void forEach(int fromRow, int toRow, int fromColumn, int toColumn,
+		MatrixMap.ValueConsumer<? super T> action) {
+		for (int i = fromRow; i < toRow; i++) {
+			int row = i;
+			Barricade.forEachWithStateVar(matrix, new Indexes(row, fromColumn),
+				new Indexes(row, toColumn - 1),
+				(indexes, value) -> action.accept(row, indexes.column(), value));
+		}
+	}
+
+	@Override
+	public MatrixMap.Layout layout() {
+		return MatrixMap.Layout.MAP;
+	}
+
+	// Renders through the checked row ranges of forEach instead of comparing two full Strings.
+	@Override
+	public String toString() {
+		return MatrixStorage.render(this);
+	}
+}
@@ -0,0 +1,547 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import roamingcollection.MappedNavigableMap;
+
+/**
+ * MappedMatrixStorage reads the cells of a matrix straight from a memory-mapped file written by
+ * save; mapping only reads the header, and every value is decoded by the element codec when it is
+ * read
+ *
+ * <p>The file starts with a header of HEADER_SIZE bytes holding the magic number, the format
+ * version, the number of rows and columns, the width of the element codec, the body layout, the
+ * number of stored cells and the identifier of the element codec. A dense body holds every cell
+ * in row-major order; a sparse body holds the default value, then the packed indexes of the
+ * stored cells in ascending order, then their values. The primitive matrices map dense bodies
+ * through mapDense and read their values without decoding them into objects.
+ *
+ * @param <T> the type of the values
+ */
+final class MappedMatrixStorage<T> implements MatrixStorage<T> {
+
+	/**
+	 * The first four bytes of every matrix file
+	 */
+	private static final int MAGIC = 0x4D545258;
+	/**
+	 * The version of the format
+	 */
+	private static final int VERSION = 2;
+	/**
+	 * The number of bytes of the header
+	 */
+	static final int HEADER_SIZE = 40;
+	/**
+	 * The body layout in which every cell is stored
+	 */
+	private static final byte DENSE_BODY = 0;
+	/**
+	 * The body layout in which only the cells that differ from the default value are stored
+	 */
+	private static final byte SPARSE_BODY = 1;
+	/**
+	 * The number of bytes buffered while saving
+	 */
+	private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * The number of rows of the matrix
+	 */
+	private final int rows;
+	/**
+	 * The number of columns of the matrix
+	 */
+	private final int columns;
+	/**
+	 * The codec of the values
+	 */
+	private final MappedNavigableMap.Codec<T> codec;
+	/**
+	 * The value of every cell that is not stored, or null if every cell is stored
+	 */
+	private final T defaultValue;
+	/**
+	 * The packed indexes of the stored cells, or null if every cell is stored
+	 */
+	private final Region keys;
+	/**
+	 * The values of the stored cells
+	 */
+	private final Region values;
+
+	/**
+	 * Initializes with the input dimensions, codec and mapped regions
+	 *
+	 * @param rows         the number of rows of the matrix
+	 * @param columns      the number of columns of the matrix
+	 * @param codec        the codec of the values
+	 * @param defaultValue the value of every cell that is not stored, or null if every cell is
+	 *                     stored
+	 * @param keys         the packed indexes of the stored cells, or null if every cell is stored
+	 * @param values       the values of the stored cells
+	 */
+	private MappedMatrixStorage(int rows, int columns, MappedNavigableMap.Codec<T> codec,
+		T defaultValue, Region keys, Region values) {
+		this.rows = rows;
+		this.columns = columns;
+		this.codec = codec;
+		this.defaultValue = defaultValue;
+		this.keys = keys;
+		this.values = values;
+	}
+
+	/**
+	 * Writes the input storage to the file at path, sparsely if it is stored sparsely or packed and
+	 * densely otherwise
+	 *
+	 * @param path    the file to write
+	 * @param storage the storage to write
+	 * @param codec   the codec of the values
+	 * @param <S>     the generic type
+	 * @throws IOException if the file cannot be written
+	 */
+	static <S> void save(Path path, MatrixStorage<S> storage,
+		MappedNavigableMap.Codec<? super S> codec) throws IOException {
+		Indexes size = storage.size();
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+			StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			ByteBuffer buffer = ByteBuffer.allocate(Math.max(WRITE_BUFFER_SIZE, codec.width()));
+			if (storage instanceof SparseMatrixStorage<S> sparse) {
+				writeSparse(channel, buffer, size, codec, sparse.defaultValue(), sparse.packedIndexes(),
+					sparse.storedValues());
+			} else if (storage instanceof PackedMatrixStorage<S> packed) {
+				writeSparse(channel, buffer, size, codec, packed.defaultValue(), packed.packedIndexes(),
+					packed.storedValues());
+			} else {
+				writeHeader(buffer, size, codec, DENSE_BODY, (long) size.row() * size.column());
+				writeDense(channel, buffer, storage, codec);
+			}
+			flush(channel, buffer);
+		}
+	}
+
+	/**
+	 * Writes the header and sparse body of the matrix with the input stored cells, straight from
+	 * the arrays of its storage
+	 *
+	 * @param channel      the channel to write to
+	 * @param buffer       the empty buffer to write through
+	 * @param size         the number of rows and columns of the matrix
+	 * @param codec        the codec of the values
+	 * @param defaultValue the value of every cell that is not stored
+	 * @param keys         the packed indexes of the stored cells in ascending order
+	 * @param values       the value of every stored cell, at the position of its key
+	 * @param <S>          the generic type
+	 * @throws IOException if the channel cannot be written
+	 */
+	@SuppressWarnings("unchecked")
+	private static <S> void writeSparse(FileChannel channel, ByteBuffer buffer, Indexes size,
+		MappedNavigableMap.Codec<? super S> codec, S defaultValue, long[] keys, Object[] values)
+		throws IOException {
+		int width = codec.width();
+		writeHeader(buffer, size, codec, SPARSE_BODY, keys.length);
+		put(channel, buffer, width, (target, offset) -> codec.write(target, offset, defaultValue));
+		for (long key : keys) {
+			put(channel, buffer, Long.BYTES, (target, offset) -> target.putLong(offset, key));
+		}
+		for (Object value : values) {
+			put(channel, buffer, width, (target, offset) -> codec.write(target, offset, (S) value));
+		}
+	}
+
+	/**
+	 * Writes every cell of the input storage in row-major order, read through forEach so that
+	 * storages that keep their cells in order are read in a single pass
+	 *
+	 * @param channel the channel to write to
+	 * @param buffer  the buffer to write through
+	 * @param storage the storage to write
+	 * @param codec   the codec of the values
+	 * @param <S>     the generic type
+	 * @throws IOException if the channel cannot be written
+	 */
+	private static <S> void writeDense(FileChannel channel, ByteBuffer buffer,
+		MatrixStorage<S> storage, MappedNavigableMap.Codec<? super S> codec) throws IOException {
+		Indexes size = storage.size();
+		int width = codec.width();
+		try {
+			storage.forEach(0, size.row(), 0, size.column(), (row, column, value) -> {
+				Objects.requireNonNull(value);
+				try {
+					put(channel, buffer, width, (target, offset) -> codec.write(target, offset, value));
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Writes the header of a matrix file into the empty buffer
+	 *
+	 * @param buffer the buffer to write into
+	 * @param size   the number of rows and columns of the matrix
+	 * @param codec  the codec of the values
+	 * @param body   the body layout
+	 * @param stored the number of stored cells
+	 */
+	private static void writeHeader(ByteBuffer buffer, Indexes size,
+		MappedNavigableMap.Codec<?> codec, byte body, long stored) {
+		buffer.putInt(MAGIC).putInt(VERSION).putInt(size.row()).putInt(size.column())
+			.putInt(codec.width()).put(body).put(new byte[3]).putLong(stored).putInt(codec.id())
+			.put(new byte[4]);
+	}
+
+	/**
+	 * Writes width bytes through writer at the position of buffer, flushing buffer first if they
+	 * do not fit
+	 *
+	 * @param channel the channel to flush to
+	 * @param buffer  the buffer to write into
+	 * @param width   the number of bytes written by writer
+	 * @param writer  the writer of the bytes
+	 * @throws IOException if the channel cannot be written
+	 */
+	private static void put(FileChannel channel, ByteBuffer buffer, int width, CellWriter writer)
+		throws IOException {
+		if (buffer.remaining() < width) {
+			flush(channel, buffer);
+		}
+		writer.write(buffer, buffer.position());
+		buffer.position(buffer.position() + width);
+	}
+
+	/**
+	 * Writes the content of buffer to channel and clears buffer
+	 *
+	 * @param channel the channel to write to
+	 * @param buffer  the buffer to flush
+	 * @throws IOException if the channel cannot be written
+	 */
+	private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Maps the matrix file at path written by save
+	 *
+	 * @param path  the file to map
+	 * @param codec the codec of the values
+	 * @param <S>   the generic type
+	 * @return the storage that reads the cells of the matrix from the mapped file
+	 * @throws IOException if the file cannot be mapped, is not a matrix file, or was written with
+	 *                     another codec
+	 */
+	static <S> MappedMatrixStorage<S> map(Path path, MappedNavigableMap.Codec<S> codec)
+		throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (channel.size() < HEADER_SIZE) {
+				throw new IOException("Not a matrix file: " + path);
+			}
+			ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+			checkHeader(header, codec, path.toString());
+			int rows = header.getInt(8);
+			int columns = header.getInt(12);
+			int width = codec.width();
+			byte body = header.get(20);
+			long stored = header.getLong(24);
+			if (body == DENSE_BODY) {
+				requireLength(channel, HEADER_SIZE + stored * width, path);
+				return new MappedMatrixStorage<>(rows, columns, codec, null, null,
+					new Region(channel, HEADER_SIZE, stored, width));
+			}
+			long keysOffset = HEADER_SIZE + width;
+			long valuesOffset = keysOffset + stored * Long.BYTES;
+			requireLength(channel, valuesOffset + stored * width, path);
+			S defaultValue = codec.read(channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, width),
+				0);
+			return new MappedMatrixStorage<>(rows, columns, codec, defaultValue,
+				new Region(channel, keysOffset, stored, Long.BYTES),
+				new Region(channel, valuesOffset, stored, width));
+		}
+	}
+
+	/**
+	 * Maps the cells of the dense matrix file at path written by save as a single buffer, for the
+	 * primitive matrices that read their values from it without decoding them into objects
+	 *
+	 * @param path  the file to map
+	 * @param codec the codec the primitive matrix reads the values with
+	 * @return the dimensions of the matrix and its mapped cells
+	 * @throws IOException if the file cannot be mapped, is not a dense matrix file written with
+	 *                     codec, or its cells take more bytes than a single buffer can map
+	 */
+	static DenseBody mapDense(Path path, MappedNavigableMap.Codec<?> codec) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (channel.size() < HEADER_SIZE) {
+				throw new IOException("Not a matrix file: " + path);
+			}
+			ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+			checkHeader(header, codec, path.toString());
+			if (header.get(20) != DENSE_BODY) {
+				throw new IOException("Only dense matrix files can be mapped unboxed: " + path);
+			}
+			long length = header.getLong(24) * codec.width();
+			if (length > Integer.MAX_VALUE) {
+				throw new IOException("The cells take more than 2 GB: " + path);
+			}
+			requireLength(channel, HEADER_SIZE + length, path);
+			return new DenseBody(header.getInt(8), header.getInt(12),
+				channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, length));
+		}
+	}
+
+	/**
+	 * Reads the dense matrix written by save from channel one row at a time, decoding every row from
+	 * a single reused row buffer
+	 *
+	 * @param channel the channel positioned at the start of the matrix
+	 * @param codec   the codec the matrix was written with
+	 * @param <S>     the generic type
+	 * @return the storage with the rows read from channel
+	 * @throws IOException if channel cannot be read, does not hold a dense matrix, or the matrix was
+	 *                     written with another codec
+	 */
+	static <S> RowMatrixStorage<S> readRows(ReadableByteChannel channel,
+		MappedNavigableMap.Codec<S> codec) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		readFully(channel, header);
+		checkHeader(header, codec, "channel");
+		if (header.get(20) != DENSE_BODY) {
+			throw new IOException("Only dense matrices can be streamed; map sparse matrix files");
+		}
+		int rows = header.getInt(8);
+		int columns = header.getInt(12);
+		int width = codec.width();
+		ByteBuffer row = ByteBuffer.allocate(Math.multiplyExact(columns, width));
+		RowMatrixStorage.Appender<S> appender = new RowMatrixStorage.Appender<>();
+		for (int i = 0; i < rows; i++) {
+			row.clear();
+			readFully(channel, row);
+			Object[] values = new Object[columns];
+			for (int j = 0; j < columns; j++) {
+				values[j] = codec.read(row, j * width);
+			}
+			appender.append(values);
+		}
+		return appender.build();
+	}
+
+	/**
+	 * Fills the remaining bytes of buffer from channel
+	 *
+	 * @param channel the channel to read from
+	 * @param buffer  the buffer to fill
+	 * @throws IOException if channel cannot be read or ends before buffer is full
+	 */
+	private static void readFully(ReadableByteChannel channel, ByteBuffer buffer)
+		throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0) {
+				throw new EOFException("Truncated matrix");
+			}
+		}
+	}
+
+	/**
+	 * Checks the magic number, version, element width and element codec of the input header
+	 *
+	 * @param header the header of a matrix
+	 * @param codec  the codec the matrix is read with
+	 * @param source the description of the source of the matrix used in messages
+	 * @throws IOException if header is not the header of a matrix of this version written with
+	 *                     codec
+	 */
+	private static void checkHeader(ByteBuffer header, MappedNavigableMap.Codec<?> codec,
+		String source) throws IOException {
+		if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+			throw new IOException("Not a matrix of version " + VERSION + ": " + source);
+		}
+		int width = header.getInt(16);
+		if (width != codec.width()) {
+			throw new IOException(
+				"The matrix holds values of " + width + " bytes, the codec takes " + codec.width());
+		}
+		int id = header.getInt(32);
+		if (id != codec.id()) {
+			throw new IOException(
+				"The matrix was written with codec " + id + ", it is read with codec " + codec.id());
+		}
+	}
+
+	/**
+	 * Checks that the file holds at least length bytes
+	 *
+	 * @param channel the channel of the file
+	 * @param length  the number of bytes the header announces
+	 * @param path    the file
+	 * @throws IOException if the file is shorter than length
+	 */
+	private static void requireLength(FileChannel channel, long length, Path path)
+		throws IOException {
+		if (channel.size() < length) {
+			throw new IOException("Truncated matrix file: " + path);
+		}
+	}
+
+	@Override
+	public T value(Indexes indexes) {
+		return value(indexes.row(), indexes.column());
+	}
+
+	@Override
+	public T value(int row, int column) {
+		if (row < 0 || row >= rows || column < 0 || column >= columns) {
+			return null;
+		}
+		if (keys == null) {
+			return values.read(codec, (long) row * columns + column);
+		}
+		long key = Indexes.pack(row, column);
+		long low = 0;
+		long high = keys.count - 1;
+		while (low <= high) {
+			long middle = (low + high) >>> 1;
+			long middleKey = keys.buffer(middle).getLong(keys.offset(middle));
+			if (middleKey < key) {
+				low = middle + 1;
+			} else if (middleKey > key) {
+				high = middle - 1;
+			} else {
+				return values.read(codec, middle);
+			}
+		}
+		return defaultValue;
+	}
+
+	@Override
+	public Indexes size() {
+		return new Indexes(rows, columns);
+	}
+
+	@Override
+	public MatrixMap.Layout layout() {
+		return MatrixMap.Layout.MAPPED;
+	}
+
+	@Override
+	public String toString() {
+		return MatrixStorage.render(this);
+	}
+
+	/**
+	 * The DenseBody record holds the dimensions of a dense matrix file and its mapped cells
+	 *
+	 * @param rows    the number of rows of the matrix
+	 * @param columns the number of columns of the matrix
+	 * @param cells   the cells of the matrix in row-major order
+	 */
+	record DenseBody(int rows, int columns, ByteBuffer cells) {
+	}
+
+	/**
+	 * The CellWriter interface writes the bytes of a cell at an offset of a buffer
+	 */
+	@FunctionalInterface
+	private interface CellWriter {
+
+		/**
+		 * Writes the bytes of the cell at offset of target
+		 *
+		 * @param target the buffer to write into
+		 * @param offset the offset of the first byte
+		 */
+		void write(ByteBuffer target, int offset);
+	}
+
+	/**
+	 * Region maps a run of fixed-width cells of a file in chunks that each fit a single
+	 * MappedByteBuffer, so the run may be larger than 2 GB; the mappings stay valid after the file
+	 * is closed
+	 */
+	private static final class Region {
+
+		/**
+		 * The number of cells of the region
+		 */
+		private final long count;
+		/**
+		 * The number of bytes of every cell
+		 */
+		private final int width;
+		/**
+		 * The number of cells of every chunk
+		 */
+		private final int cellsPerChunk;
+		/**
+		 * The mapped chunks in order
+		 */
+		private final ByteBuffer[] chunks;
+
+		/**
+		 * Maps the count cells of width bytes that start at offset of the file
+		 *
+		 * @param channel the channel of the file
+		 * @param offset  the offset of the first cell
+		 * @param count   the number of cells
+		 * @param width   the number of bytes of every cell
+		 * @throws IOException if the file cannot be mapped
+		 */
+		private Region(FileChannel channel, long offset, long count, int width) throws IOException {
+			this.count = count;
+			this.width = width;
+			this.cellsPerChunk = Integer.MAX_VALUE / Math.max(width, 1);
+			this.chunks = new ByteBuffer[(int) ((count + cellsPerChunk - 1) / cellsPerChunk)];
+			for (int i = 0; i < chunks.length; i++) {
+				long first = (long) i * cellsPerChunk;
+				long cells = Math.min(cellsPerChunk, count - first);
+				chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset + first * width,
+					cells * width);
+			}
+		}
+
+		/**
+		 * Returns the chunk that holds the cell at index
+		 *
+		 * @param index the index of the cell
+		 * @return the chunk that holds the cell at index
+		 */
+		private ByteBuffer buffer(long index) {
+			return chunks[(int) (index / cellsPerChunk)];
+		}
+
+		/**
+		 * Returns the offset of the cell at index within its chunk
+		 *
+		 * @param index the index of the cell
+		 * @return the offset of the cell at index within its chunk
+		 */
+		private int offset(long index) {
+			return (int) (index % cellsPerChunk) * width;
+		}
+
+		/**
+		 * Returns the value of the cell at index, decoded by codec
+		 *
+		 * @param codec the codec of the values
+		 * @param index the index of the cell
+		 * @param <S>   the generic type
+		 * @return the value of the cell at index
+		 */
+		private <S> S read(MappedNavigableMap.Codec<S> codec, long index) {
+			return codec.read(buffer(index), offset(index));
+		}
+	}
+}
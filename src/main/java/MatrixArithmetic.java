@@ -0,0 +1,252 @@
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.UnaryOperator;
+
+/**
+ * MatrixArithmetic implements the arithmetic of MatrixMap over a semiring on flat row-major copies
+ * of the operands; multiplication walks the operands in square tiles that fit the cache and can
+ * evaluate blocks of result rows in parallel
+ */
+final class MatrixArithmetic {
+
+	/**
+	 * The side of the square tiles walked by multiply, chosen so that a tile of each operand and of
+	 * the result fit the L1/L2 cache together
+	 */
+	static final int BLOCK = 64;
+
+	private MatrixArithmetic() {
+	}
+
+	/**
+	 * Returns the values of the input storage in row-major order, copied in one ordered scan
+	 * through forEach instead of one lookup per cell
+	 *
+	 * @param storage the input storage
+	 * @return the values of the input storage in row-major order
+	 */
+	private static Object[] cells(MatrixStorage<?> storage) {
+		Indexes size = storage.size();
+		int columns = size.column();
+		Object[] cells = new Object[Math.multiplyExact(size.row(), columns)];
+		storage.forEach(0, size.row(), 0, columns,
+			(row, column, value) -> cells[row * columns + column] = value);
+		return cells;
+	}
+
+	/**
+	 * Returns the storage with the input cells, stored sparsely if one value dominates them
+	 *
+	 * @param rows    the number of rows of the result
+	 * @param columns the number of columns of the result
+	 * @param cells   the values of the result in row-major order
+	 * @param <S>     the generic type
+	 * @return the storage with the input cells
+	 */
+	private static <S> MatrixStorage<S> result(int rows, int columns, Object[] cells) {
+		return SparseMatrixStorage.compact(DenseMatrixStorage.<S>of(rows, columns, cells));
+	}
+
+	/**
+	 * Returns the cell by cell sum of the input storages
+	 *
+	 * @param left     the left operand
+	 * @param right    the right operand
+	 * @param semiring the semiring of the values
+	 * @param <S>      the generic type
+	 * @return the cell by cell sum of the input storages
+	 * @throws IllegalArgumentException if the operands differ in size
+	 */
+	@SuppressWarnings("unchecked")
+	static <S> MatrixStorage<S> add(MatrixStorage<S> left, MatrixStorage<S> right,
+		Semiring<S> semiring) {
+		Indexes size = left.size();
+		if (!size.equals(right.size())) {
+			throw new IllegalArgumentException(
+				"Cannot add a " + describe(size) + " and a " + describe(right.size()) + " matrix");
+		}
+		Object[] cells = cells(left);
+		Object[] other = cells(right);
+		for (int position = 0; position < cells.length; position++) {
+			cells[position] = Objects.requireNonNull(
+				semiring.add((S) cells[position], (S) other[position]));
+		}
+		return result(size.row(), size.column(), cells);
+	}
+
+	/**
+	 * Returns the storage with every value of the input storage mapped by operator
+	 *
+	 * @param storage  the input storage
+	 * @param operator the operator applied to every value
+	 * @param <S>      the generic type
+	 * @return the storage with every value of the input storage mapped by operator
+	 */
+	@SuppressWarnings("unchecked")
+	static <S> MatrixStorage<S> map(MatrixStorage<S> storage, UnaryOperator<S> operator) {
+		Indexes size = storage.size();
+		Object[] cells = cells(storage);
+		for (int position = 0; position < cells.length; position++) {
+			cells[position] = Objects.requireNonNull(operator.apply((S) cells[position]));
+		}
+		return result(size.row(), size.column(), cells);
+	}
+
+	/**
+	 * Returns the transpose of the input storage
+	 *
+	 * @param storage the input storage
+	 * @param <S>     the generic type
+	 * @return the transpose of the input storage
+	 */
+	static <S> MatrixStorage<S> transpose(MatrixStorage<S> storage) {
+		Indexes size = storage.size();
+		int rows = size.column();
+		int columns = size.row();
+		Object[] cells = new Object[Math.multiplyExact(rows, columns)];
+		storage.forEach(0, columns, 0, rows,
+			(row, column, value) -> cells[column * columns + row] = value);
+		return result(rows, columns, cells);
+	}
+
+	/**
+	 * Returns the product of the input storages, with blocks of result rows evaluated on the pool
+	 * of build, or all rows on the calling thread if build is null
+	 *
+	 * @param left     the left operand
+	 * @param right    the right operand
+	 * @param semiring the semiring of the values
+	 * @param build    the pool and threshold of the parallel evaluation, or null
+	 * @param <S>      the generic type
+	 * @return the product of the input storages
+	 * @throws IllegalArgumentException if the number of columns of left differs from the number of
+	 *                                  rows of right
+	 */
+	static <S> MatrixStorage<S> multiply(MatrixStorage<S> left, MatrixStorage<S> right,
+		Semiring<S> semiring, MatrixMap.ParallelBuild build) {
+		Indexes leftSize = left.size();
+		Indexes rightSize = right.size();
+		if (leftSize.column() != rightSize.row()) {
+			throw new IllegalArgumentException("Cannot multiply a " + describe(leftSize) + " by a "
+				+ describe(rightSize) + " matrix");
+		}
+		Product<S> product = new Product<>(cells(left), cells(right), leftSize.row(),
+			leftSize.column(), rightSize.column(), semiring);
+		if (build == null || (long) product.rows * product.columns <= build.threshold()) {
+			product.multiplyRows(0, product.rows);
+		} else {
+			build.pool().invoke(new RowBlock<>(product, build.threshold(), 0, product.rows));
+		}
+		return result(product.rows, product.columns, product.cells);
+	}
+
+	/**
+	 * Returns the description of the input size as rows x columns
+	 *
+	 * @param size the input size
+	 * @return the description of the input size as rows x columns
+	 */
+	private static String describe(Indexes size) {
+		return size.row() + "x" + size.column();
+	}
+
+	/**
+	 * Product holds the operands and the result of a multiplication
+	 *
+	 * @param <S> the type of the values
+	 */
+	private static final class Product<S> {
+
+		private final Object[] left;
+		private final Object[] right;
+		private final int rows;
+		private final int inner;
+		private final int columns;
+		private final Semiring<S> semiring;
+		private final Object[] cells;
+
+		private Product(Object[] left, Object[] right, int rows, int inner, int columns,
+			Semiring<S> semiring) {
+			this.left = left;
+			this.right = right;
+			this.rows = rows;
+			this.inner = inner;
+			this.columns = columns;
+			this.semiring = semiring;
+			this.cells = new Object[Math.multiplyExact(rows, columns)];
+		}
+
+		/**
+		 * Computes the result rows from fromRow to toRow, tile by tile; when the zero of the semiring
+		 * annihilates, the left factors that are zero are skipped, since their products add nothing
+		 *
+		 * @param fromRow the first row to compute
+		 * @param toRow   the row after the last row to compute
+		 */
+		@SuppressWarnings("unchecked")
+		private void multiplyRows(int fromRow, int toRow) {
+			S zero = semiring.zero();
+			boolean skipZeros = semiring.zeroAnnihilates();
+			Arrays.fill(cells, fromRow * columns, toRow * columns, zero);
+			for (int rowBlock = fromRow; rowBlock < toRow; rowBlock += BLOCK) {
+				int rowEnd = Math.min(rowBlock + BLOCK, toRow);
+				for (int innerBlock = 0; innerBlock < inner; innerBlock += BLOCK) {
+					int innerEnd = Math.min(innerBlock + BLOCK, inner);
+					for (int columnBlock = 0; columnBlock < columns; columnBlock += BLOCK) {
+						int columnEnd = Math.min(columnBlock + BLOCK, columns);
+						for (int i = rowBlock; i < rowEnd; i++) {
+							int resultRow = i * columns;
+							for (int p = innerBlock; p < innerEnd; p++) {
+								S factor = (S) left[i * inner + p];
+								if (skipZeros && factor.equals(zero)) {
+									continue;
+								}
+								int rightRow = p * columns;
+								for (int j = columnBlock; j < columnEnd; j++) {
+									cells[resultRow + j] = semiring.add((S) cells[resultRow + j],
+										semiring.multiply(factor, (S) right[rightRow + j]));
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * RowBlock computes a block of result rows, splitting it in halves while it holds more result
+	 * cells than the threshold
+	 *
+	 * @param <S> the type of the values
+	 */
+	private static final class RowBlock<S> extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Product<S> product;
+		private final int threshold;
+		private final int fromRow;
+		private final int toRow;
+
+		private RowBlock(Product<S> product, int threshold, int fromRow, int toRow) {
+			this.product = product;
+			this.threshold = threshold;
+			this.fromRow = fromRow;
+			this.toRow = toRow;
+		}
+
+		@Override
+		protected void compute() {
+			int blockRows = toRow - fromRow;
+			if (blockRows <= 1 || (long) blockRows * product.columns <= threshold) {
+				product.multiplyRows(fromRow, toRow);
+				return;
+			}
+			int middle = fromRow + blockRows / 2;
+			invokeAll(new RowBlock<>(product, threshold, fromRow, middle),
+				new RowBlock<>(product, threshold, middle, toRow));
+		}
+	}
+}
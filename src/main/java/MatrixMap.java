@@ -1,6 +1,20 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
+import roamingcollection.MappedNavigableMap;
 import roamingcollection.RoamingMap;
 
 // May contain bug(s)
@@ -9,20 +23,21 @@ public final class MatrixMap<T> {
 	/**
 	 * The matrix for this MatrixMap instance
 	 */
-	private final RoamingMap<Indexes, T> matrix;
+	private final MatrixStorage<T> matrix;
 
 	/**
 	 * Initializes with the input matrix
 	 *
 	 * @param matrix the matrix used to initialize
 	 */
-	private MatrixMap(RoamingMap<Indexes, T> matrix) {
+	private MatrixMap(MatrixStorage<T> matrix) {
 		this.matrix = matrix;
 	}
 
 	/**
 	 * Returns the MatrixMap instance with matrix that has size of rows x columns and values
-	 * determined by valueMapper
+	 * determined by valueMapper; the matrix is stored sparsely if one value dominates it, densely
+	 * otherwise
 	 *
 	 * @param rows        the number of rows in the matrix
 	 * @param columns     the number of columns in the matrix
@@ -33,8 +48,54 @@ public final class MatrixMap<T> {
 	 */
 	public static <S> MatrixMap<S> instance(int rows, int columns, Function<Indexes, S> valueMapper) {
 		Objects.requireNonNull(valueMapper);
-		RoamingMap<Indexes, S> matrix = buildMatrix(rows, columns, valueMapper);
-		return new MatrixMap<>(matrix);
+		DenseMatrixStorage<S> dense = (DenseMatrixStorage<S>) buildMatrix(rows, columns, valueMapper,
+			Layout.DENSE);
+		return new MatrixMap<>(SparseMatrixStorage.compact(dense));
+	}
+
+	/**
+	 * Returns the MatrixMap instance with matrix that has size of rows x columns, values determined
+	 * by valueMapper and stored with the input layout
+	 *
+	 * @param rows        the number of rows in the matrix
+	 * @param columns     the number of columns in the matrix
+	 * @param valueMapper the function that maps the indexes to the corresponding value
+	 * @param layout      the layout used to store the values
+	 * @param <S>         the generic type
+	 * @return the MatrixMap instance with matrix that has size of rows x columns, values determined
+	 * by valueMapper and stored with the input layout
+	 * @throws IllegalArgumentException if layout is MAPPED, which only map creates
+	 */
+	public static <S> MatrixMap<S> instance(int rows, int columns, Function<Indexes, S> valueMapper,
+		Layout layout) {
+		Objects.requireNonNull(valueMapper);
+		Objects.requireNonNull(layout);
+		return new MatrixMap<>(buildMatrix(rows, columns, valueMapper, layout));
+	}
+
+	/**
+	 * Returns the MatrixMap instance with matrix that has size of rows x columns and values
+	 * determined by valueMapper, evaluated in parallel row blocks on the pool of build; the result is
+	 * the same as the one of the sequential instance
+	 *
+	 * @param rows        the number of rows in the matrix
+	 * @param columns     the number of columns in the matrix
+	 * @param valueMapper the function that maps the indexes to the corresponding value, which must
+	 *                    be safe to call from several threads
+	 * @param build       the pool and threshold of the parallel build
+	 * @param <S>         the generic type
+	 * @return the MatrixMap instance with matrix that has size of rows x columns and values
+	 * determined by valueMapper
+	 */
+	public static <S> MatrixMap<S> instance(int rows, int columns, Function<Indexes, S> valueMapper,
+		ParallelBuild build) {
+		Objects.requireNonNull(valueMapper);
+		Objects.requireNonNull(build);
+		int rowsNumber = InvalidLengthException.requireNonEmpty(InvalidLengthException.Cause.ROW, rows);
+		int columnsNumber = InvalidLengthException.requireNonEmpty(InvalidLengthException.Cause.COLUMN,
+			columns);
+		return new MatrixMap<>(SparseMatrixStorage.compact(
+			DenseMatrixStorage.build(rowsNumber, columnsNumber, valueMapper, build)));
 	}
 
 	/**
@@ -50,9 +111,44 @@ public final class MatrixMap<T> {
 	 */
 	public static <S> MatrixMap<S> instance(Indexes size, Function<Indexes, S> valueMapper) {
 		Objects.requireNonNull(size);
+		return instance(size.row(), size.column(), valueMapper);
+	}
+
+	/**
+	 * Returns the MatrixMap instance with matrix that has size of rows x columns and values computed
+	 * by valueMapper only when they are read
+	 *
+	 * @param rows        the number of rows in the matrix
+	 * @param columns     the number of columns in the matrix
+	 * @param valueMapper the function that maps the indexes to the corresponding value
+	 * @param <S>         the generic type
+	 * @return the MatrixMap instance with matrix that has size of rows x columns and values computed
+	 * by valueMapper only when they are read
+	 */
+	public static <S> MatrixMap<S> lazy(int rows, int columns, Function<Indexes, S> valueMapper) {
+		return lazy(rows, columns, valueMapper, false);
+	}
+
+	/**
+	 * Returns the MatrixMap instance with matrix that has size of rows x columns and values computed
+	 * by valueMapper only when they are read; if memoize is true, every value is computed at most
+	 * once
+	 *
+	 * @param rows        the number of rows in the matrix
+	 * @param columns     the number of columns in the matrix
+	 * @param valueMapper the function that maps the indexes to the corresponding value
+	 * @param memoize     true if computed values are remembered, false otherwise
+	 * @param <S>         the generic type
+	 * @return the MatrixMap instance with matrix that has size of rows x columns and values computed
+	 * by valueMapper only when they are read
+	 */
+	public static <S> MatrixMap<S> lazy(int rows, int columns, Function<Indexes, S> valueMapper,
+		boolean memoize) {
 		Objects.requireNonNull(valueMapper);
-		RoamingMap<Indexes, S> matrix = buildMatrix(size.row(), size.column(), valueMapper);
-		return new MatrixMap<>(matrix);
+		int rowsNumber = InvalidLengthException.requireNonEmpty(InvalidLengthException.Cause.ROW, rows);
+		int columnsNumber = InvalidLengthException.requireNonEmpty(InvalidLengthException.Cause.COLUMN,
+			columns);
+		return new MatrixMap<>(new LazyMatrixStorage<>(rowsNumber, columnsNumber, valueMapper, memoize));
 	}
 
 	/**
@@ -66,8 +162,7 @@ public final class MatrixMap<T> {
 	 * being the input value
 	 */
 	public static <S> MatrixMap<S> constant(int size, S value) {
-		Objects.requireNonNull(value);
-		return instance(size, size, indexes -> value);
+		return sparse(size, size, value, Map.of());
 	}
 
 	/**
@@ -82,9 +177,53 @@ public final class MatrixMap<T> {
 	 * diagonal indexes as identity, all other values as zero
 	 */
 	public static <S> MatrixMap<S> identity(int size, S zero, S identity) {
-		Objects.requireNonNull(zero);
 		Objects.requireNonNull(identity);
-		return instance(size, size, indexes -> (!indexes.areDiagonal() ? identity : zero));
+		int sizeNumber = InvalidLengthException.requireNonEmpty(InvalidLengthException.Cause.ROW, size);
+		Map<Indexes, S> diagonal = new TreeMap<>();
+		for (int i = 0; i < sizeNumber; i++) {
+			diagonal.put(new Indexes(i, i), identity);
+		}
+		return sparse(sizeNumber, sizeNumber, zero, diagonal);
+	}
+
+	/**
+	 * Returns the Matrix instance with matrix that has size defined by input size, all values in
+	 * diagonal indexes as the identity of semiring, all other values as its zero
+	 *
+	 * @param size     the size to define the matrix's size
+	 * @param semiring the semiring whose identities fill the matrix
+	 * @param <S>      the generic type
+	 * @return the Matrix instance with matrix that has size defined by input size, all values in
+	 * diagonal indexes as the identity of semiring, all other values as its zero
+	 */
+	public static <S> MatrixMap<S> identity(int size, Semiring<S> semiring) {
+		Objects.requireNonNull(semiring);
+		return identity(size, semiring.zero(), semiring.identity());
+	}
+
+	/**
+	 * Returns the MatrixMap instance with matrix that has size of rows x columns, the input values
+	 * at their indexes and defaultValue everywhere else; only the cells that differ from
+	 * defaultValue are stored
+	 *
+	 * @param rows         the number of rows in the matrix
+	 * @param columns      the number of columns in the matrix
+	 * @param defaultValue the value of every cell that is not in values
+	 * @param values       the values of the other cells
+	 * @param <S>          the generic type
+	 * @return the MatrixMap instance with matrix that has size of rows x columns, the input values
+	 * at their indexes and defaultValue everywhere else
+	 * @throws IndexOutOfBoundsException if some indexes of values are outside the matrix
+	 */
+	public static <S> MatrixMap<S> sparse(int rows, int columns, S defaultValue,
+		Map<Indexes, ? extends S> values) {
+		Objects.requireNonNull(defaultValue);
+		Objects.requireNonNull(values);
+		int rowsNumber = InvalidLengthException.requireNonEmpty(InvalidLengthException.Cause.ROW, rows);
+		int columnsNumber = InvalidLengthException.requireNonEmpty(InvalidLengthException.Cause.COLUMN,
+			columns);
+		return new MatrixMap<>(SparseMatrixStorage.of(rowsNumber, columnsNumber, defaultValue,
+			new TreeMap<>(values)));
 	}
 
 	/**
@@ -94,37 +233,169 @@ public final class MatrixMap<T> {
 	 *               corresponding values
 	 * @param <S>    the generic type
 	 * @return MatrixMap instance with matrix that has corresponding values in input matrix
+	 * @throws IllegalArgumentException if the input matrix is empty or its rows differ in length
 	 */
 	public static <S> MatrixMap<S> from(S[][] matrix) {
 		Objects.requireNonNull(matrix);
-		int columns = InvalidLengthException.requireNonEmpty(InvalidLengthException.Cause.COLUMN,
-			matrix.length);
 		int rows = InvalidLengthException.requireNonEmpty(InvalidLengthException.Cause.ROW,
+			matrix.length);
+		int columns = InvalidLengthException.requireNonEmpty(InvalidLengthException.Cause.COLUMN,
 			matrix[0].length);
+		for (S[] row : matrix) {
+			if (row.length != columns) {
+				throw new IllegalArgumentException(
+					new InvalidLengthException(InvalidLengthException.Cause.COLUMN, row.length));
+			}
+		}
 		return instance(rows, columns, indexes -> indexes.value(matrix));
 	}
 
+	/**
+	 * Returns MatrixMap instance with the rows of the input iterator, consumed one at a time; every
+	 * row is copied when it is consumed, so the iterator may reuse one array for all rows
+	 *
+	 * @param rows the iterator over the rows of the matrix
+	 * @param <S>  the generic type
+	 * @return MatrixMap instance with the rows of the input iterator
+	 * @throws IllegalArgumentException if there is no row, or some row is empty or differs in length
+	 *                                  from the first one
+	 * @throws NullPointerException     if some value is null
+	 */
+	public static <S> MatrixMap<S> fromRows(Iterator<? extends S[]> rows) {
+		Objects.requireNonNull(rows);
+		RowMatrixStorage.Appender<S> appender = new RowMatrixStorage.Appender<>();
+		while (rows.hasNext()) {
+			S[] row = rows.next();
+			appender.append(Arrays.copyOf(row, row.length, Object[].class));
+		}
+		return new MatrixMap<>(appender.build());
+	}
+
+	/**
+	 * Returns MatrixMap instance with the rows read from the UTF-8 comma-separated input, one line
+	 * per row, each field converted by parser; blank lines are skipped and input is not closed
+	 *
+	 * @param input  the comma-separated rows of the matrix
+	 * @param parser the function that converts a field to the corresponding value
+	 * @param <S>    the generic type
+	 * @return MatrixMap instance with the rows read from the input
+	 * @throws IOException              if input cannot be read
+	 * @throws IllegalArgumentException if there is no row, or some row differs in length from the
+	 *                                  first one
+	 * @throws NullPointerException     if parser maps some field to null
+	 */
+	public static <S> MatrixMap<S> fromCsv(InputStream input, Function<String, ? extends S> parser)
+		throws IOException {
+		Objects.requireNonNull(input);
+		Objects.requireNonNull(parser);
+		BufferedReader reader = new BufferedReader(
+			new InputStreamReader(input, StandardCharsets.UTF_8));
+		RowMatrixStorage.Appender<S> appender = new RowMatrixStorage.Appender<>();
+		List<String> fields = new ArrayList<>();
+		for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+			if (line.isBlank()) {
+				continue;
+			}
+			fields.clear();
+			int start = 0;
+			for (int comma = line.indexOf(','); comma >= 0; comma = line.indexOf(',', start)) {
+				fields.add(line.substring(start, comma));
+				start = comma + 1;
+			}
+			fields.add(line.substring(start));
+			Object[] row = new Object[fields.size()];
+			for (int j = 0; j < row.length; j++) {
+				row[j] = parser.apply(fields.get(j));
+			}
+			appender.append(row);
+		}
+		return new MatrixMap<>(appender.build());
+	}
+
+	/**
+	 * Returns MatrixMap instance with the rows of the dense matrix that save wrote, read from the
+	 * input channel one row at a time; channel is not closed
+	 *
+	 * @param channel the channel positioned at the start of the matrix
+	 * @param codec   the codec the matrix was written with
+	 * @param <S>     the generic type
+	 * @return MatrixMap instance with the rows read from the channel
+	 * @throws IOException if channel cannot be read, does not hold a dense matrix, or the matrix was
+	 *                     written with another codec
+	 */
+	public static <S> MatrixMap<S> fromChannel(ReadableByteChannel channel,
+		MappedNavigableMap.Codec<S> codec) throws IOException {
+		Objects.requireNonNull(channel);
+		Objects.requireNonNull(codec);
+		return new MatrixMap<>(MappedMatrixStorage.readRows(channel, codec));
+	}
+
+	/**
+	 * Returns the MatrixMap instance that reads its values straight from the matrix file at path
+	 * written by save; only the header is read, so mapping takes the same time for any matrix size
+	 *
+	 * @param path  the matrix file written by save
+	 * @param codec the codec the file was written with
+	 * @param <S>   the generic type
+	 * @return the MatrixMap instance that reads its values from the matrix file at path
+	 * @throws IOException if the file cannot be mapped, is not a matrix file, or was written with
+	 *                     another codec
+	 */
+	public static <S> MatrixMap<S> map(Path path, MappedNavigableMap.Codec<S> codec)
+		throws IOException {
+		Objects.requireNonNull(path);
+		Objects.requireNonNull(codec);
+		return new MatrixMap<>(MappedMatrixStorage.map(path, codec));
+	}
+
 	/**
 	 * Builds and returns the matrix with rows and columns as number of rows and number of columns
-	 * respectively and values determined by valueMapper
+	 * respectively, values determined by valueMapper and stored with the input layout
 	 *
 	 * @param rows        the number of rows of the matrix
 	 * @param columns     the number of columns of the matrix
 	 * @param valueMapper the function that maps the indexes to the corresponding value
+	 * @param layout      the layout used to store the values
 	 * @param <S>         the generic type
-	 * @return the matrix with rows and columns as number of rows and number of columns respectively
-	 * and values determined by valueMapper
+	 * @return the matrix with rows and columns as number of rows and number of columns respectively,
+	 * values determined by valueMapper and stored with the input layout
 	 */
-	private static <S> RoamingMap<Indexes, S> buildMatrix(int rows, int columns,
-		Function<Indexes, S> valueMapper) {
+	private static <S> MatrixStorage<S> buildMatrix(int rows, int columns,
+		Function<Indexes, S> valueMapper, Layout layout) {
 		int rowsNumber = InvalidLengthException.requireNonEmpty(InvalidLengthException.Cause.ROW, rows);
 		int columnsNumber = InvalidLengthException.requireNonEmpty(InvalidLengthException.Cause.COLUMN,
 			columns);
+		return switch (layout) {
+			case DENSE -> DenseMatrixStorage.build(rowsNumber, columnsNumber, valueMapper);
+			case LAZY -> new LazyMatrixStorage<>(rowsNumber, columnsNumber, valueMapper, false);
+			case PACKED -> PackedMatrixStorage.build(rowsNumber, columnsNumber, valueMapper);
+			case SPARSE -> SparseMatrixStorage.from(
+				DenseMatrixStorage.build(rowsNumber, columnsNumber, valueMapper));
+			case MAP -> new MapMatrixStorage<>(buildRoamingMap(rowsNumber, columnsNumber, valueMapper),
+				rowsNumber, columnsNumber);
+			case MAPPED -> throw new IllegalArgumentException("MAPPED matrices are created by map");
+		};
+	}
+
+	/**
+	 * Builds and returns the RoamingMap with rows and columns as number of rows and number of columns
+	 * respectively and values determined by valueMapper
+	 *
+	 * @param rowsNumber    the number of rows of the matrix
+	 * @param columnsNumber the number of columns of the matrix
+	 * @param valueMapper   the function that maps the indexes to the corresponding value
+	 * @param <S>           the generic type
+	 * @return the RoamingMap with rows and columns as number of rows and number of columns
+	 * respectively and values determined by valueMapper
+	 */
+	private static <S> RoamingMap<Indexes, S> buildRoamingMap(int rowsNumber, int columnsNumber,
+		Function<Indexes, S> valueMapper) {
 		RoamingMap<Indexes, S> matrix = new RoamingMap<>();
-		Indexes.stream(rowsNumber - 2, columnsNumber - 2).forEach(indexes -> {
-			S value = valueMapper.apply(indexes);
-			Barricade.putWithStateVar(matrix, indexes, value);
-		});
+		Barricade.track(matrix);
+		Map<Indexes, S> cells = new TreeMap<>();
+		Indexes.stream(rowsNumber - 1, columnsNumber - 1)
+			.forEach(indexes -> cells.put(indexes, valueMapper.apply(indexes)));
+		Barricade.putAllWithStateVar(matrix, cells);
 		return matrix;
 	}
 
@@ -136,13 +407,204 @@ public final class MatrixMap<T> {
 	 * respectively
 	 */
 	public Indexes size() {
-		Iterator<Indexes> iterator = Barricade.correctKeySet(matrix).iterator();
-		Indexes size = iterator.next();
-		while (iterator.hasNext()) {
-			Indexes currentIndex = iterator.next();
-			size = (size.compareTo(currentIndex) < 0) ? iterator.next() : currentIndex;
+		return matrix.size();
+	}
+
+	/**
+	 * Returns the MatrixMap instance with the same values as this matrix, computed once and stored;
+	 * returns this matrix if its values are already stored
+	 *
+	 * @return the MatrixMap instance with the same values as this matrix, computed once and stored
+	 */
+	public MatrixMap<T> materialize() {
+		if (matrix.layout() != Layout.LAZY) {
+			return this;
 		}
-		return new Indexes(size.row() + 1, size.column() + 1);
+		Indexes size = matrix.size();
+		return instance(size.row(), size.column(), matrix::value);
+	}
+
+	/**
+	 * Writes the matrix to the file at path in the binary matrix format read by map; matrices
+	 * stored sparsely or packed are written sparsely and all others densely
+	 *
+	 * @param path  the file to write
+	 * @param codec the codec used to write the values
+	 * @throws IOException if the file cannot be written
+	 */
+	public void save(Path path, MappedNavigableMap.Codec<? super T> codec) throws IOException {
+		Objects.requireNonNull(path);
+		Objects.requireNonNull(codec);
+		MappedMatrixStorage.save(path, matrix, codec);
+	}
+
+	/**
+	 * Returns the MatrixMap instance with the cell by cell sum of this matrix and other
+	 *
+	 * @param other    the matrix added to this matrix
+	 * @param semiring the semiring of the values
+	 * @return the MatrixMap instance with the cell by cell sum of this matrix and other
+	 * @throws IllegalArgumentException if the matrices differ in size
+	 */
+	public MatrixMap<T> add(MatrixMap<T> other, Semiring<T> semiring) {
+		Objects.requireNonNull(other);
+		Objects.requireNonNull(semiring);
+		return new MatrixMap<>(MatrixArithmetic.add(matrix, other.matrix, semiring));
+	}
+
+	/**
+	 * Returns the MatrixMap instance with the product of this matrix and other, computed over
+	 * cache-sized tiles on the calling thread
+	 *
+	 * @param other    the matrix this matrix is multiplied by
+	 * @param semiring the semiring of the values
+	 * @return the MatrixMap instance with the product of this matrix and other
+	 * @throws IllegalArgumentException if the number of columns of this matrix differs from the
+	 *                                  number of rows of other
+	 */
+	public MatrixMap<T> multiply(MatrixMap<T> other, Semiring<T> semiring) {
+		Objects.requireNonNull(other);
+		Objects.requireNonNull(semiring);
+		return new MatrixMap<>(MatrixArithmetic.multiply(matrix, other.matrix, semiring, null));
+	}
+
+	/**
+	 * Returns the MatrixMap instance with the product of this matrix and other, computed over
+	 * cache-sized tiles with blocks of result rows evaluated in parallel on the pool of build; the
+	 * result is the same as the one of the sequential multiply
+	 *
+	 * @param other    the matrix this matrix is multiplied by
+	 * @param semiring the semiring of the values, whose operations must be safe to call from
+	 *                 several threads
+	 * @param build    the pool and the largest number of result cells computed by a single task
+	 * @return the MatrixMap instance with the product of this matrix and other
+	 * @throws IllegalArgumentException if the number of columns of this matrix differs from the
+	 *                                  number of rows of other
+	 */
+	public MatrixMap<T> multiply(MatrixMap<T> other, Semiring<T> semiring, ParallelBuild build) {
+		Objects.requireNonNull(other);
+		Objects.requireNonNull(semiring);
+		Objects.requireNonNull(build);
+		return new MatrixMap<>(MatrixArithmetic.multiply(matrix, other.matrix, semiring, build));
+	}
+
+	/**
+	 * Returns the MatrixMap instance with every value of this matrix multiplied by scalar on the
+	 * left
+	 *
+	 * @param scalar   the value every value is multiplied by
+	 * @param semiring the semiring of the values
+	 * @return the MatrixMap instance with every value of this matrix multiplied by scalar
+	 */
+	public MatrixMap<T> scale(T scalar, Semiring<T> semiring) {
+		Objects.requireNonNull(scalar);
+		Objects.requireNonNull(semiring);
+		return new MatrixMap<>(MatrixArithmetic.map(matrix,
+			value -> semiring.multiply(scalar, value)));
+	}
+
+	/**
+	 * Returns the MatrixMap instance with the transpose of this matrix
+	 *
+	 * @return the MatrixMap instance with the transpose of this matrix
+	 */
+	public MatrixMap<T> transpose() {
+		return new MatrixMap<>(MatrixArithmetic.transpose(matrix));
+	}
+
+	/**
+	 * Returns the MatrixMap instance that shows the input row of this matrix as a 1 x columns
+	 * matrix, without copying it
+	 *
+	 * @param row the row of this matrix
+	 * @return the MatrixMap instance that shows the input row of this matrix
+	 * @throws IndexOutOfBoundsException if row is outside the matrix
+	 */
+	public MatrixMap<T> row(int row) {
+		return rows(row, row + 1);
+	}
+
+	/**
+	 * Returns the MatrixMap instance that shows the rows of this matrix from fromRow, inclusive, to
+	 * toRow, exclusive, without copying them
+	 *
+	 * @param fromRow the first row of the view
+	 * @param toRow   the row after the last row of the view
+	 * @return the MatrixMap instance that shows the rows of this matrix from fromRow to toRow
+	 * @throws IndexOutOfBoundsException if the rows are outside the matrix or toRow is smaller than
+	 *                                   fromRow
+	 * @throws IllegalArgumentException  if fromRow equals toRow, caused by InvalidLengthException
+	 *                                   with ROW
+	 */
+	public MatrixMap<T> rows(int fromRow, int toRow) {
+		Indexes size = matrix.size();
+		Objects.checkFromToIndex(fromRow, toRow, size.row());
+		InvalidLengthException.requireNonEmpty(InvalidLengthException.Cause.ROW, toRow - fromRow);
+		return new MatrixMap<>(
+			ViewMatrixStorage.of(matrix, fromRow, 0, toRow - fromRow, size.column()));
+	}
+
+	/**
+	 * Returns the MatrixMap instance that shows the input column of this matrix as a rows x 1
+	 * matrix, without copying it; every value of the view is one row of the underlying storage
+	 * away from the previous one
+	 *
+	 * @param column the column of this matrix
+	 * @return the MatrixMap instance that shows the input column of this matrix
+	 * @throws IndexOutOfBoundsException if column is outside the matrix
+	 */
+	public MatrixMap<T> column(int column) {
+		Indexes size = matrix.size();
+		Objects.checkIndex(column, size.column());
+		return new MatrixMap<>(ViewMatrixStorage.of(matrix, 0, column, size.row(), 1));
+	}
+
+	/**
+	 * Returns the MatrixMap instance that shows the block of this matrix with corners from and to,
+	 * both inclusive as in Indexes.stream, without copying it
+	 *
+	 * @param from the top left corner of the block
+	 * @param to   the bottom right corner of the block
+	 * @return the MatrixMap instance that shows the block of this matrix with corners from and to
+	 * @throws IndexOutOfBoundsException if a corner is outside the matrix
+	 * @throws IllegalArgumentException  if to is above or left of from, caused by
+	 *                                   InvalidLengthException with ROW or COLUMN
+	 */
+	public MatrixMap<T> submatrix(Indexes from, Indexes to) {
+		Objects.requireNonNull(from);
+		Objects.requireNonNull(to);
+		Indexes size = matrix.size();
+		Objects.checkIndex(from.row(), size.row());
+		Objects.checkIndex(from.column(), size.column());
+		Objects.checkIndex(to.row(), size.row());
+		Objects.checkIndex(to.column(), size.column());
+		int rows = InvalidLengthException.requireNonEmpty(InvalidLengthException.Cause.ROW,
+			to.row() - from.row() + 1);
+		int columns = InvalidLengthException.requireNonEmpty(InvalidLengthException.Cause.COLUMN,
+			to.column() - from.column() + 1);
+		return new MatrixMap<>(
+			ViewMatrixStorage.of(matrix, from.row(), from.column(), rows, columns));
+	}
+
+	/**
+	 * Performs the action for every cell of the matrix in row-major order; every row is read in a
+	 * single ordered pass over the storage, so a row scan makes no lookup per cell
+	 *
+	 * @param action the action performed for the row, column and value of every cell
+	 */
+	public void forEach(ValueConsumer<? super T> action) {
+		Objects.requireNonNull(action);
+		Indexes size = matrix.size();
+		matrix.forEach(0, size.row(), 0, size.column(), action);
+	}
+
+	/**
+	 * Returns the layout used to store the values of the matrix
+	 *
+	 * @return the layout used to store the values of the matrix
+	 */
+	public Layout layout() {
+		return matrix.layout();
 	}
 
 	/**
@@ -152,7 +614,56 @@ public final class MatrixMap<T> {
 	 */
 	@Override
 	public String toString() {
-		return Barricade.correctStringRepresentation(matrix);
+		return matrix.toString();
+	}
+
+	/**
+	 * Writes the String representation of the matrix to out row by row, without building it as a
+	 * single String
+	 *
+	 * @param out the destination of the text
+	 * @throws IOException if out fails to append
+	 */
+	public void writeTo(Appendable out) throws IOException {
+		Objects.requireNonNull(out);
+		MatrixWriter.writeEntries(matrix, out, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Writes the String representation of the first cellLimit cells of the matrix to out, in
+	 * row-major order, followed by ... if some cells are left out; the cells left out are never
+	 * read
+	 *
+	 * @param out       the destination of the text
+	 * @param cellLimit the largest number of cells written
+	 * @throws IOException              if out fails to append
+	 * @throws IllegalArgumentException if cellLimit is not positive
+	 */
+	public void writeTo(Appendable out, long cellLimit) throws IOException {
+		Objects.requireNonNull(out);
+		if (cellLimit <= 0) {
+			throw new IllegalArgumentException("cellLimit must be positive");
+		}
+		MatrixWriter.writeEntries(matrix, out, cellLimit);
+	}
+
+	/**
+	 * Writes the matrix to out as a grid with one line per row and right-aligned columns, showing at
+	 * most rowLimit rows and columnLimit columns; the rows and columns left out are replaced by ...
+	 * and never read
+	 *
+	 * @param out         the destination of the text
+	 * @param rowLimit    the largest number of rows written
+	 * @param columnLimit the largest number of columns written
+	 * @throws IOException              if out fails to append
+	 * @throws IllegalArgumentException if rowLimit or columnLimit is not positive
+	 */
+	public void writeGrid(Appendable out, int rowLimit, int columnLimit) throws IOException {
+		Objects.requireNonNull(out);
+		if (rowLimit <= 0 || columnLimit <= 0) {
+			throw new IllegalArgumentException("rowLimit and columnLimit must be positive");
+		}
+		MatrixWriter.writeGrid(matrix, out, rowLimit, columnLimit);
 	}
 
 	/**
@@ -163,7 +674,7 @@ public final class MatrixMap<T> {
 	 */
 	public T value(Indexes indexes) {
 		Objects.requireNonNull(indexes);
-		return Barricade.getWithStateVar(matrix, indexes).value();
+		return matrix.value(indexes);
 	}
 
 	/**
@@ -174,7 +685,98 @@ public final class MatrixMap<T> {
 	 * @return the value corresponding to the indexes with input row and column
 	 */
 	public T value(int row, int column) {
-		return value(new Indexes(row, column));
+		return matrix.value(row, column);
+	}
+
+	/**
+	 * The ValueConsumer interface accepts the row, column and value of a cell
+	 *
+	 * @param <T> the type of the values
+	 */
+	@FunctionalInterface
+	public interface ValueConsumer<T> {
+
+		/**
+		 * Performs this operation on the row, column and value of a cell
+		 *
+		 * @param row    the row of the cell
+		 * @param column the column of the cell
+		 * @param value  the value of the cell
+		 */
+		void accept(int row, int column, T value);
+	}
+
+	/**
+	 * The Enum Layout with the ways the values of a matrix can be stored
+	 */
+	public enum Layout {
+		/**
+		 * Values are stored in a flat row-major array; used for matrices without a dominant value
+		 */
+		DENSE,
+		/**
+		 * Only the values that differ from an implicit default value are stored, in compressed
+		 * sparse row form; used for matrices dominated by a single value
+		 */
+		SPARSE,
+		/**
+		 * No value is stored; every value is computed by the value mapper when it is read
+		 */
+		LAZY,
+		/**
+		 * Only the values that differ from an implicit default value are stored, as for SPARSE, but
+		 * under packed long indexes in a sorted primitive-keyed map instead of compressed rows, so
+		 * lookups neither allocate Indexes nor dispatch compareTo and no memory is spent per row
+		 */
+		PACKED,
+		/**
+		 * Values are stored as Indexes to value entries of a RoamingMap checked through Barricade
+		 */
+		MAP,
+		/**
+		 * Values are read from a memory-mapped matrix file written by save and decoded only when
+		 * they are read
+		 */
+		MAPPED
+	}
+
+	/**
+	 * The ParallelBuild record holds the pool on which a matrix is built in parallel and the largest
+	 * number of cells that a single task evaluates
+	 *
+	 * @param pool      the pool on which the row blocks are evaluated
+	 * @param threshold the largest number of cells evaluated by a single task
+	 */
+	public record ParallelBuild(ForkJoinPool pool, int threshold) {
+
+		/**
+		 * The threshold used by common
+		 */
+		public static final int DEFAULT_THRESHOLD = 1024;
+
+		/**
+		 * Initializes with input pool and threshold
+		 *
+		 * @param pool      the pool on which the row blocks are evaluated
+		 * @param threshold the largest number of cells evaluated by a single task
+		 * @throws NullPointerException     if pool is null
+		 * @throws IllegalArgumentException if threshold is not positive
+		 */
+		public ParallelBuild {
+			Objects.requireNonNull(pool);
+			if (threshold <= 0) {
+				throw new IllegalArgumentException("threshold must be positive");
+			}
+		}
+
+		/**
+		 * Returns the ParallelBuild on the common pool with DEFAULT_THRESHOLD
+		 *
+		 * @return the ParallelBuild on the common pool with DEFAULT_THRESHOLD
+		 */
+		public static ParallelBuild common() {
+			return new ParallelBuild(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+		}
 	}
 
 	/**
@@ -0,0 +1,83 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * MatrixStorage is the storage engine behind a MatrixMap
+ *
+ * @param <T> the type of the values
+ */
+interface MatrixStorage<T> {
+
+	/**
+	 * Returns the value corresponding to the input indexes
+	 *
+	 * @param indexes the input indexes
+	 * @return the value corresponding to the input indexes, or null if there is none
+	 */
+	T value(Indexes indexes);
+
+	/**
+	 * Returns the value corresponding to the indexes with input row and column
+	 *
+	 * @param row    the row of the indexes
+	 * @param column the column of the indexes
+	 * @return the value corresponding to the indexes with input row and column, or null if there is
+	 * none
+	 */
+	default T value(int row, int column) {
+		return value(Indexes.of(row, column));
+	}
+
+	/**
+	 * Returns the indexes with row and column as number of rows and number of columns of the matrix
+	 * respectively
+	 *
+	 * @return the indexes with row and column as number of rows and number of columns of the matrix
+	 * respectively
+	 */
+	Indexes size();
+
+	/**
+	 * Returns the layout of this storage
+	 *
+	 * @return the layout of this storage
+	 */
+	MatrixMap.Layout layout();
+
+	/**
+	 * Performs the action for every cell with row from fromRow inclusive to toRow exclusive and
+	 * column from fromColumn inclusive to toColumn exclusive, in row-major order; storages that keep
+	 * their cells in order visit every row in a single pass instead of one lookup per cell
+	 *
+	 * @param fromRow    the first row
+	 * @param toRow      the row after the last row
+	 * @param fromColumn the first column
+	 * @param toColumn   the column after the last column
+	 * @param action     the action performed for every cell
+	 */
+	default void forEach(int fromRow, int toRow, int fromColumn, int toColumn,
+		MatrixMap.ValueConsumer<? super T> action) {
+		for (int i = fromRow; i < toRow; i++) {
+			for (int j = fromColumn; j < toColumn; j++) {
+				action.accept(i, j, value(i, j));
+			}
+		}
+	}
+
+	/**
+	 * Returns the String representation of every cell of the input storage, in the same format as
+	 * the RoamingMap of the map-backed layout
+	 *
+	 * @param storage the input storage
+	 * @return the String representation of every cell of the input storage
+	 */
+	static String render(MatrixStorage<?> storage) {
+		StringBuilder builder = new StringBuilder();
+		try {
+			MatrixWriter.writeEntries(storage, builder, Long.MAX_VALUE);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return builder.toString();
+	}
+}
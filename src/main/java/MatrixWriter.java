@@ -0,0 +1,105 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * MatrixWriter streams the text representation of a storage to an Appendable row by row, so no
+ * String of the whole matrix is built, and stops reading cells once the requested limit is reached
+ */
+final class MatrixWriter {
+
+	/**
+	 * The text written in place of the cells, rows or columns left out by a limit
+	 */
+	static final String ELISION = "...";
+
+	private MatrixWriter() {
+	}
+
+	/**
+	 * Writes the cells of storage to out in the format of toString, leaving out every cell after the
+	 * first cellLimit ones
+	 *
+	 * @param storage   the storage to write
+	 * @param out       the destination of the text
+	 * @param cellLimit the largest number of cells written
+	 * @throws IOException if out fails to append
+	 */
+	static void writeEntries(MatrixStorage<?> storage, Appendable out, long cellLimit)
+		throws IOException {
+		Indexes size = storage.size();
+		out.append('{');
+		long remaining = cellLimit;
+		try {
+			for (int i = 0; i < size.row() && remaining > 0; i++) {
+				int columns = (int) Math.min(size.column(), remaining);
+				storage.forEach(i, i + 1, 0, columns, (row, column, value) -> {
+					try {
+						if (row > 0 || column > 0) {
+							out.append(", ");
+						}
+						out.append(new Indexes(row, column).toString()).append('=')
+							.append(String.valueOf(value));
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+				remaining -= columns;
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		if (cellLimit < (long) size.row() * size.column()) {
+			out.append(", ").append(ELISION);
+		}
+		out.append('}');
+	}
+
+	/**
+	 * Writes the cells of storage to out as a grid with one line per row and the values of every
+	 * column right-aligned, leaving out the rows after the first rowLimit ones and the columns after
+	 * the first columnLimit ones; only the cells that are written are read, twice, once to size the
+	 * columns and once to write them
+	 *
+	 * @param storage     the storage to write
+	 * @param out         the destination of the text
+	 * @param rowLimit    the largest number of rows written
+	 * @param columnLimit the largest number of columns written
+	 * @throws IOException if out fails to append
+	 */
+	static void writeGrid(MatrixStorage<?> storage, Appendable out, int rowLimit, int columnLimit)
+		throws IOException {
+		Indexes size = storage.size();
+		int rows = Math.min(size.row(), rowLimit);
+		int columns = Math.min(size.column(), columnLimit);
+		int[] widths = new int[columns];
+		storage.forEach(0, rows, 0, columns, (row, column, value) -> widths[column] = Math.max(
+			widths[column], String.valueOf(value).length()));
+		try {
+			for (int i = 0; i < rows; i++) {
+				storage.forEach(i, i + 1, 0, columns, (row, column, value) -> {
+					try {
+						String text = String.valueOf(value);
+						if (column > 0) {
+							out.append(' ');
+						}
+						for (int pad = text.length(); pad < widths[column]; pad++) {
+							out.append(' ');
+						}
+						out.append(text);
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+				if (columns < size.column()) {
+					out.append(' ').append(ELISION);
+				}
+				out.append('\n');
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		if (rows < size.row()) {
+			out.append(ELISION).append('\n');
+		}
+	}
+}
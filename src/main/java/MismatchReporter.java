@@ -0,0 +1,215 @@
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * MismatchReporter logs the mismatches found by Barricade without letting a misbehaving map flood
+ * the logger: every message key has its own token bucket, messages beyond it are only counted,
+ * and once per summary interval a shared daemon timer logs a single record telling how many were
+ * suppressed and over how long. A message is only formatted if it is actually logged.
+ */
+public final class MismatchReporter {
+
+	/**
+	 * The number of records per second a message key settles to by default
+	 */
+	public static final double DEFAULT_RATE = 1.0;
+	/**
+	 * The number of records a message key may log at once by default
+	 */
+	public static final int DEFAULT_BURST = 10;
+	/**
+	 * The interval between two summaries of a message key by default
+	 */
+	public static final Duration DEFAULT_SUMMARY_INTERVAL = Duration.ofSeconds(10);
+
+	/**
+	 * The logger the records are published to
+	 */
+	private final Logger logger;
+	/**
+	 * The time between two tokens of a bucket, in nanoseconds
+	 */
+	private final long tokenNanos;
+	/**
+	 * The time a bucket may run ahead of now, in nanoseconds, which bounds a burst
+	 */
+	private final long burstNanos;
+	/**
+	 * The bucket of every message key reported so far
+	 */
+	private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+	/**
+	 * Initializes with input logger, rate, burst and summary interval; the summaries are logged by
+	 * the timer until the reporter is no longer reachable
+	 *
+	 * @param logger          the logger the records are published to
+	 * @param rate            the number of records per second a message key settles to
+	 * @param burst           the number of records a message key may log at once
+	 * @param summaryInterval the interval between two summaries of a message key
+	 * @throws NullPointerException     if logger or summaryInterval is null
+	 * @throws IllegalArgumentException if rate, burst or summaryInterval is not positive
+	 */
+	public MismatchReporter(Logger logger, double rate, int burst, Duration summaryInterval) {
+		Objects.requireNonNull(logger);
+		Objects.requireNonNull(summaryInterval);
+		if (!(rate > 0) || burst <= 0 || summaryInterval.isNegative() || summaryInterval.isZero()) {
+			throw new IllegalArgumentException("rate, burst and summary interval must be positive");
+		}
+		this.logger = logger;
+		this.tokenNanos = Math.max(1L, (long) (1e9 / rate));
+		this.burstNanos = tokenNanos * burst;
+		scheduleSummaries(this, summaryInterval.toNanos());
+	}
+
+	// The timer only holds the reporter weakly and cancels its task once the reporter is collected.
+	private static void scheduleSummaries(MismatchReporter reporter, long periodNanos) {
+		WeakReference<MismatchReporter> reference = new WeakReference<>(reporter);
+		AtomicReference<ScheduledFuture<?>> task = new AtomicReference<>();
+		task.set(SummaryTimer.TIMER.scheduleAtFixedRate(() -> {
+			MismatchReporter current = reference.get();
+			if (current != null) {
+				current.flush();
+			} else if (task.get() != null) {
+				task.get().cancel(false);
+			}
+		}, periodNanos, periodNanos, TimeUnit.NANOSECONDS));
+	}
+
+	/**
+	 * Returns the reporter publishing to the input logger with DEFAULT_RATE, DEFAULT_BURST and
+	 * DEFAULT_SUMMARY_INTERVAL
+	 *
+	 * @param logger the logger the records are published to
+	 * @return the reporter publishing to the input logger with the default limits
+	 */
+	public static MismatchReporter of(Logger logger) {
+		return new MismatchReporter(logger, DEFAULT_RATE, DEFAULT_BURST, DEFAULT_SUMMARY_INTERVAL);
+	}
+
+	/**
+	 * Logs the input constant message as a warning, unless its key has run out of tokens
+	 *
+	 * @param message the message, which is also its key
+	 */
+	public void warning(String message) {
+		if (logger.isLoggable(Level.WARNING) && admit(message)) {
+			logger.log(Level.WARNING, message);
+		}
+	}
+
+	/**
+	 * Logs the message built by the supplier as a warning, unless the key has run out of tokens;
+	 * the supplier is only called if the message is logged
+	 *
+	 * @param key     the key the message is limited and summarized under
+	 * @param message the supplier of the message
+	 */
+	public void warning(String key, Supplier<String> message) {
+		if (logger.isLoggable(Level.WARNING) && admit(key)) {
+			logger.log(Level.WARNING, message);
+		}
+	}
+
+	/**
+	 * Logs a summary for every message key with suppressed messages since its last summary, whether
+	 * or not its interval is over, so that nothing counted is left unreported; the timer calls it
+	 * once per summary interval
+	 */
+	public void flush() {
+		buckets.forEach((key, bucket) -> summarize(key, bucket, System.nanoTime()));
+	}
+
+	/**
+	 * Forgets every message key, together with its tokens and suppressed messages
+	 */
+	public void reset() {
+		buckets.clear();
+	}
+
+	/**
+	 * Returns the number of messages of the input key suppressed since its last summary
+	 *
+	 * @param key the message key
+	 * @return the number of suppressed messages of the input key
+	 */
+	public long suppressed(String key) {
+		Bucket bucket = buckets.get(key);
+		return (bucket == null) ? 0 : bucket.suppressed.sum();
+	}
+
+	// Takes a token of the key, counting the message as suppressed if there is none.
+	private boolean admit(String key) {
+		Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(System.nanoTime()));
+		boolean admitted = bucket.tryAcquire(System.nanoTime(), tokenNanos, burstNanos);
+		if (!admitted) {
+			bucket.suppressed.increment();
+		}
+		return admitted;
+	}
+
+	// Starts a new window for the key and logs how many messages were suppressed in the one that
+	// ends now, with its actual length rounded to whole seconds.
+	private void summarize(String key, Bucket bucket, long now) {
+		long previous = bucket.summarized.getAndSet(now);
+		long suppressed = bucket.suppressed.sumThenReset();
+		if (suppressed > 0) {
+			long seconds = Math.max(1, (now - previous + 500_000_000L) / 1_000_000_000L);
+			logger.log(Level.WARNING,
+				() -> suppressed + " suppressed in last " + seconds + "s: " + key);
+		}
+	}
+
+	/**
+	 * The token bucket of a message key, kept as the time its next token is due (the generic cell
+	 * rate algorithm), so taking a token is a single compare-and-set
+	 */
+	private static final class Bucket {
+
+		private final AtomicLong due;
+		private final AtomicLong summarized;
+		private final LongAdder suppressed = new LongAdder();
+
+		private Bucket(long now) {
+			this.due = new AtomicLong(now);
+			this.summarized = new AtomicLong(now);
+		}
+
+		private boolean tryAcquire(long now, long tokenNanos, long burstNanos) {
+			while (true) {
+				long current = due.get();
+				long next = Math.max(current, now) + tokenNanos;
+				if (next - now > burstNanos) {
+					return false;
+				}
+				if (due.compareAndSet(current, next)) {
+					return true;
+				}
+			}
+		}
+	}
+
+	// Starts the timer thread on first use only.
+	private static final class SummaryTimer {
+
+		private static final ScheduledExecutorService TIMER =
+			Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "MismatchReporter-summary");
+				thread.setDaemon(true);
+				return thread;
+			});
+	}
+}
@@ -0,0 +1,173 @@
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * PackedMatrixStorage stores only the cells that differ from an implicit default value, under
+ * their indexes packed by Indexes.pack, in a sorted primitive-keyed map made of parallel key and
+ * value arrays; lookups compare primitive keys and allocate nothing. It is compressed as
+ * SparseMatrixStorage is and shares its values, but keeps no row pointers, so its memory grows
+ * with the stored cells only, also for matrices with far more rows than stored cells
+ *
+ * @param <T> the type of the values
+ */
+final class PackedMatrixStorage<T> implements MatrixStorage<T> {
+
+	/**
+	 * The number of rows of the matrix
+	 */
+	private final int rows;
+	/**
+	 * The number of columns of the matrix
+	 */
+	private final int columns;
+	/**
+	 * The value of every cell that is not stored
+	 */
+	private final T defaultValue;
+	/**
+	 * The packed indexes of the stored cells in ascending order
+	 */
+	private final long[] keys;
+	/**
+	 * The value of every stored cell, at the position of its key
+	 */
+	private final Object[] values;
+
+	/**
+	 * Initializes with the input dimensions, default value, keys and values
+	 *
+	 * @param rows         the number of rows of the matrix
+	 * @param columns      the number of columns of the matrix
+	 * @param defaultValue the value of every cell that is not stored
+	 * @param keys         the packed indexes of the stored cells in ascending order
+	 * @param values       the value of every stored cell, at the position of its key
+	 */
+	private PackedMatrixStorage(int rows, int columns, T defaultValue, long[] keys,
+		Object[] values) {
+		this.rows = rows;
+		this.columns = columns;
+		this.defaultValue = defaultValue;
+		this.keys = keys;
+		this.values = values;
+	}
+
+	/**
+	 * Builds and returns the storage with rows and columns as number of rows and number of columns
+	 * respectively and values determined by valueMapper, with the most frequent value as the
+	 * default value
+	 *
+	 * @param rows        the number of rows of the matrix
+	 * @param columns     the number of columns of the matrix
+	 * @param valueMapper the function that maps the indexes to the corresponding value
+	 * @param <S>         the generic type
+	 * @return the storage with rows and columns as number of rows and number of columns respectively
+	 * and values determined by valueMapper
+	 * @throws ArithmeticException  if the matrix has more cells than an array can hold
+	 * @throws NullPointerException if valueMapper maps some indexes to null
+	 */
+	static <S> PackedMatrixStorage<S> build(int rows, int columns, Function<Indexes, S> valueMapper) {
+		return from(SparseMatrixStorage.from(DenseMatrixStorage.build(rows, columns, valueMapper)));
+	}
+
+	/**
+	 * Returns the packed form of the input sparse storage, with the same default value and stored
+	 * cells
+	 *
+	 * @param sparse the input sparse storage
+	 * @param <S>    the generic type
+	 * @return the packed form of the input sparse storage
+	 */
+	static <S> PackedMatrixStorage<S> from(SparseMatrixStorage<S> sparse) {
+		Indexes size = sparse.size();
+		return new PackedMatrixStorage<>(size.row(), size.column(), sparse.defaultValue(),
+			sparse.packedIndexes(), sparse.storedValues());
+	}
+
+	@Override
+	public T value(Indexes indexes) {
+		return value(indexes.row(), indexes.column());
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T value(int row, int column) {
+		if (row < 0 || row >= rows || column < 0 || column >= columns) {
+			return null;
+		}
+		int position = Arrays.binarySearch(keys, Indexes.pack(row, column));
+		return (position >= 0) ? (T) values[position] : defaultValue;
+	}
+
+	// Finds the first stored key of every row once and walks the following keys in order, filling
+	// the gaps with the default value.
+	@Override
+	@SuppressWarnings("unchecked")
+	public void forEach(int fromRow, int toRow, int fromColumn, int toColumn,
+		MatrixMap.ValueConsumer<? super T> action) {
+		for (int i = fromRow; i < toRow; i++) {
+			int position = Arrays.binarySearch(keys, Indexes.pack(i, fromColumn));
+			position = (position >= 0) ? position : -position - 1;
+			for (int j = fromColumn; j < toColumn; j++) {
+				T value = defaultValue;
+				if (position < keys.length && keys[position] == Indexes.pack(i, j)) {
+					value = (T) values[position++];
+				}
+				action.accept(i, j, value);
+			}
+		}
+	}
+
+	/**
+	 * Returns the value of every cell that is not stored
+	 *
+	 * @return the value of every cell that is not stored
+	 */
+	T defaultValue() {
+		return defaultValue;
+	}
+
+	/**
+	 * Returns the indexes of the stored cells packed by Indexes.pack, in row-major order; the array
+	 * is shared, not copied, and must not be modified
+	 *
+	 * @return the indexes of the stored cells packed by Indexes.pack, in row-major order
+	 */
+	long[] packedIndexes() {
+		return keys;
+	}
+
+	/**
+	 * Returns the value of every stored cell in row-major order; the array is shared, not copied,
+	 * and must not be modified
+	 *
+	 * @return the value of every stored cell in row-major order
+	 */
+	Object[] storedValues() {
+		return values;
+	}
+
+	/**
+	 * Returns the number of stored cells
+	 *
+	 * @return the number of stored cells
+	 */
+	int storedCells() {
+		return values.length;
+	}
+
+	@Override
+	public Indexes size() {
+		return new Indexes(rows, columns);
+	}
+
+	@Override
+	public MatrixMap.Layout layout() {
+		return MatrixMap.Layout.PACKED;
+	}
+
+	// Renders through forEach in the same representation as the other layouts.
+	@Override
+	public String toString() {
+		return MatrixStorage.render(this);
+	}
+}
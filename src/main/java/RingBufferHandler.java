@@ -0,0 +1,227 @@
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+/**
+ * RingBufferHandler keeps the last capacity records published to it in a ring buffer and hands
+ * them on asynchronously. Publishing claims a slot with a single atomic increment and never locks
+ * or blocks, so logging threads are not serialized on the handler; when the buffer is full the
+ * oldest records are overwritten and counted as lost. The records are taken out of the buffer by
+ * drainTo, which a handler created with a target calls on its own daemon thread.
+ */
+public final class RingBufferHandler extends Handler {
+
+	/**
+	 * The slots of the buffer; the record published with sequence s is kept in slot s & mask
+	 */
+	private final AtomicReferenceArray<Slot> slots;
+	/**
+	 * The capacity minus one, the capacity being a power of two
+	 */
+	private final int mask;
+	/**
+	 * The sequence of the next published record
+	 */
+	private final AtomicLong head = new AtomicLong();
+	/**
+	 * The sequence of the next record to be drained; only changed under the drain lock
+	 */
+	private long tail;
+	/**
+	 * The number of records overwritten before they were drained
+	 */
+	private final LongAdder lost = new LongAdder();
+	/**
+	 * The thread forwarding the records to the target, or null for a handler drained by hand
+	 */
+	private final ScheduledExecutorService forwarder;
+	/**
+	 * The handler the records are forwarded to, or null for a handler that is drained by hand
+	 */
+	private final Handler target;
+
+	/**
+	 * Initializes with input capacity, rounded up to a power of two, for a handler drained by hand
+	 *
+	 * @param capacity the number of records kept
+	 * @throws IllegalArgumentException if capacity is not positive or above 2^30
+	 */
+	public RingBufferHandler(int capacity) {
+		this(capacity, null, null);
+	}
+
+	/**
+	 * Initializes with input capacity, rounded up to a power of two, for a handler that forwards
+	 * its records to the target every period on a daemon thread
+	 *
+	 * @param capacity the number of records kept
+	 * @param target   the handler the records are forwarded to
+	 * @param period   the time between two forwards
+	 * @throws NullPointerException     if target or period is null
+	 * @throws IllegalArgumentException if capacity is not positive or above 2^30, or period is not
+	 *                                  positive
+	 */
+	public RingBufferHandler(int capacity, Handler target, Duration period) {
+		if (capacity <= 0 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("capacity must be positive and at most 2^30");
+		}
+		int size = Integer.highestOneBit(capacity - 1) << 1;
+		this.slots = new AtomicReferenceArray<>(Math.max(size, 1));
+		this.mask = slots.length() - 1;
+		if (target == null && period == null) {
+			this.target = null;
+			this.forwarder = null;
+			return;
+		}
+		Objects.requireNonNull(target);
+		Objects.requireNonNull(period);
+		if (period.isNegative() || period.isZero()) {
+			throw new IllegalArgumentException("period must be positive");
+		}
+		this.target = target;
+		this.forwarder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "RingBufferHandler-forwarder");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long periodNanos = period.toNanos();
+		forwarder.scheduleWithFixedDelay(() -> drainTo(target::publish), periodNanos, periodNanos,
+			TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Returns the number of records the buffer keeps
+	 *
+	 * @return the number of records the buffer keeps
+	 */
+	public int capacity() {
+		return slots.length();
+	}
+
+	@Override
+	public void publish(LogRecord record) {
+		if (record == null || !isLoggable(record)) {
+			return;
+		}
+		if (target != null) {
+			// the caller is only known on the publishing thread
+			record.getSourceMethodName();
+		}
+		long sequence = head.getAndIncrement();
+		slots.set((int) sequence & mask, new Slot(sequence, record));
+	}
+
+	/**
+	 * Hands every record published and not drained yet to the consumer, oldest first, and returns
+	 * their number; records overwritten in the meantime are counted as lost, and a record whose
+	 * slot is claimed but not written yet is left for the next drain together with the ones after
+	 * it
+	 *
+	 * @param consumer the consumer of the records
+	 * @return the number of records handed to the consumer
+	 */
+	public synchronized int drainTo(Consumer<? super LogRecord> consumer) {
+		Objects.requireNonNull(consumer);
+		long end = head.get();
+		if (end - tail > slots.length()) {
+			lost.add(end - tail - slots.length());
+			tail = end - slots.length();
+		}
+		int drained = 0;
+		while (tail < end) {
+			Slot slot = slots.get((int) tail & mask);
+			if (slot == null || slot.sequence < tail) {
+				break;
+			}
+			if (slot.sequence == tail) {
+				consumer.accept(slot.record);
+				drained++;
+			} else {
+				lost.increment();
+			}
+			tail++;
+		}
+		return drained;
+	}
+
+	/**
+	 * Returns the records the buffer holds, oldest first, without draining them
+	 *
+	 * @return the records the buffer holds
+	 */
+	public List<LogRecord> records() {
+		long end = head.get();
+		List<LogRecord> records = new ArrayList<>();
+		for (long sequence = Math.max(0, end - slots.length()); sequence < end; sequence++) {
+			Slot slot = slots.get((int) sequence & mask);
+			if (slot != null && slot.sequence == sequence) {
+				records.add(slot.record);
+			}
+		}
+		return records;
+	}
+
+	/**
+	 * Returns the message of the last record published, in the manner of LoggerTestingHandler
+	 *
+	 * @return the message of the last record published, or empty if there is none
+	 */
+	public Optional<String> getLastLog() {
+		long last = head.get() - 1;
+		Slot slot = (last < 0) ? null : slots.get((int) last & mask);
+		return (slot != null && slot.sequence == last)
+			? Optional.ofNullable(slot.record.getMessage()) : Optional.empty();
+	}
+
+	/**
+	 * Returns the number of records overwritten before they were drained
+	 *
+	 * @return the number of records overwritten before they were drained
+	 */
+	public long lost() {
+		return lost.sum();
+	}
+
+	/**
+	 * Forwards the pending records to the target and flushes it; does nothing for a handler drained
+	 * by hand
+	 */
+	@Override
+	public void flush() {
+		if (target != null) {
+			drainTo(target::publish);
+			target.flush();
+		}
+	}
+
+	/**
+	 * Stops the forwarding thread, forwards the pending records and closes the target
+	 */
+	@Override
+	public void close() throws SecurityException {
+		if (forwarder != null) {
+			forwarder.shutdown();
+			flush();
+			target.close();
+		}
+	}
+
+	/**
+	 * A published record together with its sequence, by which a reader tells it from the record it
+	 * overwrote or the one that overwrites it
+	 */
+	private record Slot(long sequence, LogRecord record) {
+
+	}
+}
@@ -0,0 +1,124 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * RowMatrixStorage stores every cell of a fully populated matrix in one array per row, so a matrix
+ * streamed row by row is stored without ever holding the rows twice
+ *
+ * @param <T> the type of the values
+ */
+final class RowMatrixStorage<T> implements MatrixStorage<T> {
+
+	/**
+	 * The number of columns of the matrix
+	 */
+	private final int columns;
+	/**
+	 * The values of every row of the matrix
+	 */
+	private final Object[][] cells;
+
+	/**
+	 * Initializes with the input number of columns and rows
+	 *
+	 * @param columns the number of columns of the matrix
+	 * @param cells   the values of every row of the matrix
+	 */
+	private RowMatrixStorage(int columns, Object[][] cells) {
+		this.columns = columns;
+		this.cells = cells;
+	}
+
+	@Override
+	public T value(Indexes indexes) {
+		return value(indexes.row(), indexes.column());
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T value(int row, int column) {
+		if (row < 0 || row >= cells.length || column < 0 || column >= columns) {
+			return null;
+		}
+		return (T) cells[row][column];
+	}
+
+	@Override
+	public Indexes size() {
+		return new Indexes(cells.length, columns);
+	}
+
+	@Override
+	public MatrixMap.Layout layout() {
+		return MatrixMap.Layout.DENSE;
+	}
+
+	@Override
+	public String toString() {
+		return MatrixStorage.render(this);
+	}
+
+	/**
+	 * Appender collects the rows of a matrix one at a time, checking that every row has the number
+	 * of columns of the first one
+	 *
+	 * @param <S> the type of the values
+	 */
+	static final class Appender<S> {
+
+		/**
+		 * The rows appended so far
+		 */
+		private final List<Object[]> rows = new ArrayList<>();
+		/**
+		 * The number of columns of every row, or 0 before the first row
+		 */
+		private int columns;
+
+		/**
+		 * Returns the number of columns of every row, or 0 before the first row
+		 *
+		 * @return the number of columns of every row, or 0 before the first row
+		 */
+		int columns() {
+			return columns;
+		}
+
+		/**
+		 * Appends the input row, which the storage keeps, so it must not be changed afterwards
+		 *
+		 * @param row the values of the row
+		 * @throws IllegalArgumentException if the row is empty or has another number of columns than
+		 *                                  the first row, caused by InvalidLengthException with
+		 *                                  COLUMN
+		 * @throws NullPointerException     if some value is null
+		 */
+		void append(Object[] row) {
+			if (columns == 0) {
+				columns = MatrixMap.InvalidLengthException.requireNonEmpty(
+					MatrixMap.InvalidLengthException.Cause.COLUMN, row.length);
+			} else if (row.length != columns) {
+				throw new IllegalArgumentException(new MatrixMap.InvalidLengthException(
+					MatrixMap.InvalidLengthException.Cause.COLUMN, row.length));
+			}
+			for (Object value : row) {
+				Objects.requireNonNull(value);
+			}
+			rows.add(row);
+		}
+
+		/**
+		 * Returns the storage with the appended rows
+		 *
+		 * @return the storage with the appended rows
+		 * @throws IllegalArgumentException if no row was appended, caused by InvalidLengthException
+		 *                                  with ROW
+		 */
+		RowMatrixStorage<S> build() {
+			MatrixMap.InvalidLengthException.requireNonEmpty(
+				MatrixMap.InvalidLengthException.Cause.ROW, rows.size());
+			return new RowMatrixStorage<>(columns, rows.toArray(new Object[0][]));
+		}
+	}
+}
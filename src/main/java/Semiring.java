@@ -0,0 +1,155 @@
+import java.util.Objects;
+import java.util.function.BinaryOperator;
+
+/**
+ * Semiring holds the addition and multiplication used by the arithmetic of MatrixMap, together
+ * with zero, the identity of addition, and identity, the identity of multiplication, as used by
+ * MatrixMap.identity
+ *
+ * @param <T> the type of the values
+ */
+public interface Semiring<T> {
+
+	/**
+	 * Returns the identity of addition
+	 *
+	 * @return the identity of addition
+	 */
+	T zero();
+
+	/**
+	 * Returns whether the product of zero with any value is zero again, which lets a matrix product
+	 * skip the terms with a zero factor; false unless the semiring declares it, since IEEE doubles
+	 * give NaN for zero times NaN or infinity
+	 *
+	 * @return whether zero annihilates under multiplication
+	 */
+	default boolean zeroAnnihilates() {
+		return false;
+	}
+
+	/**
+	 * Returns the identity of multiplication
+	 *
+	 * @return the identity of multiplication
+	 */
+	T identity();
+
+	/**
+	 * Returns the sum of the input values
+	 *
+	 * @param left  the left operand
+	 * @param right the right operand
+	 * @return the sum of the input values
+	 */
+	T add(T left, T right);
+
+	/**
+	 * Returns the product of the input values
+	 *
+	 * @param left  the left operand
+	 * @param right the right operand
+	 * @return the product of the input values
+	 */
+	T multiply(T left, T right);
+
+	/**
+	 * Returns the semiring with the input identities and operations, whose zero is not declared to
+	 * annihilate
+	 *
+	 * @param zero     the identity of addition
+	 * @param identity the identity of multiplication
+	 * @param add      the addition
+	 * @param multiply the multiplication
+	 * @param <S>      the generic type
+	 * @return the semiring with the input identities and operations
+	 */
+	static <S> Semiring<S> of(S zero, S identity, BinaryOperator<S> add,
+		BinaryOperator<S> multiply) {
+		return of(zero, identity, add, multiply, false);
+	}
+
+	/**
+	 * Returns the semiring with the input identities and operations
+	 *
+	 * @param zero            the identity of addition
+	 * @param identity        the identity of multiplication
+	 * @param add             the addition
+	 * @param multiply        the multiplication
+	 * @param zeroAnnihilates whether the product of zero with any value is zero
+	 * @param <S>             the generic type
+	 * @return the semiring with the input identities and operations
+	 */
+	static <S> Semiring<S> of(S zero, S identity, BinaryOperator<S> add,
+		BinaryOperator<S> multiply, boolean zeroAnnihilates) {
+		Objects.requireNonNull(zero);
+		Objects.requireNonNull(identity);
+		Objects.requireNonNull(add);
+		Objects.requireNonNull(multiply);
+		return new Semiring<>() {
+
+			@Override
+			public S zero() {
+				return zero;
+			}
+
+			@Override
+			public boolean zeroAnnihilates() {
+				return zeroAnnihilates;
+			}
+
+			@Override
+			public S identity() {
+				return identity;
+			}
+
+			@Override
+			public S add(S left, S right) {
+				return add.apply(left, right);
+			}
+
+			@Override
+			public S multiply(S left, S right) {
+				return multiply.apply(left, right);
+			}
+		};
+	}
+
+	/**
+	 * Returns the semiring of int values under the usual addition and multiplication
+	 *
+	 * @return the semiring of int values
+	 */
+	static Semiring<Integer> integers() {
+		return of(0, 1, Integer::sum, (left, right) -> left * right, true);
+	}
+
+	/**
+	 * Returns the semiring of long values under the usual addition and multiplication
+	 *
+	 * @return the semiring of long values
+	 */
+	static Semiring<Long> longs() {
+		return of(0L, 1L, Long::sum, (left, right) -> left * right, true);
+	}
+
+	/**
+	 * Returns the semiring of double values under the usual addition and multiplication; its zero
+	 * does not annihilate, so NaN and infinite values propagate through matrix products
+	 *
+	 * @return the semiring of double values
+	 */
+	static Semiring<Double> doubles() {
+		return of(0.0, 1.0, Double::sum, (left, right) -> left * right);
+	}
+
+	/**
+	 * Returns the semiring of boolean values under or and and, whose matrix product composes
+	 * relations
+	 *
+	 * @return the semiring of boolean values
+	 */
+	static Semiring<Boolean> booleans() {
+		return of(false, true, Boolean::logicalOr, Boolean::logicalAnd, true);
+	}
+}
@@ -0,0 +1,140 @@
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * ShadowState is the independent model of a RoamingMap that Barricade keeps up to date as
+ * mutations flow through it, together with an order-independent rolling digest of its entries
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+final class ShadowState<K extends Comparable<K>, V> {
+
+	/**
+	 * The expected entries of the shadowed map
+	 */
+	private final TreeMap<K, V> entries;
+	/**
+	 * The sum of the digests of all expected entries
+	 */
+	private long digest;
+
+	/**
+	 * Initializes with a copy of the entries of the input map
+	 *
+	 * @param map the map whose entries are shadowed
+	 */
+	ShadowState(Map<K, V> map) {
+		this.entries = new TreeMap<>();
+		Objects.requireNonNull(map).forEach(this::put);
+	}
+
+	/**
+	 * Returns the digest of all entries of the input map
+	 *
+	 * @param map the input map
+	 * @return the digest of all entries of the input map
+	 */
+	static long digestOf(Map<?, ?> map) {
+		long digest = 0L;
+		for (Map.Entry<?, ?> entry : map.entrySet()) {
+			digest += entryDigest(entry.getKey(), entry.getValue());
+		}
+		return digest;
+	}
+
+	/**
+	 * Returns the digest of a single (key, value) pair; digests of different pairs are summed, so the
+	 * digest of a map does not depend on iteration order
+	 *
+	 * @param key   the key of the pair
+	 * @param value the value of the pair
+	 * @return the digest of a single (key, value) pair
+	 */
+	static long entryDigest(Object key, Object value) {
+		long h = Objects.hashCode(key) * 0x9E3779B97F4A7C15L + Objects.hashCode(value);
+		h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+		h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+		return h ^ (h >>> 33);
+	}
+
+	/**
+	 * Records that key is now associated with value and returns the previously expected value
+	 *
+	 * @param key   the key
+	 * @param value the value
+	 * @return the previously expected value, or null if there was none
+	 */
+	V put(K key, V value) {
+		V previous = entries.put(key, value);
+		if (previous != null) {
+			digest -= entryDigest(key, previous);
+		}
+		digest += entryDigest(key, value);
+		return previous;
+	}
+
+	/**
+	 * Returns the expected value for the input key
+	 *
+	 * @param key the input key
+	 * @return the expected value for the input key, or null if there is none
+	 */
+	V get(K key) {
+		return entries.get(key);
+	}
+
+	/**
+	 * Returns a read-only view of the expected entries with keys from fromKey to toKey, both
+	 * inclusive
+	 *
+	 * @param fromKey the first key of the range
+	 * @param toKey   the last key of the range
+	 * @return a read-only view of the expected entries of the range
+	 */
+	NavigableMap<K, V> range(K fromKey, K toKey) {
+		return Collections.unmodifiableNavigableMap(entries.subMap(fromKey, true, toKey, true));
+	}
+
+	/**
+	 * Returns the expected number of entries
+	 *
+	 * @return the expected number of entries
+	 */
+	int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns the digest of the expected entries
+	 *
+	 * @return the digest of the expected entries
+	 */
+	long digest() {
+		return digest;
+	}
+
+	/**
+	 * Returns true if the input map holds exactly the expected entries according to its size and
+	 * digest, false otherwise
+	 *
+	 * @param map the input map
+	 * @return true if the input map holds exactly the expected entries, false otherwise
+	 */
+	boolean matches(Map<K, V> map) {
+		return map.size() == entries.size() && digestOf(map) == digest;
+	}
+
+	/**
+	 * Returns the String representation of the expected entries
+	 *
+	 * @return the String representation of the expected entries
+	 */
+	@Override
+	public String toString() {
+		return entries.toString();
+	}
+}
@@ -0,0 +1,347 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+
+/**
+ * SparseMatrixStorage stores a matrix in compressed sparse row form: only the cells that differ
+ * from an implicit default value are stored, sorted by row and then by column
+ *
+ * @param <T> the type of the values
+ */
+final class SparseMatrixStorage<T> implements MatrixStorage<T> {
+
+	/**
+	 * The largest share of non-default cells, as a fraction of all cells, for which a built matrix
+	 * is compacted into sparse form
+	 */
+	static final double SPARSE_THRESHOLD = 0.25;
+
+	/**
+	 * The number of rows of the matrix
+	 */
+	private final int rows;
+	/**
+	 * The number of columns of the matrix
+	 */
+	private final int columns;
+	/**
+	 * The value of every cell that is not stored
+	 */
+	private final T defaultValue;
+	/**
+	 * The position in columnIndexes and values of the first stored cell of every row, followed by
+	 * the number of stored cells
+	 */
+	private final int[] rowPointers;
+	/**
+	 * The column of every stored cell
+	 */
+	private final int[] columnIndexes;
+	/**
+	 * The value of every stored cell
+	 */
+	private final Object[] values;
+
+	/**
+	 * Initializes with the input dimensions, default value and compressed rows
+	 *
+	 * @param rows          the number of rows of the matrix
+	 * @param columns       the number of columns of the matrix
+	 * @param defaultValue  the value of every cell that is not stored
+	 * @param rowPointers   the position of the first stored cell of every row
+	 * @param columnIndexes the column of every stored cell
+	 * @param values        the value of every stored cell
+	 */
+	private SparseMatrixStorage(int rows, int columns, T defaultValue, int[] rowPointers,
+		int[] columnIndexes, Object[] values) {
+		this.rows = rows;
+		this.columns = columns;
+		this.defaultValue = defaultValue;
+		this.rowPointers = rowPointers;
+		this.columnIndexes = columnIndexes;
+		this.values = values;
+	}
+
+	/**
+	 * Returns the storage with rows and columns as number of rows and number of columns
+	 * respectively, where the cells in values hold their value and all other cells hold
+	 * defaultValue
+	 *
+	 * @param rows         the number of rows of the matrix
+	 * @param columns      the number of columns of the matrix
+	 * @param defaultValue the value of every cell that is not in values
+	 * @param values       the values of the other cells, sorted by indexes
+	 * @param <S>          the generic type
+	 * @return the storage where the cells in values hold their value and all other cells hold
+	 * defaultValue
+	 * @throws IndexOutOfBoundsException if some indexes of values are outside the matrix
+	 * @throws NullPointerException      if some value is null
+	 */
+	static <S> SparseMatrixStorage<S> of(int rows, int columns, S defaultValue,
+		SortedMap<Indexes, ? extends S> values) {
+		Objects.requireNonNull(defaultValue);
+		int[] rowPointers = new int[rows + 1];
+		int[] columnIndexes = new int[values.size()];
+		Object[] storedValues = new Object[values.size()];
+		int stored = 0;
+		int currentRow = 0;
+		for (Map.Entry<Indexes, ? extends S> entry : values.entrySet()) {
+			Indexes indexes = entry.getKey();
+			Objects.checkIndex(indexes.row(), rows);
+			Objects.checkIndex(indexes.column(), columns);
+			S value = Objects.requireNonNull(entry.getValue());
+			if (value.equals(defaultValue)) {
+				continue;
+			}
+			while (currentRow < indexes.row()) {
+				rowPointers[++currentRow] = stored;
+			}
+			columnIndexes[stored] = indexes.column();
+			storedValues[stored++] = value;
+		}
+		while (currentRow < rows) {
+			rowPointers[++currentRow] = stored;
+		}
+		return new SparseMatrixStorage<>(rows, columns, defaultValue, rowPointers,
+			Arrays.copyOf(columnIndexes, stored), Arrays.copyOf(storedValues, stored));
+	}
+
+	/**
+	 * Returns the sparse form of the input dense storage, with its most frequent value as the
+	 * default value
+	 *
+	 * @param dense the input dense storage
+	 * @param <S>   the generic type
+	 * @return the sparse form of the input dense storage
+	 */
+	static <S> SparseMatrixStorage<S> from(DenseMatrixStorage<S> dense) {
+		return compress(dense, mostFrequentValue(dense));
+	}
+
+	/**
+	 * Returns the sparse form of the input dense storage if at most SPARSE_THRESHOLD of its cells
+	 * differ from its most frequent value, the input dense storage otherwise
+	 *
+	 * @param dense the input dense storage
+	 * @param <S>   the generic type
+	 * @return the sparse form of the input dense storage if it has a dominant value, the input dense
+	 * storage otherwise
+	 */
+	static <S> MatrixStorage<S> compact(DenseMatrixStorage<S> dense) {
+		// A value held by more than SPARSE_THRESHOLD of the cells is the majority, so the voting
+		// candidate is enough here.
+		S dominant = dominantValue(dense);
+		Indexes size = dense.size();
+		long cells = (long) size.row() * size.column();
+		long others = cells - count(dense, dominant);
+		return (others <= cells * SPARSE_THRESHOLD) ? compress(dense, dominant) : dense;
+	}
+
+	/**
+	 * Returns the most frequent value of the input dense storage; the majority candidate is
+	 * returned without counting the other values if it holds more than half of the cells
+	 *
+	 * @param dense the input dense storage
+	 * @param <S>   the generic type
+	 * @return the most frequent value of the input dense storage
+	 */
+	static <S> S mostFrequentValue(DenseMatrixStorage<S> dense) {
+		S candidate = dominantValue(dense);
+		Indexes size = dense.size();
+		if (2 * count(dense, candidate) > (long) size.row() * size.column()) {
+			return candidate;
+		}
+		Map<S, long[]> counts = new HashMap<>();
+		long highest = 0;
+		for (int i = 0; i < size.row(); i++) {
+			for (int j = 0; j < size.column(); j++) {
+				S value = dense.value(i, j);
+				long count = ++counts.computeIfAbsent(value, key -> new long[1])[0];
+				if (count > highest) {
+					candidate = value;
+					highest = count;
+				}
+			}
+		}
+		return candidate;
+	}
+
+	/**
+	 * Returns the majority candidate of the values of the input dense storage, found in one pass
+	 * with the Boyer-Moore voting algorithm; it is the most frequent value only if that value holds
+	 * more than half of the cells
+	 *
+	 * @param dense the input dense storage
+	 * @param <S>   the generic type
+	 * @return the majority candidate of the values of the input dense storage
+	 */
+	static <S> S dominantValue(DenseMatrixStorage<S> dense) {
+		Indexes size = dense.size();
+		S candidate = null;
+		long votes = 0;
+		for (int i = 0; i < size.row(); i++) {
+			for (int j = 0; j < size.column(); j++) {
+				S value = dense.value(i, j);
+				if (votes == 0) {
+					candidate = value;
+					votes = 1;
+				} else {
+					votes += value.equals(candidate) ? 1 : -1;
+				}
+			}
+		}
+		return candidate;
+	}
+
+	/**
+	 * Returns the number of cells of the input dense storage that hold the input value
+	 *
+	 * @param dense the input dense storage
+	 * @param value the value counted
+	 * @param <S>   the generic type
+	 * @return the number of cells of the input dense storage that hold the input value
+	 */
+	static <S> long count(DenseMatrixStorage<S> dense, S value) {
+		Indexes size = dense.size();
+		long count = 0;
+		for (int i = 0; i < size.row(); i++) {
+			for (int j = 0; j < size.column(); j++) {
+				count += dense.value(i, j).equals(value) ? 1 : 0;
+			}
+		}
+		return count;
+	}
+
+	private static <S> SparseMatrixStorage<S> compress(DenseMatrixStorage<S> dense, S defaultValue) {
+		Indexes size = dense.size();
+		int rows = size.row();
+		int columns = size.column();
+		int stored = (int) ((long) rows * columns - count(dense, defaultValue));
+		int[] rowPointers = new int[rows + 1];
+		int[] columnIndexes = new int[stored];
+		Object[] values = new Object[stored];
+		int position = 0;
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < columns; j++) {
+				S value = dense.value(i, j);
+				if (!value.equals(defaultValue)) {
+					columnIndexes[position] = j;
+					values[position++] = value;
+				}
+			}
+			rowPointers[i + 1] = position;
+		}
+		return new SparseMatrixStorage<>(rows, columns, defaultValue, rowPointers, columnIndexes,
+			values);
+	}
+
+	@Override
+	public T value(Indexes indexes) {
+		return value(indexes.row(), indexes.column());
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T value(int row, int column) {
+		if (row < 0 || row >= rows || column < 0 || column >= columns) {
+			return null;
+		}
+		int position = Arrays.binarySearch(columnIndexes, rowPointers[row], rowPointers[row + 1],
+			column);
+		return (position >= 0) ? (T) values[position] : defaultValue;
+	}
+
+	// Walks the stored cells of every row once, filling the gaps with the default value.
+	@Override
+	@SuppressWarnings("unchecked")
+	public void forEach(int fromRow, int toRow, int fromColumn, int toColumn,
+		MatrixMap.ValueConsumer<? super T> action) {
+		for (int i = fromRow; i < toRow; i++) {
+			int end = rowPointers[i + 1];
+			int position = Arrays.binarySearch(columnIndexes, rowPointers[i], end, fromColumn);
+			position = (position >= 0) ? position : -position - 1;
+			for (int j = fromColumn; j < toColumn; j++) {
+				T value = defaultValue;
+				if (position < end && columnIndexes[position] == j) {
+					value = (T) values[position++];
+				}
+				action.accept(i, j, value);
+			}
+		}
+	}
+
+	/**
+	 * Returns the value of every cell that is not stored
+	 *
+	 * @return the value of every cell that is not stored
+	 */
+	T defaultValue() {
+		return defaultValue;
+	}
+
+	/**
+	 * Returns the indexes of the stored cells packed by Indexes.pack, in row-major order
+	 *
+	 * @return the indexes of the stored cells packed by Indexes.pack, in row-major order
+	 */
+	long[] packedIndexes() {
+		long[] keys = new long[values.length];
+		for (int i = 0; i < rows; i++) {
+			for (int position = rowPointers[i]; position < rowPointers[i + 1]; position++) {
+				keys[position] = Indexes.pack(i, columnIndexes[position]);
+			}
+		}
+		return keys;
+	}
+
+	/**
+	 * Returns the value of every stored cell in row-major order; the array is shared, not copied,
+	 * and must not be modified
+	 *
+	 * @return the value of every stored cell in row-major order
+	 */
+	Object[] storedValues() {
+		return values;
+	}
+
+	/**
+	 * Returns the number of stored cells
+	 *
+	 * @return the number of stored cells
+	 */
+	int storedCells() {
+		return values.length;
+	}
+
+	@Override
+	public Indexes size() {
+		return new Indexes(rows, columns);
+	}
+
+	@Override
+	public MatrixMap.Layout layout() {
+		return MatrixMap.Layout.SPARSE;
+	}
+
+	// Renders every cell, default or stored, in the same representation as the other layouts.
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("{");
+		for (int i = 0; i < rows; i++) {
+			int position = rowPointers[i];
+			for (int j = 0; j < columns; j++) {
+				if (i > 0 || j > 0) {
+					builder.append(", ");
+				}
+				Object value = defaultValue;
+				if (position < rowPointers[i + 1] && columnIndexes[position] == j) {
+					value = values[position++];
+				}
+				builder.append(new Indexes(i, j)).append('=').append(value);
+			}
+		}
+		return builder.append('}').toString();
+	}
+}
@@ -0,0 +1,120 @@
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * VerificationPolicy decides, for every checked call made through Barricade, how much consistency
+ * checking is performed on the RoamingMap
+ */
+@FunctionalInterface
+public interface VerificationPolicy {
+
+	/**
+	 * Returns the verification mode to be used by the current Barricade call
+	 *
+	 * @return the verification mode to be used by the current Barricade call
+	 */
+	Mode select();
+
+	/**
+	 * Returns the policy that fully verifies every call
+	 *
+	 * @return the policy that fully verifies every call
+	 */
+	static VerificationPolicy always() {
+		return () -> Mode.FULL;
+	}
+
+	/**
+	 * Returns the policy that verifies every call against a lightweight shadow instead of a full copy
+	 * of the map
+	 *
+	 * @return the policy that verifies every call against a lightweight shadow
+	 */
+	static VerificationPolicy shadow() {
+		return () -> Mode.SHADOW;
+	}
+
+	/**
+	 * Returns the policy that verifies every get and put on the AsyncVerifier of Barricade after the
+	 * call has returned, and every other call against a lightweight shadow
+	 *
+	 * @return the policy that verifies gets and puts off the calling thread
+	 */
+	static VerificationPolicy async() {
+		return () -> Mode.ASYNC;
+	}
+
+	/**
+	 * Returns the policy that performs no verification at all
+	 *
+	 * @return the policy that performs no verification at all
+	 */
+	static VerificationPolicy off() {
+		return () -> Mode.NONE;
+	}
+
+	/**
+	 * Returns the policy that fully verifies one call out of every period calls and performs no
+	 * verification for the others
+	 *
+	 * @param period the number of calls per verified call
+	 * @return the policy that fully verifies one call out of every period calls
+	 * @throws IllegalArgumentException if period is not positive
+	 */
+	static VerificationPolicy sampled(int period) {
+		if (period <= 0) {
+			throw new IllegalArgumentException("period must be positive");
+		}
+		AtomicLong calls = new AtomicLong();
+		return () -> (calls.getAndIncrement() % period == 0) ? Mode.FULL : Mode.NONE;
+	}
+
+	/**
+	 * Returns the policy that fully verifies at most one call per interval and performs no
+	 * verification for the others
+	 *
+	 * @param interval the minimum time between two verified calls
+	 * @return the policy that fully verifies at most one call per interval
+	 * @throws NullPointerException     if interval is null
+	 * @throws IllegalArgumentException if interval is negative
+	 */
+	static VerificationPolicy budgeted(Duration interval) {
+		Objects.requireNonNull(interval);
+		if (interval.isNegative()) {
+			throw new IllegalArgumentException("interval must not be negative");
+		}
+		long intervalNanos = interval.toNanos();
+		AtomicLong nextCheck = new AtomicLong(System.nanoTime());
+		return () -> {
+			long now = System.nanoTime();
+			long next = nextCheck.get();
+			return (now - next >= 0 && nextCheck.compareAndSet(next, now + intervalNanos)) ? Mode.FULL
+				: Mode.NONE;
+		};
+	}
+
+	/**
+	 * The Enum Mode with the amount of checking performed by a single Barricade call
+	 */
+	enum Mode {
+		/**
+		 * The call compares a full copy of the map before and after the operation
+		 */
+		FULL,
+		/**
+		 * The call compares the result against a lightweight shadow of the map
+		 */
+		SHADOW,
+		/**
+		 * A get or put records the value expected of it and is checked against it on the
+		 * AsyncVerifier of Barricade once it has returned; any other call is checked as in SHADOW
+		 * mode
+		 */
+		ASYNC,
+		/**
+		 * The call is delegated to the map without any checking
+		 */
+		NONE
+	}
+}
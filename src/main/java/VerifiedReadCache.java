@@ -0,0 +1,81 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * VerifiedReadCache keeps the values Barricade has verified for the keys of one RoamingMap,
+ * stamped with the modification count of the map they were verified at. Any write to the map
+ * changes its count, which drops every cached value at once on the next lookup; at most capacity
+ * values are kept, the least recently read being evicted first.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+final class VerifiedReadCache<K, V> {
+
+	/**
+	 * The verified values, in access order; a key verified to be absent maps to null
+	 */
+	private final LinkedHashMap<K, V> values;
+	/**
+	 * The modification count of the map the values were verified at
+	 */
+	private long modCount;
+
+	/**
+	 * Initializes an empty cache of input capacity
+	 *
+	 * @param capacity the largest number of values kept
+	 */
+	VerifiedReadCache(int capacity) {
+		this.values = new LinkedHashMap<>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Returns the lookup of the input key at the input modification count: a hit with the verified
+	 * value, or a miss if the key was not verified at that count
+	 *
+	 * @param key      the key
+	 * @param modCount the current modification count of the map
+	 * @return the lookup of the input key, or null on a miss
+	 */
+	synchronized Hit<V> get(K key, long modCount) {
+		if (this.modCount != modCount) {
+			values.clear();
+			this.modCount = modCount;
+			return null;
+		}
+		V value = values.get(key);
+		return (value != null || values.containsKey(key)) ? new Hit<>(value) : null;
+	}
+
+	/**
+	 * Records that the input key was verified to map to the input value at the input modification
+	 * count; a value verified at another count than the cached ones replaces them all
+	 *
+	 * @param key      the key
+	 * @param value    the verified value, or null if the key was verified to be absent
+	 * @param modCount the modification count of the map the value was verified at
+	 */
+	synchronized void put(K key, V value, long modCount) {
+		if (this.modCount != modCount) {
+			values.clear();
+			this.modCount = modCount;
+		}
+		values.put(key, value);
+	}
+
+	/**
+	 * The Hit record holds a cached verified value, which may be null
+	 *
+	 * @param value the verified value
+	 */
+	record Hit<V>(V value) {
+
+	}
+}
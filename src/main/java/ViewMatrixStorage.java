@@ -0,0 +1,117 @@
+import java.util.Objects;
+
+/**
+ * ViewMatrixStorage shows a rectangular block of another storage without copying it: every lookup
+ * and scan is shifted by the offsets of the block and answered by the underlying storage
+ *
+ * @param <T> the type of the values
+ */
+final class ViewMatrixStorage<T> implements MatrixStorage<T> {
+
+	/**
+	 * The storage the block is taken from
+	 */
+	private final MatrixStorage<T> source;
+	/**
+	 * The row of the source where the block starts
+	 */
+	private final int rowOffset;
+	/**
+	 * The column of the source where the block starts
+	 */
+	private final int columnOffset;
+	/**
+	 * The number of rows of the block
+	 */
+	private final int rows;
+	/**
+	 * The number of columns of the block
+	 */
+	private final int columns;
+
+	/**
+	 * Initializes with the input source, offsets and dimensions
+	 *
+	 * @param source       the storage the block is taken from
+	 * @param rowOffset    the row of the source where the block starts
+	 * @param columnOffset the column of the source where the block starts
+	 * @param rows         the number of rows of the block
+	 * @param columns      the number of columns of the block
+	 */
+	private ViewMatrixStorage(MatrixStorage<T> source, int rowOffset, int columnOffset, int rows,
+		int columns) {
+		this.source = source;
+		this.rowOffset = rowOffset;
+		this.columnOffset = columnOffset;
+		this.rows = rows;
+		this.columns = columns;
+	}
+
+	/**
+	 * Returns the view of the block of source with rows x columns cells starting at row and column;
+	 * a view of a view is taken straight from the underlying storage, so nested views cost no more
+	 * than one
+	 *
+	 * @param source  the storage the block is taken from
+	 * @param row     the row of the source where the block starts
+	 * @param column  the column of the source where the block starts
+	 * @param rows    the number of rows of the block
+	 * @param columns the number of columns of the block
+	 * @param <S>     the generic type
+	 * @return the view of the block of source with rows x columns cells starting at row and column
+	 */
+	static <S> ViewMatrixStorage<S> of(MatrixStorage<S> source, int row, int column, int rows,
+		int columns) {
+		Objects.requireNonNull(source);
+		if (source instanceof ViewMatrixStorage<S> view) {
+			return new ViewMatrixStorage<>(view.source, view.rowOffset + row,
+				view.columnOffset + column, rows, columns);
+		}
+		return new ViewMatrixStorage<>(source, row, column, rows, columns);
+	}
+
+	@Override
+	public T value(Indexes indexes) {
+		return value(indexes.row(), indexes.column());
+	}
+
+	@Override
+	public T value(int row, int column) {
+		if (row < 0 || row >= rows || column < 0 || column >= columns) {
+			return null;
+		}
+		return source.value(rowOffset + row, columnOffset + column);
+	}
+
+	// Clamps the range to the block first, so a wider range never reads cells of the source
+	// outside it.
+	@Override
+	public void forEach(int fromRow, int toRow, int fromColumn, int toColumn,
+		MatrixMap.ValueConsumer<? super T> action) {
+		int firstRow = Math.max(fromRow, 0);
+		int lastRow = Math.min(toRow, rows);
+		int firstColumn = Math.max(fromColumn, 0);
+		int lastColumn = Math.min(toColumn, columns);
+		if (firstRow >= lastRow || firstColumn >= lastColumn) {
+			return;
+		}
+		source.forEach(rowOffset + firstRow, rowOffset + lastRow, columnOffset + firstColumn,
+			columnOffset + lastColumn,
+			(row, column, value) -> action.accept(row - rowOffset, column - columnOffset, value));
+	}
+
+	@Override
+	public Indexes size() {
+		return new Indexes(rows, columns);
+	}
+
+	@Override
+	public MatrixMap.Layout layout() {
+		return source.layout();
+	}
+
+	@Override
+	public String toString() {
+		return MatrixStorage.render(this);
+	}
+}
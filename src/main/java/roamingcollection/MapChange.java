@@ -0,0 +1,52 @@
+package roamingcollection;
+
+import java.util.Objects;
+
+// A single write made to a RoamingMap, as delivered to its change listeners. A PUT carries the
+// value it replaced, or null for a new key; a REMOVE and a POLL carry the value they removed; a
+// CLEAR empties the whole map and carries no key.
+public record MapChange<K, V>(Kind kind, K key, V oldValue, V newValue) {
+
+	public MapChange {
+		Objects.requireNonNull(kind);
+	}
+
+	public static <K, V> MapChange<K, V> put(K key, V oldValue, V newValue) {
+		return new MapChange<>(Kind.PUT, key, oldValue, newValue);
+	}
+
+	public static <K, V> MapChange<K, V> remove(K key, V oldValue) {
+		return new MapChange<>(Kind.REMOVE, key, oldValue, null);
+	}
+
+	public static <K, V> MapChange<K, V> poll(K key, V oldValue) {
+		return new MapChange<>(Kind.POLL, key, oldValue, null);
+	}
+
+	public static <K, V> MapChange<K, V> clear() {
+		return new MapChange<>(Kind.CLEAR, null, null, null);
+	}
+
+	/**
+	 * The Enum Kind with the kinds of writes a RoamingMap reports
+	 */
+	public enum Kind {
+		/**
+		 * A key was mapped to a new value, by put or by setValue on an entry
+		 */
+		PUT,
+		/**
+		 * A key was removed by remove, or through a view, iterator or range clear
+		 */
+		REMOVE,
+		/**
+		 * The first or last entry of the map or of a range view was removed by pollFirstEntry or
+		 * pollLastEntry
+		 */
+		POLL,
+		/**
+		 * Every entry of the map was removed at once
+		 */
+		CLEAR
+	}
+}
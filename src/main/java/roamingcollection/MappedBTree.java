@@ -0,0 +1,539 @@
+package roamingcollection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// B+tree of fixed-width entries stored in fixed-size pages of a memory-mapped file. Pages are mapped
+// in chunks, so the file can exceed the 2 GB limit of a single MappedByteBuffer, and all state,
+// including the header, lives in the file so the tree can be reopened without a rebuild.
+//
+// Positions of entries are returned as (page << 32 | slot) and are only valid until the next
+// structural change, which modCount tracks. Removal never merges pages: it only shifts entries
+// inside a leaf, and navigation skips leaves that became empty.
+final class MappedBTree<K extends Comparable<K>, V> {
+
+	static final int PAGE_SIZE = 4096;
+	private static final int PAGES_PER_CHUNK = 1 << 14;
+	private static final long CHUNK_SIZE = (long) PAGE_SIZE * PAGES_PER_CHUNK;
+
+	// Header page layout
+	private static final int MAGIC = 0x524D4150;
+	private static final int VERSION = 2;
+	private static final int MAGIC_OFFSET = 0;
+	private static final int VERSION_OFFSET = 4;
+	private static final int KEY_WIDTH_OFFSET = 8;
+	private static final int VALUE_WIDTH_OFFSET = 12;
+	private static final int ROOT_OFFSET = 16;
+	private static final int PAGE_COUNT_OFFSET = 20;
+	private static final int LAST_LEAF_OFFSET = 24;
+	private static final int SIZE_OFFSET = 32;
+	private static final int KEY_CODEC_OFFSET = 40;
+	private static final int VALUE_CODEC_OFFSET = 44;
+
+	// Node page layout: type, count, then for leaves the sibling links and the entries, and for
+	// inner pages count + 1 child pages followed by count separator keys.
+	private static final byte LEAF = 1;
+	private static final byte INNER = 2;
+	private static final int TYPE_OFFSET = 0;
+	private static final int COUNT_OFFSET = 4;
+	private static final int PREV_OFFSET = 8;
+	private static final int NEXT_OFFSET = 12;
+	private static final int ENTRIES_OFFSET = 16;
+	private static final int CHILDREN_OFFSET = 8;
+
+	private static final int HEADER_PAGE = 0;
+	private static final int FIRST_LEAF = 1;
+	private static final int NONE = 0;
+
+	private final FileChannel channel;
+	private final List<MappedByteBuffer> chunks = new ArrayList<>();
+	private final MappedNavigableMap.Codec<K> keyCodec;
+	private final MappedNavigableMap.Codec<V> valueCodec;
+	private final int keyWidth;
+	private final int entryWidth;
+	private final int leafCapacity;
+	private final int innerCapacity;
+	private final int keysOffset;
+
+	private int root;
+	private int pageCount;
+	private int lastLeaf;
+	private long size;
+	int modCount;
+
+	private MappedBTree(FileChannel channel, MappedNavigableMap.Codec<K> keyCodec,
+		MappedNavigableMap.Codec<V> valueCodec) {
+		this.channel = channel;
+		this.keyCodec = keyCodec;
+		this.valueCodec = valueCodec;
+		this.keyWidth = keyCodec.width();
+		this.entryWidth = keyWidth + valueCodec.width();
+		this.leafCapacity = (PAGE_SIZE - ENTRIES_OFFSET) / entryWidth;
+		this.innerCapacity = (PAGE_SIZE - CHILDREN_OFFSET - Integer.BYTES) / (keyWidth + Integer.BYTES);
+		this.keysOffset = CHILDREN_OFFSET + (innerCapacity + 1) * Integer.BYTES;
+	}
+
+	static <K extends Comparable<K>, V> MappedBTree<K, V> open(Path path,
+		MappedNavigableMap.Codec<K> keyCodec, MappedNavigableMap.Codec<V> valueCodec)
+		throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+			StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			MappedBTree<K, V> tree = new MappedBTree<>(channel, keyCodec, valueCodec);
+			if (tree.leafCapacity < 2 || tree.innerCapacity < 3) {
+				throw new IllegalArgumentException("Entries of " + tree.entryWidth
+					+ " bytes do not fit the " + PAGE_SIZE + " byte pages");
+			}
+			if (channel.size() == 0) {
+				tree.initialize();
+			} else {
+				tree.load();
+			}
+			return tree;
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private void initialize() throws IOException {
+		MappedByteBuffer header = chunk(HEADER_PAGE);
+		header.putInt(MAGIC_OFFSET, MAGIC);
+		header.putInt(VERSION_OFFSET, VERSION);
+		header.putInt(KEY_WIDTH_OFFSET, keyWidth);
+		header.putInt(VALUE_WIDTH_OFFSET, valueCodec.width());
+		header.putInt(KEY_CODEC_OFFSET, keyCodec.id());
+		header.putInt(VALUE_CODEC_OFFSET, valueCodec.id());
+		pageCount = FIRST_LEAF;
+		root = allocate(LEAF);
+		lastLeaf = root;
+		writeHeader();
+	}
+
+	private void load() throws IOException {
+		MappedByteBuffer header = chunk(HEADER_PAGE);
+		if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION) {
+			throw new IOException("Not a mapped map file of version " + VERSION);
+		}
+		if (header.getInt(KEY_WIDTH_OFFSET) != keyWidth
+			|| header.getInt(VALUE_WIDTH_OFFSET) != valueCodec.width()
+			|| header.getInt(KEY_CODEC_OFFSET) != keyCodec.id()
+			|| header.getInt(VALUE_CODEC_OFFSET) != valueCodec.id()) {
+			throw new IOException("The codecs do not match the codecs the file was written with");
+		}
+		root = header.getInt(ROOT_OFFSET);
+		pageCount = header.getInt(PAGE_COUNT_OFFSET);
+		lastLeaf = header.getInt(LAST_LEAF_OFFSET);
+		size = header.getLong(SIZE_OFFSET);
+		chunk(pageCount - 1);
+	}
+
+	private void writeHeader() {
+		MappedByteBuffer header = chunks.get(0);
+		header.putInt(ROOT_OFFSET, root);
+		header.putInt(PAGE_COUNT_OFFSET, pageCount);
+		header.putInt(LAST_LEAF_OFFSET, lastLeaf);
+		header.putLong(SIZE_OFFSET, size);
+	}
+
+	void force() {
+		chunks.forEach(MappedByteBuffer::force);
+	}
+
+	void close() throws IOException {
+		force();
+		chunks.clear();
+		channel.close();
+	}
+
+	long size() {
+		return size;
+	}
+
+// -------------------------- Pages --------------------------
+
+	private MappedByteBuffer chunk(int page) throws IOException {
+		int index = page / PAGES_PER_CHUNK;
+		while (chunks.size() <= index) {
+			chunks.add(channel.map(FileChannel.MapMode.READ_WRITE, chunks.size() * CHUNK_SIZE,
+				CHUNK_SIZE));
+		}
+		return chunks.get(index);
+	}
+
+	// Pages of existing chunks are always mapped, so only allocate may need to map a new chunk.
+	private MappedByteBuffer buffer(int page) {
+		return chunks.get(page / PAGES_PER_CHUNK);
+	}
+
+	private static int base(int page) {
+		return (page % PAGES_PER_CHUNK) * PAGE_SIZE;
+	}
+
+	private int allocate(byte type) throws IOException {
+		int page = pageCount++;
+		MappedByteBuffer buffer = chunk(page);
+		int base = base(page);
+		buffer.put(base + TYPE_OFFSET, type);
+		buffer.putInt(base + COUNT_OFFSET, 0);
+		buffer.putInt(base + PREV_OFFSET, NONE);
+		buffer.putInt(base + NEXT_OFFSET, NONE);
+		return page;
+	}
+
+	private boolean isLeaf(int page) {
+		return buffer(page).get(base(page) + TYPE_OFFSET) == LEAF;
+	}
+
+	private int count(int page) {
+		return buffer(page).getInt(base(page) + COUNT_OFFSET);
+	}
+
+	private void setCount(int page, int count) {
+		buffer(page).putInt(base(page) + COUNT_OFFSET, count);
+	}
+
+	private int nextLeaf(int page) {
+		return buffer(page).getInt(base(page) + NEXT_OFFSET);
+	}
+
+	private int prevLeaf(int page) {
+		return buffer(page).getInt(base(page) + PREV_OFFSET);
+	}
+
+	private void setNext(int page, int next) {
+		buffer(page).putInt(base(page) + NEXT_OFFSET, next);
+	}
+
+	private void setPrev(int page, int prev) {
+		buffer(page).putInt(base(page) + PREV_OFFSET, prev);
+	}
+
+	private int entryOffset(int page, int slot) {
+		return base(page) + ENTRIES_OFFSET + slot * entryWidth;
+	}
+
+	private K leafKey(int page, int slot) {
+		return keyCodec.read(buffer(page), entryOffset(page, slot));
+	}
+
+	private V leafValue(int page, int slot) {
+		return valueCodec.read(buffer(page), entryOffset(page, slot) + keyWidth);
+	}
+
+	// Encodes the entry up front, so a codec that rejects it leaves the pages untouched.
+	private byte[] encode(K key, V value) {
+		ByteBuffer entry = ByteBuffer.allocate(entryWidth);
+		keyCodec.write(entry, 0, key);
+		valueCodec.write(entry, keyWidth, value);
+		return entry.array();
+	}
+
+	private void writeEntry(int page, int slot, byte[] entry) {
+		buffer(page).put(entryOffset(page, slot), entry);
+	}
+
+	private int child(int page, int index) {
+		return buffer(page).getInt(base(page) + CHILDREN_OFFSET + index * Integer.BYTES);
+	}
+
+	private void setChild(int page, int index, int child) {
+		buffer(page).putInt(base(page) + CHILDREN_OFFSET + index * Integer.BYTES, child);
+	}
+
+	private int keyOffset(int page, int index) {
+		return base(page) + keysOffset + index * keyWidth;
+	}
+
+	private K innerKey(int page, int index) {
+		return keyCodec.read(buffer(page), keyOffset(page, index));
+	}
+
+	// Copies length bytes inside the file; the ranges may overlap.
+	private void move(int fromPage, int fromOffset, int toPage, int toOffset, int length) {
+		byte[] bytes = new byte[length];
+		buffer(fromPage).get(fromOffset, bytes);
+		buffer(toPage).put(toOffset, bytes);
+	}
+
+// -------------------------- Search --------------------------
+
+	// Returns the number of separators of the inner page that are less than or equal to key.
+	private int childIndex(int page, Object key) {
+		int low = 0;
+		int high = count(page);
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (compare(key, innerKey(page, middle)) >= 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	// Returns the slot of key in the leaf, or -(insertion point + 1) if it is absent.
+	private int search(int page, Object key) {
+		int low = 0;
+		int high = count(page) - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int cmp = compare(key, leafKey(page, middle));
+			if (cmp > 0) {
+				low = middle + 1;
+			} else if (cmp < 0) {
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+		return -(low + 1);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K extends Comparable<K>> int compare(Object key, K other) {
+		return ((K) key).compareTo(other);
+	}
+
+	private int leafOf(Object key) {
+		int page = root;
+		while (!isLeaf(page)) {
+			page = child(page, childIndex(page, key));
+		}
+		return page;
+	}
+
+	V get(Object key) {
+		int page = leafOf(key);
+		int slot = search(page, key);
+		return (slot < 0) ? null : leafValue(page, slot);
+	}
+
+// -------------------------- Positions --------------------------
+
+	static final long NO_POSITION = -1;
+
+	private static long position(int page, int slot) {
+		return ((long) page << 32) | slot;
+	}
+
+	private static int page(long position) {
+		return (int) (position >>> 32);
+	}
+
+	private static int slot(long position) {
+		return (int) position;
+	}
+
+	K key(long position) {
+		return leafKey(page(position), slot(position));
+	}
+
+	V value(long position) {
+		return leafValue(page(position), slot(position));
+	}
+
+	long first() {
+		return forwardFrom(FIRST_LEAF);
+	}
+
+	long last() {
+		return backwardFrom(lastLeaf);
+	}
+
+	long next(long position) {
+		int page = page(position);
+		int slot = slot(position) + 1;
+		return (slot < count(page)) ? position(page, slot) : forwardFrom(nextLeaf(page));
+	}
+
+	long previous(long position) {
+		int page = page(position);
+		int slot = slot(position);
+		return (slot > 0) ? position(page, slot - 1) : backwardFrom(prevLeaf(page));
+	}
+
+	private long forwardFrom(int page) {
+		while (page != NONE && count(page) == 0) {
+			page = nextLeaf(page);
+		}
+		return (page == NONE) ? NO_POSITION : position(page, 0);
+	}
+
+	private long backwardFrom(int page) {
+		while (page != NONE && count(page) == 0) {
+			page = prevLeaf(page);
+		}
+		return (page == NONE) ? NO_POSITION : position(page, count(page) - 1);
+	}
+
+	// Returns the position of the least key greater than key, or greater than or equal if inclusive.
+	long ceiling(Object key, boolean inclusive) {
+		int page = leafOf(key);
+		int slot = search(page, key);
+		if (slot < 0) {
+			slot = -(slot + 1);
+		} else if (!inclusive) {
+			slot++;
+		}
+		return (slot < count(page)) ? position(page, slot) : forwardFrom(nextLeaf(page));
+	}
+
+	// Returns the position of the greatest key less than key, or less than or equal if inclusive.
+	long floor(Object key, boolean inclusive) {
+		int page = leafOf(key);
+		int slot = search(page, key);
+		if (slot < 0) {
+			slot = -(slot + 1) - 1;
+		} else if (!inclusive) {
+			slot--;
+		}
+		return (slot >= 0) ? position(page, slot) : backwardFrom(prevLeaf(page));
+	}
+
+// -------------------------- Updates --------------------------
+
+	// Separator and new right sibling produced by splitting a page.
+	private record Split<K>(K separator, int right) {
+
+	}
+
+	V put(K key, V value) throws IOException {
+		byte[] entry = encode(key, value);
+		int page = leafOf(key);
+		int slot = search(page, key);
+		if (slot >= 0) {
+			V previous = leafValue(page, slot);
+			writeEntry(page, slot, entry);
+			return previous;
+		}
+		Split<K> split = insert(root, key, entry);
+		if (split != null) {
+			int newRoot = allocate(INNER);
+			setChild(newRoot, 0, root);
+			setChild(newRoot, 1, split.right());
+			keyCodec.write(buffer(newRoot), keyOffset(newRoot, 0), split.separator());
+			setCount(newRoot, 1);
+			root = newRoot;
+		}
+		size++;
+		modCount++;
+		writeHeader();
+		return null;
+	}
+
+	private Split<K> insert(int page, K key, byte[] entry) throws IOException {
+		if (isLeaf(page)) {
+			return insertIntoLeaf(page, -(search(page, key) + 1), entry);
+		}
+		int index = childIndex(page, key);
+		Split<K> split = insert(child(page, index), key, entry);
+		return (split == null) ? null : insertIntoInner(page, index, split);
+	}
+
+	private Split<K> insertIntoLeaf(int page, int slot, byte[] entry) throws IOException {
+		int count = count(page);
+		if (count < leafCapacity) {
+			move(page, entryOffset(page, slot), page, entryOffset(page, slot + 1),
+				(count - slot) * entryWidth);
+			writeEntry(page, slot, entry);
+			setCount(page, count + 1);
+			return null;
+		}
+		int right = allocate(LEAF);
+		int keep = (count + 1) / 2;
+		move(page, entryOffset(page, keep), right, entryOffset(right, 0), (count - keep) * entryWidth);
+		setCount(page, keep);
+		setCount(right, count - keep);
+		int next = nextLeaf(page);
+		setNext(right, next);
+		setPrev(right, page);
+		setNext(page, right);
+		if (next == NONE) {
+			lastLeaf = right;
+		} else {
+			setPrev(next, right);
+		}
+		if (slot <= keep) {
+			insertIntoLeaf(page, slot, entry);
+		} else {
+			insertIntoLeaf(right, slot - keep, entry);
+		}
+		return new Split<>(leafKey(right, 0), right);
+	}
+
+	private Split<K> insertIntoInner(int page, int index, Split<K> split) throws IOException {
+		int count = count(page);
+		if (count < innerCapacity) {
+			move(page, keyOffset(page, index), page, keyOffset(page, index + 1),
+				(count - index) * keyWidth);
+			int childrenBase = base(page) + CHILDREN_OFFSET;
+			move(page, childrenBase + (index + 1) * Integer.BYTES, page,
+				childrenBase + (index + 2) * Integer.BYTES, (count - index) * Integer.BYTES);
+			keyCodec.write(buffer(page), keyOffset(page, index), split.separator());
+			setChild(page, index + 1, split.right());
+			setCount(page, count + 1);
+			return null;
+		}
+		List<K> keys = new ArrayList<>(count + 1);
+		List<Integer> children = new ArrayList<>(count + 2);
+		for (int i = 0; i < count; i++) {
+			keys.add(innerKey(page, i));
+		}
+		for (int i = 0; i <= count; i++) {
+			children.add(child(page, i));
+		}
+		keys.add(index, split.separator());
+		children.add(index + 1, split.right());
+		int middle = keys.size() / 2;
+		int right = allocate(INNER);
+		writeInner(page, keys.subList(0, middle), children.subList(0, middle + 1));
+		writeInner(right, keys.subList(middle + 1, keys.size()),
+			children.subList(middle + 1, children.size()));
+		return new Split<>(keys.get(middle), right);
+	}
+
+	private void writeInner(int page, List<K> keys, List<Integer> children) {
+		for (int i = 0; i < keys.size(); i++) {
+			keyCodec.write(buffer(page), keyOffset(page, i), keys.get(i));
+		}
+		for (int i = 0; i < children.size(); i++) {
+			setChild(page, i, children.get(i));
+		}
+		setCount(page, keys.size());
+	}
+
+	V remove(Object key) {
+		int page = leafOf(key);
+		int slot = search(page, key);
+		if (slot < 0) {
+			return null;
+		}
+		V previous = leafValue(page, slot);
+		int count = count(page);
+		move(page, entryOffset(page, slot + 1), page, entryOffset(page, slot),
+			(count - slot - 1) * entryWidth);
+		setCount(page, count - 1);
+		size--;
+		modCount++;
+		writeHeader();
+		return previous;
+	}
+
+	// Drops every page but the header and starts over with one empty leaf; the file keeps its size.
+	void clear() throws IOException {
+		pageCount = FIRST_LEAF;
+		root = allocate(LEAF);
+		lastLeaf = root;
+		size = 0;
+		modCount++;
+		writeHeader();
+	}
+}
@@ -0,0 +1,703 @@
+package roamingcollection;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+
+// Off-heap NavigableMap backed by a B+tree in a memory-mapped file, for maps too large to keep as a
+// TreeMap node graph on the heap. Keys and values are stored through fixed-width codecs, so the only
+// heap objects are the ones decoded on access. The file keeps all state, so reopening it with the
+// same codecs restores the map without a rebuild. Like TreeMap it rejects null keys and values and
+// is not thread-safe. It can be wrapped by RoamingMap through the injection constructor.
+public final class MappedNavigableMap<K extends Comparable<K>, V> extends AbstractMap<K, V> implements
+	NavigableMap<K, V>, Closeable {
+
+	private final MappedBTree<K, V> tree;
+	// Range and direction of this map; the map returned by open is unbounded and ascending.
+	private final boolean descending;
+	private final boolean hasLow;
+	private final K low;
+	private final boolean lowInclusive;
+	private final boolean hasHigh;
+	private final K high;
+	private final boolean highInclusive;
+
+	private MappedNavigableMap(MappedBTree<K, V> tree, boolean descending, boolean hasLow, K low,
+		boolean lowInclusive, boolean hasHigh, K high, boolean highInclusive) {
+		this.tree = tree;
+		this.descending = descending;
+		this.hasLow = hasLow;
+		this.low = low;
+		this.lowInclusive = lowInclusive;
+		this.hasHigh = hasHigh;
+		this.high = high;
+		this.highInclusive = highInclusive;
+	}
+
+	/**
+	 * Opens the map stored in the file at path, creating an empty one if the file does not exist
+	 *
+	 * @param path       the file that stores the map
+	 * @param keyCodec   the codec of the keys
+	 * @param valueCodec the codec of the values
+	 * @return the map stored in the file at path
+	 * @throws IOException              if the file cannot be mapped, or was written with other
+	 *                                  codecs
+	 * @throws IllegalArgumentException if an entry does not fit a page
+	 */
+	public static <K extends Comparable<K>, V> MappedNavigableMap<K, V> open(Path path,
+		Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+		Objects.requireNonNull(path);
+		Objects.requireNonNull(keyCodec);
+		Objects.requireNonNull(valueCodec);
+		return new MappedNavigableMap<>(MappedBTree.open(path, keyCodec, valueCodec), false, false,
+			null, false, false, null, false);
+	}
+
+	/**
+	 * Writes every change made so far through to the file
+	 */
+	public void force() {
+		tree.force();
+	}
+
+	/**
+	 * Forces and closes the file; this map and all of its views are unusable afterwards
+	 *
+	 * @throws IOException if the file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		tree.close();
+	}
+
+// -------------------------- Range checks --------------------------
+
+	private boolean tooLow(Object key) {
+		if (!hasLow) {
+			return false;
+		}
+		int cmp = compare(key, low);
+		return cmp < 0 || (cmp == 0 && !lowInclusive);
+	}
+
+	private boolean tooHigh(Object key) {
+		if (!hasHigh) {
+			return false;
+		}
+		int cmp = compare(key, high);
+		return cmp > 0 || (cmp == 0 && !highInclusive);
+	}
+
+	private boolean inRange(Object key) {
+		return !tooLow(key) && !tooHigh(key);
+	}
+
+	// An exclusive bound of a narrower view may sit on an exclusive bound of this one, as in TreeMap.
+	private boolean allowedBound(K key, boolean inclusive) {
+		if (inclusive) {
+			return inRange(key);
+		}
+		return (!hasLow || compare(key, low) >= 0) && (!hasHigh || compare(key, high) <= 0);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K extends Comparable<K>> int compare(Object key, K other) {
+		return ((K) Objects.requireNonNull(key)).compareTo(other);
+	}
+
+// -------------------------- Positions --------------------------
+
+	private long belowHigh(long position) {
+		return (position == MappedBTree.NO_POSITION || tooHigh(tree.key(position)))
+			? MappedBTree.NO_POSITION : position;
+	}
+
+	private long aboveLow(long position) {
+		return (position == MappedBTree.NO_POSITION || tooLow(tree.key(position)))
+			? MappedBTree.NO_POSITION : position;
+	}
+
+	private long absLowest() {
+		return belowHigh(hasLow ? tree.ceiling(low, lowInclusive) : tree.first());
+	}
+
+	private long absHighest() {
+		return aboveLow(hasHigh ? tree.floor(high, highInclusive) : tree.last());
+	}
+
+	private long absCeiling(K key, boolean inclusive) {
+		return tooLow(key) ? absLowest() : belowHigh(tree.ceiling(key, inclusive));
+	}
+
+	private long absFloor(K key, boolean inclusive) {
+		return tooHigh(key) ? absHighest() : aboveLow(tree.floor(key, inclusive));
+	}
+
+	private long firstPosition() {
+		return descending ? absHighest() : absLowest();
+	}
+
+	private long lastPosition() {
+		return descending ? absLowest() : absHighest();
+	}
+
+	private long ceilingPosition(K key, boolean inclusive) {
+		return descending ? absFloor(key, inclusive) : absCeiling(key, inclusive);
+	}
+
+	private long floorPosition(K key, boolean inclusive) {
+		return descending ? absCeiling(key, inclusive) : absFloor(key, inclusive);
+	}
+
+	private long step(long position) {
+		return descending ? aboveLow(tree.previous(position)) : belowHigh(tree.next(position));
+	}
+
+	private Entry<K, V> exportEntry(long position) {
+		return (position == MappedBTree.NO_POSITION) ? null
+			: new SimpleImmutableEntry<>(tree.key(position), tree.value(position));
+	}
+
+	private K exportKey(long position) {
+		return (position == MappedBTree.NO_POSITION) ? null : tree.key(position);
+	}
+
+// -------------------------- Core Map methods --------------------------
+
+	@Override
+	public V put(K key, V value) {
+		Objects.requireNonNull(key);
+		Objects.requireNonNull(value);
+		if (!inRange(key)) {
+			throw new IllegalArgumentException("key out of range");
+		}
+		try {
+			return tree.put(key, value);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public V get(Object key) {
+		return inRange(key) ? tree.get(key) : null;
+	}
+
+	@Override
+	public int size() {
+		if (!hasLow && !hasHigh) {
+			return (int) Math.min(tree.size(), Integer.MAX_VALUE);
+		}
+		int size = 0;
+		for (long position = absLowest(); position != MappedBTree.NO_POSITION;
+			position = belowHigh(tree.next(position))) {
+			size++;
+		}
+		return size;
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		return new AbstractSet<>() {
+
+			@Override
+			public Iterator<Entry<K, V>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return MappedNavigableMap.this.size();
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				return o instanceof Map.Entry<?, ?> entry && entry.getKey() != null
+					&& Objects.equals(get(entry.getKey()), entry.getValue());
+			}
+
+			@Override
+			public boolean remove(Object o) {
+				if (!contains(o)) {
+					return false;
+				}
+				MappedNavigableMap.this.remove(((Entry<?, ?>) o).getKey());
+				return true;
+			}
+		};
+	}
+
+	// Walks the leaves in the direction of this map. Its own removals re-find the next entry by key;
+	// structural changes made any other way fail fast, as in TreeMap.
+	private final class EntryIterator implements Iterator<Entry<K, V>> {
+
+		private long next = firstPosition();
+		private K lastKey;
+		private int expectedModCount = tree.modCount;
+
+		@Override
+		public boolean hasNext() {
+			return next != MappedBTree.NO_POSITION;
+		}
+
+		@Override
+		public Entry<K, V> next() {
+			if (next == MappedBTree.NO_POSITION) {
+				throw new NoSuchElementException();
+			}
+			if (tree.modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			K key = tree.key(next);
+			V value = tree.value(next);
+			lastKey = key;
+			next = step(next);
+			return new SimpleEntry<>(key, value) {
+
+				@Override
+				public V setValue(V value) {
+					put(getKey(), value);
+					return super.setValue(value);
+				}
+			};
+		}
+
+		@Override
+		public void remove() {
+			if (lastKey == null) {
+				throw new IllegalStateException();
+			}
+			if (tree.modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			K following = exportKey(next);
+			tree.remove(lastKey);
+			lastKey = null;
+			expectedModCount = tree.modCount;
+			next = (following == null) ? MappedBTree.NO_POSITION : tree.ceiling(following, true);
+		}
+	}
+
+// -------------------------- Remaining Map interface methods --------------------------
+
+	@Override
+	public V remove(Object key) {
+		return inRange(key) ? tree.remove(key) : null;
+	}
+
+	@Override
+	public void clear() {
+		if (hasLow || hasHigh) {
+			entrySet().clear();
+			return;
+		}
+		try {
+			tree.clear();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return get(key) != null;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return firstPosition() == MappedBTree.NO_POSITION;
+	}
+
+	@Override
+	public Collection<V> values() {
+		return new AbstractCollection<>() {
+
+			@Override
+			public Iterator<V> iterator() {
+				Iterator<Entry<K, V>> entries = new EntryIterator();
+				return new Iterator<>() {
+
+					@Override
+					public boolean hasNext() {
+						return entries.hasNext();
+					}
+
+					@Override
+					public V next() {
+						return entries.next().getValue();
+					}
+
+					@Override
+					public void remove() {
+						entries.remove();
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return MappedNavigableMap.this.size();
+			}
+		};
+	}
+
+// -------------------------- NavigableMap methods --------------------------
+
+	@Override
+	public Entry<K, V> lowerEntry(K key) {
+		return exportEntry(floorPosition(key, false));
+	}
+
+	@Override
+	public Entry<K, V> floorEntry(K key) {
+		return exportEntry(floorPosition(key, true));
+	}
+
+	@Override
+	public Entry<K, V> ceilingEntry(K key) {
+		return exportEntry(ceilingPosition(key, true));
+	}
+
+	@Override
+	public Entry<K, V> higherEntry(K key) {
+		return exportEntry(ceilingPosition(key, false));
+	}
+
+	@Override
+	public K lowerKey(K key) {
+		return exportKey(floorPosition(key, false));
+	}
+
+	@Override
+	public K floorKey(K key) {
+		return exportKey(floorPosition(key, true));
+	}
+
+	@Override
+	public K ceilingKey(K key) {
+		return exportKey(ceilingPosition(key, true));
+	}
+
+	@Override
+	public K higherKey(K key) {
+		return exportKey(ceilingPosition(key, false));
+	}
+
+	@Override
+	public Entry<K, V> firstEntry() {
+		return exportEntry(firstPosition());
+	}
+
+	@Override
+	public Entry<K, V> lastEntry() {
+		return exportEntry(lastPosition());
+	}
+
+	@Override
+	public K firstKey() {
+		return requireKey(firstPosition());
+	}
+
+	@Override
+	public K lastKey() {
+		return requireKey(lastPosition());
+	}
+
+	private K requireKey(long position) {
+		if (position == MappedBTree.NO_POSITION) {
+			throw new NoSuchElementException();
+		}
+		return tree.key(position);
+	}
+
+	@Override
+	public Entry<K, V> pollFirstEntry() {
+		return poll(firstEntry());
+	}
+
+	@Override
+	public Entry<K, V> pollLastEntry() {
+		return poll(lastEntry());
+	}
+
+	private Entry<K, V> poll(Entry<K, V> entry) {
+		if (entry != null) {
+			tree.remove(entry.getKey());
+		}
+		return entry;
+	}
+
+	@Override
+	public NavigableMap<K, V> descendingMap() {
+		return new MappedNavigableMap<>(tree, !descending, hasLow, low, lowInclusive, hasHigh, high,
+			highInclusive);
+	}
+
+	@Override
+	public Set<K> keySet() {
+		return navigableKeySet();
+	}
+
+	@Override
+	public NavigableSet<K> navigableKeySet() {
+		return new KeySetView<>(this);
+	}
+
+	@Override
+	public NavigableSet<K> descendingKeySet() {
+		return new KeySetView<>(descendingMap());
+	}
+
+	@Override
+	public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey,
+		boolean toInclusive) {
+		int cmp = compare(fromKey, toKey);
+		if (descending ? cmp < 0 : cmp > 0) {
+			throw new IllegalArgumentException("fromKey > toKey");
+		}
+		return descending ? restrict(true, toKey, toInclusive, true, fromKey, fromInclusive)
+			: restrict(true, fromKey, fromInclusive, true, toKey, toInclusive);
+	}
+
+	@Override
+	public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+		return descending ? restrict(true, toKey, inclusive, false, null, false)
+			: restrict(false, null, false, true, toKey, inclusive);
+	}
+
+	@Override
+	public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+		return descending ? restrict(false, null, false, true, fromKey, inclusive)
+			: restrict(true, fromKey, inclusive, false, null, false);
+	}
+
+	@Override
+	public SortedMap<K, V> subMap(K fromKey, K toKey) {
+		return subMap(fromKey, true, toKey, false);
+	}
+
+	@Override
+	public SortedMap<K, V> headMap(K toKey) {
+		return headMap(toKey, false);
+	}
+
+	@Override
+	public SortedMap<K, V> tailMap(K fromKey) {
+		return tailMap(fromKey, true);
+	}
+
+	private MappedNavigableMap<K, V> restrict(boolean newHasLow, K newLow, boolean newLowInclusive,
+		boolean newHasHigh, K newHigh, boolean newHighInclusive) {
+		if (newHasLow && !allowedBound(newLow, newLowInclusive)
+			|| newHasHigh && !allowedBound(newHigh, newHighInclusive)) {
+			throw new IllegalArgumentException("key out of range");
+		}
+		return new MappedNavigableMap<>(tree, descending,
+			newHasLow || hasLow, newHasLow ? newLow : low, newHasLow ? newLowInclusive : lowInclusive,
+			newHasHigh || hasHigh, newHasHigh ? newHigh : high,
+			newHasHigh ? newHighInclusive : highInclusive);
+	}
+
+	@Override
+	public Comparator<? super K> comparator() {
+		return descending ? Collections.reverseOrder() : null;
+	}
+
+	/**
+	 * The Codec interface stores values of type T in a fixed number of bytes of the mapped file
+	 *
+	 * @param <T> the type of the stored values
+	 */
+	public interface Codec<T> {
+
+		/**
+		 * Returns the number of bytes every value takes
+		 *
+		 * @return the number of bytes every value takes
+		 */
+		int width();
+
+		/**
+		 * Returns the identifier of the encoding, stored in the file next to the width so that a
+		 * file is not read with a codec of the same width that encodes values differently. Codecs
+		 * that encode values differently must return different identifiers; identifiers 1 to 255
+		 * are reserved for the codecs of this library.
+		 *
+		 * @return the identifier of the encoding, 0 unless overridden
+		 */
+		default int id() {
+			return 0;
+		}
+
+		/**
+		 * Writes value into the width bytes of buffer starting at offset
+		 *
+		 * @param buffer the buffer to write to
+		 * @param offset the offset of the first byte
+		 * @param value  the value to write
+		 */
+		void write(ByteBuffer buffer, int offset, T value);
+
+		/**
+		 * Returns the value stored in the width bytes of buffer starting at offset
+		 *
+		 * @param buffer the buffer to read from
+		 * @param offset the offset of the first byte
+		 * @return the value stored at offset
+		 */
+		T read(ByteBuffer buffer, int offset);
+
+		/**
+		 * Returns the codec of int values
+		 *
+		 * @return the codec of int values
+		 */
+		static Codec<Integer> integers() {
+			return new Codec<>() {
+
+				@Override
+				public int width() {
+					return Integer.BYTES;
+				}
+
+				@Override
+				public int id() {
+					return 1;
+				}
+
+				@Override
+				public void write(ByteBuffer buffer, int offset, Integer value) {
+					buffer.putInt(offset, value);
+				}
+
+				@Override
+				public Integer read(ByteBuffer buffer, int offset) {
+					return buffer.getInt(offset);
+				}
+			};
+		}
+
+		/**
+		 * Returns the codec of long values
+		 *
+		 * @return the codec of long values
+		 */
+		static Codec<Long> longs() {
+			return new Codec<>() {
+
+				@Override
+				public int width() {
+					return Long.BYTES;
+				}
+
+				@Override
+				public int id() {
+					return 2;
+				}
+
+				@Override
+				public void write(ByteBuffer buffer, int offset, Long value) {
+					buffer.putLong(offset, value);
+				}
+
+				@Override
+				public Long read(ByteBuffer buffer, int offset) {
+					return buffer.getLong(offset);
+				}
+			};
+		}
+
+		/**
+		 * Returns the codec of double values
+		 *
+		 * @return the codec of double values
+		 */
+		static Codec<Double> doubles() {
+			return new Codec<>() {
+
+				@Override
+				public int width() {
+					return Double.BYTES;
+				}
+
+				@Override
+				public int id() {
+					return 3;
+				}
+
+				@Override
+				public void write(ByteBuffer buffer, int offset, Double value) {
+					buffer.putDouble(offset, value);
+				}
+
+				@Override
+				public Double read(ByteBuffer buffer, int offset) {
+					return buffer.getDouble(offset);
+				}
+			};
+		}
+
+		/**
+		 * Returns the codec of strings whose UTF-8 encoding takes at most maxBytes bytes
+		 *
+		 * @param maxBytes the maximum number of bytes of an encoded string
+		 * @return the codec of strings whose UTF-8 encoding takes at most maxBytes bytes
+		 * @throws IllegalArgumentException if maxBytes is not between 0 and Short.MAX_VALUE; the
+		 *                                  codec throws it on write for strings that are too long
+		 */
+		static Codec<String> strings(int maxBytes) {
+			if (maxBytes < 0 || maxBytes > Short.MAX_VALUE) {
+				throw new IllegalArgumentException("maxBytes must be between 0 and " + Short.MAX_VALUE);
+			}
+			return new Codec<>() {
+
+				@Override
+				public int width() {
+					return Short.BYTES + maxBytes;
+				}
+
+				@Override
+				public int id() {
+					return 4;
+				}
+
+				@Override
+				public void write(ByteBuffer buffer, int offset, String value) {
+					byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+					if (bytes.length > maxBytes) {
+						throw new IllegalArgumentException(
+							"String takes " + bytes.length + " bytes, more than " + maxBytes);
+					}
+					buffer.putShort(offset, (short) bytes.length);
+					buffer.put(offset + Short.BYTES, bytes);
+				}
+
+				@Override
+				public String read(ByteBuffer buffer, int offset) {
+					byte[] bytes = new byte[buffer.getShort(offset)];
+					buffer.get(offset + Short.BYTES, bytes);
+					return new String(bytes, StandardCharsets.UTF_8);
+				}
+			};
+		}
+	}
+}
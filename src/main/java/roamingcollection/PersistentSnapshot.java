@@ -0,0 +1,340 @@
+package roamingcollection;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import roamingcollection.PersistentTree.Node;
+
+// Immutable NavigableMap over one version of a PersistentTree, optionally restricted to a key range.
+// Creating it is O(1); lookups, navigation and size are O(log n). Descending views are the only
+// operations that copy the entries.
+final class PersistentSnapshot<K, V> extends AbstractMap<K, V> implements NavigableMap<K, V> {
+
+	private final Comparator<? super K> comparator;
+	private final Node<K, V> root;
+	private final boolean hasLow;
+	private final K low;
+	private final boolean lowInclusive;
+	private final boolean hasHigh;
+	private final K high;
+	private final boolean highInclusive;
+
+	PersistentSnapshot(Comparator<? super K> comparator, Node<K, V> root) {
+		this(comparator, root, false, null, false, false, null, false);
+	}
+
+	private PersistentSnapshot(Comparator<? super K> comparator, Node<K, V> root, boolean hasLow,
+		K low, boolean lowInclusive, boolean hasHigh, K high, boolean highInclusive) {
+		this.comparator = comparator;
+		this.root = root;
+		this.hasLow = hasLow;
+		this.low = low;
+		this.lowInclusive = lowInclusive;
+		this.hasHigh = hasHigh;
+		this.high = high;
+		this.highInclusive = highInclusive;
+	}
+
+// -------------------------- Range checks --------------------------
+
+	private boolean tooLow(Object key) {
+		if (!hasLow) {
+			return false;
+		}
+		int cmp = PersistentTree.compare(comparator, key, low);
+		return cmp < 0 || (cmp == 0 && !lowInclusive);
+	}
+
+	private boolean tooHigh(Object key) {
+		if (!hasHigh) {
+			return false;
+		}
+		int cmp = PersistentTree.compare(comparator, key, high);
+		return cmp > 0 || (cmp == 0 && !highInclusive);
+	}
+
+	private boolean inRange(Object key) {
+		return !tooLow(key) && !tooHigh(key);
+	}
+
+	// An exclusive bound of a narrower view may sit on an exclusive bound of this one, as in TreeMap.
+	private boolean allowedBound(K key, boolean inclusive) {
+		if (inclusive) {
+			return inRange(key);
+		}
+		return (!hasLow || PersistentTree.compare(comparator, key, low) >= 0)
+			&& (!hasHigh || PersistentTree.compare(comparator, key, high) <= 0);
+	}
+
+	private Node<K, V> inRangeOrNull(Node<K, V> node) {
+		return (node != null && inRange(node.key)) ? node : null;
+	}
+
+	private Node<K, V> lowestNode() {
+		Node<K, V> node = hasLow ? PersistentTree.ceiling(comparator, root, low, lowInclusive)
+			: PersistentTree.first(root);
+		return (node != null && !tooHigh(node.key)) ? node : null;
+	}
+
+	private Node<K, V> highestNode() {
+		Node<K, V> node = hasHigh ? PersistentTree.floor(comparator, root, high, highInclusive)
+			: PersistentTree.last(root);
+		return (node != null && !tooLow(node.key)) ? node : null;
+	}
+
+// -------------------------- Core Map methods --------------------------
+
+	@Override
+	public V get(Object key) {
+		Objects.requireNonNull(key);
+		Node<K, V> node = inRange(key) ? PersistentTree.find(comparator, root, key) : null;
+		return (node == null) ? null : node.value;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		Objects.requireNonNull(key);
+		return inRange(key) && PersistentTree.find(comparator, root, key) != null;
+	}
+
+	@Override
+	public int size() {
+		int below = hasLow ? PersistentTree.countBelow(comparator, root, low, !lowInclusive) : 0;
+		int upTo = hasHigh ? PersistentTree.countBelow(comparator, root, high, highInclusive)
+			: PersistentTree.size(root);
+		return Math.max(0, upTo - below);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return lowestNode() == null;
+	}
+
+	@Override
+	public V put(K key, V value) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public V remove(Object key) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void clear() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		return new AbstractSet<>() {
+
+			@Override
+			public Iterator<Entry<K, V>> iterator() {
+				return new Iterator<>() {
+
+					private final PersistentTree.AscendingIterator<K, V> nodes =
+						new PersistentTree.AscendingIterator<>(root, PersistentSnapshot.this::tooLow);
+
+					@Override
+					public boolean hasNext() {
+						return nodes.hasNext() && !tooHigh(nodes.peek().key);
+					}
+
+					@Override
+					public Entry<K, V> next() {
+						if (!hasNext()) {
+							throw new NoSuchElementException();
+						}
+						return nodes.next();
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return PersistentSnapshot.this.size();
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				if (!(o instanceof Map.Entry<?, ?> entry) || entry.getKey() == null) {
+					return false;
+				}
+				Node<K, V> node = inRange(entry.getKey()) ? PersistentTree.find(comparator, root,
+					entry.getKey()) : null;
+				return node != null && Objects.equals(node.value, entry.getValue());
+			}
+		};
+	}
+
+// -------------------------- NavigableMap methods --------------------------
+
+	@Override
+	public Entry<K, V> lowerEntry(K key) {
+		return tooHigh(key) ? highestNode()
+			: inRangeOrNull(PersistentTree.floor(comparator, root, key, false));
+	}
+
+	@Override
+	public Entry<K, V> floorEntry(K key) {
+		return tooHigh(key) ? highestNode()
+			: inRangeOrNull(PersistentTree.floor(comparator, root, key, true));
+	}
+
+	@Override
+	public Entry<K, V> ceilingEntry(K key) {
+		return tooLow(key) ? lowestNode()
+			: inRangeOrNull(PersistentTree.ceiling(comparator, root, key, true));
+	}
+
+	@Override
+	public Entry<K, V> higherEntry(K key) {
+		return tooLow(key) ? lowestNode()
+			: inRangeOrNull(PersistentTree.ceiling(comparator, root, key, false));
+	}
+
+	@Override
+	public K lowerKey(K key) {
+		return keyOrNull(lowerEntry(key));
+	}
+
+	@Override
+	public K floorKey(K key) {
+		return keyOrNull(floorEntry(key));
+	}
+
+	@Override
+	public K ceilingKey(K key) {
+		return keyOrNull(ceilingEntry(key));
+	}
+
+	@Override
+	public K higherKey(K key) {
+		return keyOrNull(higherEntry(key));
+	}
+
+	private static <K> K keyOrNull(Entry<K, ?> entry) {
+		return (entry == null) ? null : entry.getKey();
+	}
+
+	@Override
+	public Entry<K, V> firstEntry() {
+		return lowestNode();
+	}
+
+	@Override
+	public Entry<K, V> lastEntry() {
+		return highestNode();
+	}
+
+	@Override
+	public K firstKey() {
+		Node<K, V> node = lowestNode();
+		if (node == null) {
+			throw new NoSuchElementException();
+		}
+		return node.key;
+	}
+
+	@Override
+	public K lastKey() {
+		Node<K, V> node = highestNode();
+		if (node == null) {
+			throw new NoSuchElementException();
+		}
+		return node.key;
+	}
+
+	@Override
+	public Entry<K, V> pollFirstEntry() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Entry<K, V> pollLastEntry() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Set<K> keySet() {
+		return navigableKeySet();
+	}
+
+	@Override
+	public NavigableSet<K> navigableKeySet() {
+		return new KeySetView<>(this);
+	}
+
+	@Override
+	public NavigableSet<K> descendingKeySet() {
+		return descendingMap().navigableKeySet();
+	}
+
+	// Descending views are not backed by the tree; they copy the entries of this range once.
+	@Override
+	public NavigableMap<K, V> descendingMap() {
+		return Collections.unmodifiableNavigableMap(new TreeMap<>(this).descendingMap());
+	}
+
+	@Override
+	public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey,
+		boolean toInclusive) {
+		if (PersistentTree.compare(comparator, fromKey, toKey) > 0) {
+			throw new IllegalArgumentException("fromKey > toKey");
+		}
+		return restrict(true, fromKey, fromInclusive, true, toKey, toInclusive);
+	}
+
+	@Override
+	public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+		return restrict(false, null, false, true, toKey, inclusive);
+	}
+
+	@Override
+	public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+		return restrict(true, fromKey, inclusive, false, null, false);
+	}
+
+	@Override
+	public SortedMap<K, V> subMap(K fromKey, K toKey) {
+		return subMap(fromKey, true, toKey, false);
+	}
+
+	@Override
+	public SortedMap<K, V> headMap(K toKey) {
+		return headMap(toKey, false);
+	}
+
+	@Override
+	public SortedMap<K, V> tailMap(K fromKey) {
+		return tailMap(fromKey, true);
+	}
+
+	private PersistentSnapshot<K, V> restrict(boolean newHasLow, K newLow, boolean newLowInclusive,
+		boolean newHasHigh, K newHigh, boolean newHighInclusive) {
+		if (newHasLow && !allowedBound(newLow, newLowInclusive)
+			|| newHasHigh && !allowedBound(newHigh, newHighInclusive)) {
+			throw new IllegalArgumentException("key out of range");
+		}
+		return new PersistentSnapshot<>(comparator, root,
+			newHasLow || hasLow, newHasLow ? newLow : low, newHasLow ? newLowInclusive : lowInclusive,
+			newHasHigh || hasHigh, newHasHigh ? newHigh : high,
+			newHasHigh ? newHighInclusive : highInclusive);
+	}
+
+	@Override
+	public Comparator<? super K> comparator() {
+		return comparator;
+	}
+}
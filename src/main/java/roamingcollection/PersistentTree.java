@@ -0,0 +1,318 @@
+package roamingcollection;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+// Persistent (path-copying) weight-balanced tree mirroring a RoamingMap: every update copies only the
+// O(log n) nodes on the path to the changed key, so a snapshot is just the current root and shares
+// every unchanged node with later versions.
+final class PersistentTree<K, V> {
+
+	// Balance parameters of Adams' weight-balanced trees; (3, 2) is the integer pair that keeps the
+	// tree balanced under single insertions and deletions.
+	private static final int DELTA = 3;
+	private static final int RATIO = 2;
+
+	private final Comparator<? super K> comparator;
+	private Node<K, V> root;
+
+	private PersistentTree(Comparator<? super K> comparator, Node<K, V> root) {
+		this.comparator = comparator;
+		this.root = root;
+	}
+
+	// Builds a perfectly balanced tree in O(n) from the entries of the input map, which are sorted.
+	static <K, V> PersistentTree<K, V> copyOf(NavigableMap<K, V> map) {
+		return new PersistentTree<>(map.comparator(), build(map.entrySet().iterator(), map.size()));
+	}
+
+	// Builds the subtree of the next count entries in order: the left half, then the middle entry,
+	// then the right half.
+	private static <K, V> Node<K, V> build(Iterator<Map.Entry<K, V>> entries, int count) {
+		if (count <= 0) {
+			return null;
+		}
+		int middle = count >>> 1;
+		Node<K, V> left = build(entries, middle);
+		Map.Entry<K, V> entry = entries.next();
+		return node(entry.getKey(), entry.getValue(), left, build(entries, count - middle - 1));
+	}
+
+	NavigableMap<K, V> snapshot() {
+		return new PersistentSnapshot<>(comparator, root);
+	}
+
+	void put(K key, V value) {
+		root = insert(comparator, root, key, value);
+	}
+
+	void remove(Object key) {
+		root = delete(comparator, root, key);
+	}
+
+	void clear() {
+		root = null;
+	}
+
+// -------------------------- Nodes --------------------------
+
+	static final class Node<K, V> implements Map.Entry<K, V> {
+
+		final K key;
+		final V value;
+		final Node<K, V> left;
+		final Node<K, V> right;
+		final int size;
+
+		private Node(K key, V value, Node<K, V> left, Node<K, V> right) {
+			this.key = key;
+			this.value = value;
+			this.left = left;
+			this.right = right;
+			this.size = size(left) + size(right) + 1;
+		}
+
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+
+		@Override
+		public V setValue(V value) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Map.Entry<?, ?> entry && Objects.equals(key, entry.getKey())
+				&& Objects.equals(value, entry.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(key) ^ Objects.hashCode(value);
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + value;
+		}
+	}
+
+	static int size(Node<?, ?> node) {
+		return (node == null) ? 0 : node.size;
+	}
+
+	private static <K, V> Node<K, V> node(K key, V value, Node<K, V> left, Node<K, V> right) {
+		return new Node<>(key, value, left, right);
+	}
+
+	@SuppressWarnings("unchecked")
+	static <K> int compare(Comparator<? super K> comparator, Object key, K other) {
+		return (comparator == null) ? ((Comparable<Object>) key).compareTo(other)
+			: comparator.compare((K) key, other);
+	}
+
+// -------------------------- Updates --------------------------
+
+	private static <K, V> Node<K, V> insert(Comparator<? super K> comparator, Node<K, V> node, K key,
+		V value) {
+		if (node == null) {
+			return node(key, value, null, null);
+		}
+		int cmp = compare(comparator, key, node.key);
+		if (cmp < 0) {
+			return balance(node.key, node.value, insert(comparator, node.left, key, value), node.right);
+		}
+		if (cmp > 0) {
+			return balance(node.key, node.value, node.left, insert(comparator, node.right, key, value));
+		}
+		return (node.value == value) ? node : node(node.key, value, node.left, node.right);
+	}
+
+	private static <K, V> Node<K, V> delete(Comparator<? super K> comparator, Node<K, V> node,
+		Object key) {
+		if (node == null) {
+			return null;
+		}
+		int cmp = compare(comparator, key, node.key);
+		if (cmp < 0) {
+			Node<K, V> left = delete(comparator, node.left, key);
+			return (left == node.left) ? node : balance(node.key, node.value, left, node.right);
+		}
+		if (cmp > 0) {
+			Node<K, V> right = delete(comparator, node.right, key);
+			return (right == node.right) ? node : balance(node.key, node.value, node.left, right);
+		}
+		return glue(node.left, node.right);
+	}
+
+	private static <K, V> Node<K, V> glue(Node<K, V> left, Node<K, V> right) {
+		if (left == null) {
+			return right;
+		}
+		if (right == null) {
+			return left;
+		}
+		if (left.size > right.size) {
+			Node<K, V> max = last(left);
+			return balance(max.key, max.value, deleteLast(left), right);
+		}
+		Node<K, V> min = first(right);
+		return balance(min.key, min.value, left, deleteFirst(right));
+	}
+
+	private static <K, V> Node<K, V> deleteFirst(Node<K, V> node) {
+		return (node.left == null) ? node.right
+			: balance(node.key, node.value, deleteFirst(node.left), node.right);
+	}
+
+	private static <K, V> Node<K, V> deleteLast(Node<K, V> node) {
+		return (node.right == null) ? node.left
+			: balance(node.key, node.value, node.left, deleteLast(node.right));
+	}
+
+	private static <K, V> Node<K, V> balance(K key, V value, Node<K, V> left, Node<K, V> right) {
+		int leftSize = size(left);
+		int rightSize = size(right);
+		if (leftSize + rightSize <= 1) {
+			return node(key, value, left, right);
+		}
+		if (rightSize > DELTA * leftSize) {
+			return (size(right.left) < RATIO * size(right.right))
+				? node(right.key, right.value, node(key, value, left, right.left), right.right)
+				: node(right.left.key, right.left.value, node(key, value, left, right.left.left),
+					node(right.key, right.value, right.left.right, right.right));
+		}
+		if (leftSize > DELTA * rightSize) {
+			return (size(left.right) < RATIO * size(left.left))
+				? node(left.key, left.value, left.left, node(key, value, left.right, right))
+				: node(left.right.key, left.right.value, node(left.key, left.value, left.left,
+					left.right.left), node(key, value, left.right.right, right));
+		}
+		return node(key, value, left, right);
+	}
+
+// -------------------------- Queries --------------------------
+
+	static <K, V> Node<K, V> find(Comparator<? super K> comparator, Node<K, V> node, Object key) {
+		while (node != null) {
+			int cmp = compare(comparator, key, node.key);
+			if (cmp == 0) {
+				return node;
+			}
+			node = (cmp < 0) ? node.left : node.right;
+		}
+		return null;
+	}
+
+	static <K, V> Node<K, V> floor(Comparator<? super K> comparator, Node<K, V> node, K key,
+		boolean inclusive) {
+		Node<K, V> best = null;
+		while (node != null) {
+			int cmp = compare(comparator, key, node.key);
+			if (cmp > 0 || (cmp == 0 && inclusive)) {
+				best = node;
+				node = node.right;
+			} else {
+				node = node.left;
+			}
+		}
+		return best;
+	}
+
+	static <K, V> Node<K, V> ceiling(Comparator<? super K> comparator, Node<K, V> node, K key,
+		boolean inclusive) {
+		Node<K, V> best = null;
+		while (node != null) {
+			int cmp = compare(comparator, key, node.key);
+			if (cmp < 0 || (cmp == 0 && inclusive)) {
+				best = node;
+				node = node.left;
+			} else {
+				node = node.right;
+			}
+		}
+		return best;
+	}
+
+	static <K, V> Node<K, V> first(Node<K, V> node) {
+		if (node != null) {
+			while (node.left != null) {
+				node = node.left;
+			}
+		}
+		return node;
+	}
+
+	static <K, V> Node<K, V> last(Node<K, V> node) {
+		if (node != null) {
+			while (node.right != null) {
+				node = node.right;
+			}
+		}
+		return node;
+	}
+
+	// Returns the number of keys smaller than key, or smaller than or equal to key if inclusive.
+	static <K> int countBelow(Comparator<? super K> comparator, Node<K, ?> node, K key,
+		boolean inclusive) {
+		int count = 0;
+		while (node != null) {
+			int cmp = compare(comparator, key, node.key);
+			if (cmp > 0 || (cmp == 0 && inclusive)) {
+				count += size(node.left) + 1;
+				node = node.right;
+			} else {
+				node = node.left;
+			}
+		}
+		return count;
+	}
+
+	// Iterates in ascending order from the first node accepted by the lower bound check.
+	static final class AscendingIterator<K, V> implements Iterator<Node<K, V>> {
+
+		private final ArrayDeque<Node<K, V>> stack = new ArrayDeque<>();
+
+		AscendingIterator(Node<K, V> root, Predicate<K> belowRange) {
+			Node<K, V> node = root;
+			while (node != null) {
+				if (belowRange.test(node.key)) {
+					node = node.right;
+				} else {
+					stack.push(node);
+					node = node.left;
+				}
+			}
+		}
+
+		Node<K, V> peek() {
+			return stack.peek();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !stack.isEmpty();
+		}
+
+		@Override
+		public Node<K, V> next() {
+			Node<K, V> node = stack.pop();
+			for (Node<K, V> child = node.right; child != null; child = child.left) {
+				stack.push(child);
+			}
+			return node;
+		}
+	}
+}
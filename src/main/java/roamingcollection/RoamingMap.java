@@ -1,7 +1,13 @@
 package roamingcollection;
 
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
@@ -9,19 +15,40 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 public final class RoamingMap<K extends Comparable<K>, V> implements NavigableMap<K, V> {
 
 	private final NavigableMap<K, V> internalMap;
+	// The top-level map that owns the persistent tree; this for maps that are not views.
+	private final RoamingMap<K, V> root;
+	// Narrows a snapshot of the root to the range and order of this map.
+	private final UnaryOperator<NavigableMap<K, V>> view;
+	// Whether internalMap was injected, so it may change without going through this map.
+	private final boolean injected;
+	// Built on the first snapshot and then kept in step with every write; only set on the root.
+	private PersistentTree<K, V> persistent;
+	// Counts the writes made since the last snapshot, to drop an unused persistent tree; only kept on
+	// the root.
+	private int writesSinceSnapshot;
+	// Counts every write made through this map or its views; only kept on the root.
+	private long modCount;
+	// The change listeners of the map and all its views; null until one is added, only on the root.
+	private CopyOnWriteArrayList<ChangeSink<K, V>> listeners;
 
 	// Default constructor
 	public RoamingMap() {
 		this.internalMap = new TreeMap<>();
+		this.root = this;
+		this.view = UnaryOperator.identity();
+		this.injected = false;
 	}
 
 	// Constructor that accepts a Map for initialization
 	public RoamingMap(Map<? extends K, ? extends V> m) {
-		this.internalMap = new TreeMap<>();
+		this();
 		putAll(m);
 	}
 
@@ -32,6 +59,209 @@ public final class RoamingMap<K extends Comparable<K>, V> implements NavigableMa
 				"Injection flag must be true when using this constructor.");
 		}
 		this.internalMap = Objects.requireNonNull(customMap, "customMap must not be null");
+		this.root = this;
+		this.view = UnaryOperator.identity();
+		this.injected = true;
+	}
+
+	// View constructor: a range or descending view that shares the internal map of its root.
+	private RoamingMap(RoamingMap<K, V> root, NavigableMap<K, V> internalMap,
+		UnaryOperator<NavigableMap<K, V>> view) {
+		this.internalMap = internalMap;
+		this.root = root;
+		this.view = view;
+		this.injected = root.injected;
+	}
+
+	private RoamingMap<K, V> childView(NavigableMap<K, V> internalView,
+		UnaryOperator<NavigableMap<K, V>> narrowing) {
+		return new RoamingMap<>(root, internalView, map -> narrowing.apply(view.apply(map)));
+	}
+
+// -------------------------- Snapshots --------------------------
+
+	/**
+	 * Returns an immutable snapshot of the current contents of this map. The first snapshot of a
+	 * map builds a persistent copy in O(n); every later snapshot is O(1), and writes to the map
+	 * only copy the O(log n) path to the changed key, so snapshots share all unchanged structure.
+	 * Once the writes since the last snapshot outnumber the entries, the persistent copy has cost
+	 * more than building it again would, so it is dropped and the next snapshot rebuilds it; a map
+	 * that is no longer snapshotted stops copying paths. Snapshots of a map created with the
+	 * injection constructor are copied every time, since the injected map can change without going
+	 * through this map.
+	 * <p>
+	 * Like every other method of this map, snapshot must be called on the writing thread or under
+	 * the lock that guards the writes. The snapshot it returns is immutable and may be handed to and
+	 * read by any other thread while the writes continue.
+	 *
+	 * @return an immutable snapshot of the current contents of this map
+	 */
+	public NavigableMap<K, V> snapshot() {
+		return view.apply(root.rootSnapshot());
+	}
+
+	private NavigableMap<K, V> rootSnapshot() {
+		if (injected) {
+			return PersistentTree.copyOf(internalMap).snapshot();
+		}
+		if (persistent == null) {
+			persistent = PersistentTree.copyOf(internalMap);
+		}
+		writesSinceSnapshot = 0;
+		return persistent.snapshot();
+	}
+
+	// Returns the persistent tree to keep in step with a write, or null if there is none or it has
+	// just been dropped.
+	private PersistentTree<K, V> persistentForWrite() {
+		if (persistent != null && ++writesSinceSnapshot > internalMap.size()) {
+			persistent = null;
+		}
+		return persistent;
+	}
+
+	/**
+	 * Returns the number of writes made so far through this map, its views, their iterators and
+	 * their entries; a map whose count has not changed holds the same entries. A map created with
+	 * the injection constructor returns -1, since writes made directly to the injected map cannot
+	 * be counted and an unchanged count would prove nothing.
+	 *
+	 * @return the number of writes made so far through this map and its views, or -1 if unknown
+	 */
+	public long modCount() {
+		return injected ? -1 : root.modCount;
+	}
+
+	private void recordPut(K key, V previous, V value) {
+		root.modCount++;
+		PersistentTree<K, V> tree = root.persistentForWrite();
+		if (tree != null) {
+			tree.put(key, value);
+		}
+		if (root.observed()) {
+			root.emit(MapChange.put(key, previous, value));
+		}
+	}
+
+	private void recordRemove(Object key, V previous) {
+		recordRemove(key, previous, MapChange.Kind.REMOVE);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void recordRemove(Object key, V previous, MapChange.Kind kind) {
+		root.modCount++;
+		PersistentTree<K, V> tree = root.persistentForWrite();
+		if (tree != null) {
+			tree.remove(key);
+		}
+		if (root.observed()) {
+			root.emit((kind == MapChange.Kind.POLL) ? MapChange.poll((K) key, previous)
+				: MapChange.remove((K) key, previous));
+		}
+	}
+
+// -------------------------- Change listeners --------------------------
+
+	/**
+	 * Registers a listener that is called with every change made to this map, its views, their
+	 * iterators and entries, right after the change and on the writing thread. A listener added
+	 * through a view sees the changes of the whole map. Changes made directly to the map given to
+	 * the injection constructor are not reported.
+	 *
+	 * @param listener the listener of the changes
+	 * @return the registration that removes the listener when closed
+	 */
+	public ChangeRegistration addChangeListener(Consumer<? super MapChange<K, V>> listener) {
+		Objects.requireNonNull(listener);
+		return root.register(new ChangeSink<>() {
+
+			@Override
+			public void accept(MapChange<K, V> change) {
+				listener.accept(change);
+			}
+
+			@Override
+			public void flush() {
+			}
+		});
+	}
+
+	/**
+	 * Registers a listener that is called with the changes made to this map in batches: the changes
+	 * are buffered and handed over, oldest first, whenever maxBatch of them are pending, on
+	 * flushChanges, and when the registration is closed
+	 *
+	 * @param listener the listener of the batches of changes
+	 * @param maxBatch the largest number of changes in a batch
+	 * @return the registration that delivers the pending changes and removes the listener when
+	 * closed
+	 * @throws IllegalArgumentException if maxBatch is not positive
+	 */
+	public ChangeRegistration addBatchChangeListener(
+		Consumer<? super List<MapChange<K, V>>> listener, int maxBatch) {
+		Objects.requireNonNull(listener);
+		if (maxBatch <= 0) {
+			throw new IllegalArgumentException("maxBatch must be positive");
+		}
+		return root.register(new ChangeSink<>() {
+
+			private MapChange<?, ?>[] pending = new MapChange<?, ?>[Math.min(maxBatch, 64)];
+			private int size;
+
+			@Override
+			public void accept(MapChange<K, V> change) {
+				if (size == pending.length) {
+					pending = Arrays.copyOf(pending, Math.min(maxBatch, 2 * size));
+				}
+				pending[size++] = change;
+				if (size == maxBatch) {
+					flush();
+				}
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public void flush() {
+				if (size == 0) {
+					return;
+				}
+				List<MapChange<K, V>> batch = (List<MapChange<K, V>>) (List<?>) Arrays.asList(
+					Arrays.copyOf(pending, size));
+				size = 0;
+				listener.accept(Collections.unmodifiableList(batch));
+			}
+		});
+	}
+
+	/**
+	 * Hands the pending changes of every batch listener of this map over to it
+	 */
+	public void flushChanges() {
+		if (root.listeners != null) {
+			root.listeners.forEach(ChangeSink::flush);
+		}
+	}
+
+	private ChangeRegistration register(ChangeSink<K, V> sink) {
+		if (listeners == null) {
+			listeners = new CopyOnWriteArrayList<>();
+		}
+		listeners.add(sink);
+		return () -> {
+			if (listeners.remove(sink)) {
+				sink.flush();
+			}
+		};
+	}
+
+	private boolean observed() {
+		return listeners != null && !listeners.isEmpty();
+	}
+
+	private void emit(MapChange<K, V> change) {
+		for (ChangeSink<K, V> sink : listeners) {
+			sink.accept(change);
+		}
 	}
 
 // -------------------------- Core Map methods --------------------------
@@ -40,7 +270,9 @@ public final class RoamingMap<K extends Comparable<K>, V> implements NavigableMa
 	public V put(K key, V value) {
 		Objects.requireNonNull(key);
 		Objects.requireNonNull(value);
-		return internalMap.put(key, value);
+		V previous = internalMap.put(key, value);
+		recordPut(key, previous, value);
+		return previous;
 	}
 
 	@Override
@@ -56,12 +288,103 @@ public final class RoamingMap<K extends Comparable<K>, V> implements NavigableMa
 
 	@Override
 	public Set<K> keySet() {
-		return internalMap.keySet();
+		return navigableKeySet();
 	}
 
 	@Override
 	public Set<Entry<K, V>> entrySet() {
-		return internalMap.entrySet();
+		Set<Entry<K, V>> entries = internalMap.entrySet();
+		return new AbstractSet<>() {
+
+			@Override
+			public Iterator<Entry<K, V>> iterator() {
+				return entryIterator(entries.iterator());
+			}
+
+			@Override
+			public int size() {
+				return entries.size();
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				return entries.contains(o);
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public boolean remove(Object o) {
+				if (!entries.remove(o)) {
+					return false;
+				}
+				recordRemove(((Entry<?, ?>) o).getKey(), (V) ((Entry<?, ?>) o).getValue());
+				return true;
+			}
+		};
+	}
+
+	// Wraps the entries of the internal map so that setValue and remove keep snapshots in step.
+	private Iterator<Entry<K, V>> entryIterator(Iterator<Entry<K, V>> entries) {
+		return new Iterator<>() {
+
+			// Read on next, since TreeMap may move a successor into the removed entry.
+			private K lastKey;
+			private Entry<K, V> lastEntry;
+
+			@Override
+			public boolean hasNext() {
+				return entries.hasNext();
+			}
+
+			@Override
+			public Entry<K, V> next() {
+				Entry<K, V> entry = entries.next();
+				lastKey = entry.getKey();
+				lastEntry = entry;
+				return new Entry<>() {
+
+					@Override
+					public K getKey() {
+						return entry.getKey();
+					}
+
+					@Override
+					public V getValue() {
+						return entry.getValue();
+					}
+
+					@Override
+					public V setValue(V value) {
+						Objects.requireNonNull(value);
+						V previous = entry.setValue(value);
+						recordPut(entry.getKey(), previous, value);
+						return previous;
+					}
+
+					@Override
+					public boolean equals(Object o) {
+						return entry.equals(o);
+					}
+
+					@Override
+					public int hashCode() {
+						return entry.hashCode();
+					}
+
+					@Override
+					public String toString() {
+						return entry.toString();
+					}
+				};
+			}
+
+			@Override
+			public void remove() {
+				V lastValue = (lastEntry != null) ? lastEntry.getValue() : null;
+				entries.remove();
+				recordRemove(lastKey, lastValue);
+			}
+		};
 	}
 
 	@Override
@@ -73,12 +396,30 @@ public final class RoamingMap<K extends Comparable<K>, V> implements NavigableMa
 
 	@Override
 	public V remove(Object key) {
-		return internalMap.remove(key);
+		V previous = internalMap.remove(key);
+		if (previous != null) {
+			recordRemove(key, previous);
+		}
+		return previous;
 	}
 
 	@Override
 	public void clear() {
-		internalMap.clear();
+		if (root == this) {
+			internalMap.clear();
+			modCount++;
+			if (persistent != null) {
+				persistent.clear();
+			}
+			if (observed()) {
+				emit(MapChange.clear());
+			}
+		} else if (root.persistent == null && !root.observed()) {
+			internalMap.clear();
+			root.modCount++;
+		} else {
+			entrySet().clear();
+		}
 	}
 
 	@Override
@@ -104,7 +445,45 @@ public final class RoamingMap<K extends Comparable<K>, V> implements NavigableMa
 
 	@Override
 	public Collection<V> values() {
-		return internalMap.values();
+		return new AbstractCollection<>() {
+
+			@Override
+			public Iterator<V> iterator() {
+				Iterator<Entry<K, V>> entries = entryIterator(internalMap.entrySet().iterator());
+				return new Iterator<>() {
+
+					@Override
+					public boolean hasNext() {
+						return entries.hasNext();
+					}
+
+					@Override
+					public V next() {
+						return entries.next().getValue();
+					}
+
+					@Override
+					public void remove() {
+						entries.remove();
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return internalMap.size();
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				return internalMap.containsValue(o);
+			}
+
+			@Override
+			public void clear() {
+				RoamingMap.this.clear();
+			}
+		};
 	}
 
 // -------------------------- NavigableMap methods --------------------------
@@ -161,57 +540,68 @@ public final class RoamingMap<K extends Comparable<K>, V> implements NavigableMa
 
 	@Override
 	public Entry<K, V> pollFirstEntry() {
-		return internalMap.pollFirstEntry();
+		Entry<K, V> entry = internalMap.pollFirstEntry();
+		if (entry != null) {
+			recordRemove(entry.getKey(), entry.getValue(), MapChange.Kind.POLL);
+		}
+		return entry;
 	}
 
 	@Override
 	public Entry<K, V> pollLastEntry() {
-		return internalMap.pollLastEntry();
+		Entry<K, V> entry = internalMap.pollLastEntry();
+		if (entry != null) {
+			recordRemove(entry.getKey(), entry.getValue(), MapChange.Kind.POLL);
+		}
+		return entry;
 	}
 
 	@Override
-	public NavigableMap<K, V> descendingMap() {
-		return internalMap.descendingMap();
+	public RoamingMap<K, V> descendingMap() {
+		return childView(internalMap.descendingMap(), NavigableMap::descendingMap);
 	}
 
 	@Override
 	public NavigableSet<K> navigableKeySet() {
-		return internalMap.navigableKeySet();
+		return new KeySetView<>(this);
 	}
 
 	@Override
 	public NavigableSet<K> descendingKeySet() {
-		return internalMap.descendingKeySet();
+		return new KeySetView<>(descendingMap());
 	}
 
 	@Override
-	public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
-		return internalMap.subMap(fromKey, fromInclusive, toKey, toInclusive);
+	public RoamingMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+		return childView(internalMap.subMap(fromKey, fromInclusive, toKey, toInclusive),
+			map -> map.subMap(fromKey, fromInclusive, toKey, toInclusive));
 	}
 
 	@Override
-	public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
-		return internalMap.headMap(toKey, inclusive);
+	public RoamingMap<K, V> headMap(K toKey, boolean inclusive) {
+		return childView(internalMap.headMap(toKey, inclusive),
+			map -> map.headMap(toKey, inclusive));
 	}
 
 	@Override
-	public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
-		return internalMap.tailMap(fromKey, inclusive);
+	public RoamingMap<K, V> tailMap(K fromKey, boolean inclusive) {
+		return childView(internalMap.tailMap(fromKey, inclusive),
+			map -> map.tailMap(fromKey, inclusive));
 	}
 
 	@Override
 	public SortedMap<K, V> subMap(K fromKey, K toKey) {
-		return internalMap.subMap(fromKey, true, toKey, false);
+		return subMap(fromKey, true, toKey, false);
 	}
 
 	@Override
 	public SortedMap<K, V> headMap(K toKey) {
-		return internalMap.headMap(toKey, false);
+		return headMap(toKey, false);
 	}
 
 	@Override
 	public SortedMap<K, V> tailMap(K fromKey) {
-		return internalMap.tailMap(fromKey, true);
+		return tailMap(fromKey, true);
 	}
 
 	@Override
@@ -228,4 +618,24 @@ public final class RoamingMap<K extends Comparable<K>, V> implements NavigableMa
 	public K lastKey() {
 		return internalMap.lastKey();
 	}
+
+	/**
+	 * The ChangeRegistration interface removes a change listener from the map it was added to
+	 */
+	public interface ChangeRegistration extends AutoCloseable {
+
+		/**
+		 * Removes the listener, handing a batch listener its pending changes first
+		 */
+		@Override
+		void close();
+	}
+
+	// Receives the changes of a map; flush only does something for batch listeners.
+	private interface ChangeSink<K, V> {
+
+		void accept(MapChange<K, V> change);
+
+		void flush();
+	}
 }
\ No newline at end of file
@@ -0,0 +1,238 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import roamingcollection.RoamingMap;
+
+public class BarricadeMetricsTest {
+
+	private final Logger logger = Logger.getLogger(Barricade.class.getName());
+	private Level level;
+
+	@Before
+	public void setUp() {
+		level = logger.getLevel();
+		logger.setLevel(Level.OFF);
+		BarricadeMetrics.reset();
+	}
+
+	@After
+	public void tearDown() {
+		logger.setLevel(level);
+		BarricadeMetrics.setEnabled(false);
+		BarricadeMetrics.reset();
+		Barricade.setVerificationPolicy(VerificationPolicy.always());
+	}
+
+	// ==================== recording Tests ====================
+
+	// Code Coverage: Metrics are off by default and record nothing while off.
+	@Test
+	public void testDisabled_RecordsNothing() {
+		assertFalse(BarricadeMetrics.isEnabled());
+		RoamingMap<String, String> map = new RoamingMap<>();
+		Barricade.putWithStateVar(map, "key", "value");
+		Barricade.getWithStateVar(map, "key");
+		for (BarricadeMetrics.OperationMetrics metrics : BarricadeMetrics.snapshot().values()) {
+			assertEquals(0, metrics.calls());
+			assertEquals(0, metrics.checked().count());
+			assertEquals(0, metrics.raw().count());
+		}
+	}
+
+	// Code Coverage: Every checked call is counted and timed together with the raw call it wraps.
+	@Test
+	public void testEnabled_CountsCallsAndLatency() {
+		BarricadeMetrics.setEnabled(true);
+		Barricade.setVerificationPolicy(VerificationPolicy.shadow());
+		RoamingMap<String, String> map = new RoamingMap<>();
+		Barricade.putWithStateVar(map, "key", "value");
+		Barricade.getWithStateVar(map, "key");
+		Barricade.getWithStateVar(map, "missing");
+		Barricade.correctSize(map);
+		Barricade.correctStringRepresentation(map);
+		Barricade.forEachWithStateVar(map, "a", "z", (key, value) -> {
+		});
+		BarricadeMetrics.OperationMetrics get = BarricadeMetrics.snapshot(
+			BarricadeMetrics.Operation.GET);
+		assertEquals(2, get.calls());
+		assertEquals(2, get.checked().count());
+		assertEquals(2, get.raw().count());
+		assertEquals(0, get.failures());
+		assertEquals(0, get.mismatches());
+		assertTrue(get.checked().maxNanos() >= get.checked().p50Nanos());
+		assertEquals(1, BarricadeMetrics.snapshot(BarricadeMetrics.Operation.PUT).raw().count());
+		assertEquals(1, BarricadeMetrics.snapshot(BarricadeMetrics.Operation.SIZE).calls());
+		assertEquals(1, BarricadeMetrics.snapshot(BarricadeMetrics.Operation.TO_STRING).calls());
+		assertEquals(1, BarricadeMetrics.snapshot(BarricadeMetrics.Operation.FOR_EACH).calls());
+	}
+
+	// Code Coverage: Every put of a batch is timed as a raw put, under every verification mode.
+	@Test
+	public void testPutAll_TimesRawPuts() {
+		BarricadeMetrics.setEnabled(true);
+		Map<String, String> entries = Map.of("a", "1", "b", "2", "c", "3");
+		for (VerificationPolicy policy : List.of(VerificationPolicy.always(),
+			VerificationPolicy.shadow(), VerificationPolicy.off())) {
+			Barricade.setVerificationPolicy(policy);
+			Barricade.putAllWithStateVar(new RoamingMap<>(), entries);
+		}
+		RoamingMap<String, String> tracked = new RoamingMap<>();
+		Barricade.track(tracked);
+		Barricade.putAllWithStateVar(tracked, entries);
+		assertEquals(4, BarricadeMetrics.snapshot(BarricadeMetrics.Operation.PUT_ALL).calls());
+		assertEquals(12, BarricadeMetrics.snapshot(BarricadeMetrics.Operation.PUT).raw().count());
+	}
+
+	// Mismatch: A get answered with the correct value instead of the map result counts as a recovery.
+	@Test
+	public void testRecovery_Counted() {
+		BarricadeMetrics.setEnabled(true);
+		RoamingMap<String, String> map = new RoamingMap<>(new BarricadeTest.FaultyGetMap(), true);
+		map.put("key", "value");
+		assertEquals("value", Barricade.getWithStateVar(map, "key").value());
+		BarricadeMetrics.OperationMetrics get = BarricadeMetrics.snapshot(
+			BarricadeMetrics.Operation.GET);
+		assertEquals(1, get.calls());
+		assertEquals(1, get.mismatches());
+		assertEquals(1, get.recoveries());
+		assertEquals(0, get.failures());
+	}
+
+	// Mismatch: A put that leaves the map wrong throws and counts as a failed, mismatched call.
+	@Test
+	public void testFailure_Counted() {
+		BarricadeMetrics.setEnabled(true);
+		Barricade.setVerificationPolicy(VerificationPolicy.shadow());
+		RoamingMap<String, String> map = new RoamingMap<>(new BarricadeTest.RandomValueMap(), true);
+		try {
+			Barricade.putWithStateVar(map, "key", "value");
+			fail("Expected RuntimeException");
+		} catch (RuntimeException e) {
+			assertEquals("put method of RoamingMap operated incorrectly", e.getMessage());
+		}
+		BarricadeMetrics.OperationMetrics put = BarricadeMetrics.snapshot(
+			BarricadeMetrics.Operation.PUT);
+		assertEquals(1, put.calls());
+		assertEquals(1, put.failures());
+		assertEquals(1, put.mismatches());
+		assertEquals(0, put.recoveries());
+	}
+
+	// Code Coverage: reset sets every counter back to 0.
+	@Test
+	public void testReset() {
+		BarricadeMetrics.setEnabled(true);
+		Barricade.correctSize(new RoamingMap<String, String>());
+		BarricadeMetrics.reset();
+		BarricadeMetrics.OperationMetrics size = BarricadeMetrics.snapshot(
+			BarricadeMetrics.Operation.SIZE);
+		assertEquals(0, size.calls());
+		assertEquals(0, size.checked().count());
+		assertEquals(0, size.checked().maxNanos());
+	}
+
+	// ==================== MXBean Tests ====================
+
+	// Code Coverage: While recording is off, Barricade calls and turning it off do not register the
+	// MXBean.
+	@Test
+	public void testMXBean_NotRegisteredWhileDisabled() throws Exception {
+		assertFalse(Boolean.getBoolean("BarricadeMetrics.enabled"));
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(BarricadeMetrics.OBJECT_NAME);
+		if (server.isRegistered(name)) {
+			server.unregisterMBean(name);
+		}
+		BarricadeMetrics.setEnabled(false);
+		RoamingMap<String, String> map = new RoamingMap<>();
+		Barricade.putWithStateVar(map, "a", "1");
+		Barricade.getWithStateVar(map, "a");
+		assertFalse(BarricadeMetrics.isEnabled());
+		assertFalse(server.isRegistered(name));
+	}
+
+	// Code Coverage: Turning recording on registers the MXBean again after it was unregistered.
+	@Test
+	public void testSetEnabled_RegistersMXBean() throws Exception {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(BarricadeMetrics.OBJECT_NAME);
+		BarricadeMetrics.register();
+		server.unregisterMBean(name);
+		BarricadeMetrics.setEnabled(true);
+		assertTrue(server.isRegistered(name));
+	}
+
+	// Code Coverage: The MXBean is registered once and reads and switches the live metrics.
+	@Test
+	public void testMXBean_ReadsCounters() throws Exception {
+		BarricadeMetrics.register();
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(BarricadeMetrics.OBJECT_NAME);
+		assertEquals(false, server.getAttribute(name, "Enabled"));
+		server.setAttribute(name, new Attribute("Enabled", true));
+		assertTrue(BarricadeMetrics.isEnabled());
+		Barricade.correctSize(new RoamingMap<String, String>());
+		TabularData counters = (TabularData) server.getAttribute(name, "Counters");
+		CompositeData calls = counters.get(new Object[]{"size.calls"});
+		assertEquals(1L, calls.get("value"));
+		assertTrue(counters.containsKey(new Object[]{"get.checked.p99Nanos"}));
+		server.invoke(name, "reset", null, null);
+		counters = (TabularData) server.getAttribute(name, "Counters");
+		assertEquals(0L, counters.get(new Object[]{"size.calls"}).get("value"));
+	}
+
+	// ==================== LatencyHistogram Tests ====================
+
+	// Code Coverage: Every bucket holds the values between its lower and upper bound.
+	@Test
+	public void testHistogram_Buckets() {
+		for (long value : new long[]{0, 1, 7, 8, 9, 15, 16, 100, 1000, 123456789L, Long.MAX_VALUE}) {
+			int bucket = LatencyHistogram.bucketOf(value);
+			assertTrue(value <= LatencyHistogram.highestValueOf(bucket));
+			assertTrue(bucket == 0 || value > LatencyHistogram.highestValueOf(bucket - 1));
+		}
+		assertEquals(Long.MAX_VALUE,
+			LatencyHistogram.highestValueOf(LatencyHistogram.bucketOf(Long.MAX_VALUE)));
+	}
+
+	// Code Coverage: Percentiles are bucket upper bounds within 1/8 of the exact value.
+	@Test
+	public void testHistogram_Percentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long value = 1; value <= 1000; value++) {
+			histogram.record(value);
+		}
+		histogram.record(-5);
+		BarricadeMetrics.Latency latency = histogram.snapshot();
+		assertEquals(1001, latency.count());
+		assertEquals(500500, latency.totalNanos());
+		assertEquals(1000, latency.maxNanos());
+		assertTrue(latency.p50Nanos() >= 500 && latency.p50Nanos() <= 500 * 9 / 8);
+		assertTrue(latency.p99Nanos() >= 990 && latency.p99Nanos() <= 1000);
+		assertEquals(1000, latency.p999Nanos());
+	}
+
+	// Edge Case: An empty histogram reports zeros.
+	@Test
+	public void testHistogram_Empty() {
+		BarricadeMetrics.Latency latency = new LatencyHistogram().snapshot();
+		assertEquals(0, latency.count());
+		assertEquals(0, latency.p50Nanos());
+		assertEquals(0.0, latency.meanNanos(), 0.0);
+	}
+}
@@ -5,12 +5,21 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.logging.Logger;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import roamingcollection.RoamingMap;
@@ -26,6 +35,23 @@ public class BarricadeTest {
 		Logger logger = Logger.getLogger(Barricade.class.getName());
 		logger.addHandler(logHandler);
 		logHandler.clearLogRecords();
+		Barricade.mismatchReporter().reset();
+		Barricade.setReadCacheCapacity(Barricade.DEFAULT_READ_CACHE_CAPACITY);
+		Barricade.resetReadCacheStatistics();
+	}
+
+	@After
+	public void tearDown() {
+		Logger.getLogger(Barricade.class.getName()).removeHandler(logHandler);
+		Barricade.setVerificationPolicy(VerificationPolicy.always());
+		Barricade.setAsyncVerifier(AsyncVerifier.defaultVerifier());
+	}
+
+	// Creates a RoamingMap that Barricade keeps a shadow for.
+	private static RoamingMap<String, String> trackedMap() {
+		RoamingMap<String, String> map = new RoamingMap<>();
+		Barricade.track(map);
+		return map;
 	}
 
 	// ==================== getWithStateVar Tests ====================
@@ -172,6 +198,63 @@ public class BarricadeTest {
 		Barricade.putWithStateVar(map, "key", "newValue");
 	}
 
+	// ==================== putAllWithStateVar Tests ====================
+
+	// Edge Case: Null entries should throw NullPointerException.
+	@Test(expected = NullPointerException.class)
+	public void testPutAllWithStateVar_NullEntries() {
+		Barricade.putAllWithStateVar(new RoamingMap<String, String>(), null);
+	}
+
+	// Edge Case: A null value rejects the whole batch before anything is written.
+	@Test
+	public void testPutAllWithStateVar_NullValue() {
+		RoamingMap<String, String> map = new RoamingMap<>();
+		Map<String, String> entries = new TreeMap<>();
+		entries.put("a", "1");
+		entries.put("b", null);
+		try {
+			Barricade.putAllWithStateVar(map, entries);
+			fail("Expected NullPointerException");
+		} catch (NullPointerException e) {
+			assertTrue(map.isEmpty());
+		}
+	}
+
+	// Code Coverage: Normal branch of putAllWithStateVar under every policy, tracked or not.
+	@Test
+	public void testPutAllWithStateVar_Normal() {
+		Map<String, String> entries = new TreeMap<>(Map.of("a", "1", "b", "2"));
+		for (VerificationPolicy policy : List.of(VerificationPolicy.always(),
+			VerificationPolicy.shadow(), VerificationPolicy.off())) {
+			Barricade.setVerificationPolicy(policy);
+			RoamingMap<String, String> map = new RoamingMap<>();
+			map.put("a", "0");
+			map.put("c", "3");
+			Barricade.putAllWithStateVar(map, entries);
+			assertEquals("{a=1, b=2, c=3}", map.toString());
+			RoamingMap<String, String> tracked = trackedMap();
+			Barricade.putAllWithStateVar(tracked, entries);
+			assertTrue(Barricade.audit(tracked));
+		}
+	}
+
+	// Mismatch: Inconsistent batch update should throw RuntimeException.
+	@Test(expected = RuntimeException.class)
+	public void testPutAllWithStateVar_ValueMismatch() {
+		RoamingMap<String, String> map = new RoamingMap<>(new RandomValueMap(), true);
+		Barricade.putAllWithStateVar(map, Map.of("key", "newValue"));
+	}
+
+	// Mismatch: Inconsistent batch update on a tracked map should throw RuntimeException.
+	@Test(expected = RuntimeException.class)
+	public void testPutAllWithStateVar_TrackedValueMismatch() {
+		Barricade.setVerificationPolicy(VerificationPolicy.shadow());
+		RoamingMap<String, String> map = new RoamingMap<>(new RandomValueMap(), true);
+		Barricade.track(map);
+		Barricade.putAllWithStateVar(map, Map.of("key", "newValue"));
+	}
+
 	// ==================== correctKeySet Tests ====================
 
 	// Edge Case: Null map should throw NullPointerException.
@@ -262,6 +345,505 @@ public class BarricadeTest {
 		Barricade.correctStringRepresentation(map);
 	}
 
+	// Code Coverage: Normal branch of putWithStateVar on a map with several entries.
+	@Test
+	public void testPutWithStateVar_SeveralEntries() {
+		RoamingMap<String, String> map = new RoamingMap<>();
+		Barricade.putWithStateVar(map, "k1", "v1");
+		Barricade.putWithStateVar(map, "k2", "v2");
+		Barricade.StateRecoveryOptional<String> result = Barricade.putWithStateVar(map, "k1", "v3");
+		assertEquals("v1", result.value());
+		assertEquals("v3", map.get("k1"));
+		assertEquals(2, map.size());
+	}
+
+	// ==================== forEachWithStateVar Tests ====================
+
+	// Code Coverage: Normal branch of forEachWithStateVar streams the inclusive range in order.
+	@Test
+	public void testForEachWithStateVar_Normal() {
+		RoamingMap<String, String> map = new RoamingMap<>();
+		map.put("a", "1");
+		map.put("b", "2");
+		map.put("c", "3");
+		map.put("d", "4");
+		StringBuilder visited = new StringBuilder();
+		Barricade.forEachWithStateVar(map, "b", "c", (key, value) -> visited.append(key).append(value));
+		assertEquals("b2c3", visited.toString());
+		assertFalse("No warning should be logged", logHandler.getLastLog().isPresent());
+	}
+
+	// Mismatch: A range view with wrong values triggers a warning and the snapshot's are used.
+	@Test
+	public void testForEachWithStateVar_ValueMismatch() {
+		FaultySubMapMap faultyMap = new FaultySubMapMap();
+		faultyMap.put("a", "1");
+		faultyMap.put("b", "2");
+		RoamingMap<String, String> map = new RoamingMap<>(faultyMap, true);
+		StringBuilder visited = new StringBuilder();
+		Barricade.forEachWithStateVar(map, "a", "b", (key, value) -> visited.append(key).append(value));
+		assertEquals("a1b2", visited.toString());
+		assertEquals(
+			"forEach method of RoamingMap returned incorrect value; correct value was used instead",
+			logHandler.getLastLog().orElse(null));
+	}
+
+	// Mismatch: A tracked map whose value changed behind Barricade streams the shadow's value.
+	@Test
+	public void testTrackedForEach_ValueMismatch() {
+		RoamingMap<String, String> map = trackedMap();
+		Barricade.putWithStateVar(map, "a", "b");
+		map.put("a", "changed");
+		StringBuilder visited = new StringBuilder();
+		Barricade.forEachWithStateVar(map, "a", "z", (key, value) -> visited.append(key).append(value));
+		assertEquals("ab", visited.toString());
+		assertEquals(
+			"forEach method of RoamingMap returned incorrect value; correct value was used instead",
+			logHandler.getLastLog().orElse(null));
+	}
+
+	// Mismatch: A tracked map whose range view hides a cell streams the shadow's cells.
+	@Test
+	public void testTrackedForEach_MissingCell() {
+		HidingSubMapMap hidingMap = new HidingSubMapMap();
+		RoamingMap<String, String> map = new RoamingMap<>(hidingMap, true);
+		Barricade.track(map);
+		Barricade.putWithStateVar(map, "a", "1");
+		Barricade.putWithStateVar(map, "b", "2");
+		Barricade.putWithStateVar(map, "c", "3");
+		StringBuilder visited = new StringBuilder();
+		Barricade.forEachWithStateVar(map, "a", "c", (key, value) -> visited.append(key).append(value));
+		assertEquals("a1b2c3", visited.toString());
+		assertEquals(
+			"forEach method of RoamingMap returned incorrect value; correct value was used instead",
+			logHandler.getLastLog().orElse(null));
+	}
+
+	// ==================== VerificationPolicy Tests ====================
+
+	// Edge Case: Null policy should throw NullPointerException.
+	@Test(expected = NullPointerException.class)
+	public void testSetVerificationPolicy_NullPolicy() {
+		Barricade.setVerificationPolicy(null);
+	}
+
+	// Edge Case: Non-positive sampling period should throw IllegalArgumentException.
+	@Test(expected = IllegalArgumentException.class)
+	public void testSampledPolicy_NonPositivePeriod() {
+		VerificationPolicy.sampled(0);
+	}
+
+	// Code Coverage: off policy delegates to the map without any checking.
+	@Test
+	public void testOffPolicy_NoRecovery() {
+		Barricade.setVerificationPolicy(VerificationPolicy.off());
+		FaultyGetMap faultyMap = new FaultyGetMap();
+		faultyMap.put("keyOff", "valueOff");
+		RoamingMap<String, String> map = new RoamingMap<>(faultyMap, true);
+		assertNull(Barricade.getWithStateVar(map, "keyOff").value());
+		assertFalse("No warning should be logged", logHandler.getLastLog().isPresent());
+	}
+
+	// Mismatch: shadow policy recovers the value through the navigation path.
+	@Test
+	public void testShadowPolicy_ValueMismatch() {
+		Barricade.setVerificationPolicy(VerificationPolicy.shadow());
+		FaultyGetMap faultyMap = new FaultyGetMap();
+		faultyMap.put("keyShadow", "valueShadow");
+		RoamingMap<String, String> map = new RoamingMap<>(faultyMap, true);
+		assertEquals("valueShadow", Barricade.getWithStateVar(map, "keyShadow").value());
+		assertEquals(
+			"get method of RoamingMap returned incorrect value; correct value was used instead",
+			logHandler.getLastLog().orElse(null));
+	}
+
+	// Mismatch: shadow policy detects a put that stored a different value.
+	@Test(expected = RuntimeException.class)
+	public void testShadowPolicy_PutValueMismatch() {
+		Barricade.setVerificationPolicy(VerificationPolicy.shadow());
+		RoamingMap<String, String> map = new RoamingMap<>(new RandomValueMap(), true);
+		Barricade.putWithStateVar(map, "key", "newValue");
+	}
+
+	// Code Coverage: sampled policy verifies only one call out of every period calls.
+	@Test
+	public void testSampledPolicy_Period() {
+		VerificationPolicy policy = VerificationPolicy.sampled(3);
+		assertEquals(VerificationPolicy.Mode.FULL, policy.select());
+		assertEquals(VerificationPolicy.Mode.NONE, policy.select());
+		assertEquals(VerificationPolicy.Mode.NONE, policy.select());
+		assertEquals(VerificationPolicy.Mode.FULL, policy.select());
+	}
+
+	// Code Coverage: budgeted policy verifies at most once per interval.
+	@Test
+	public void testBudgetedPolicy_Interval() {
+		VerificationPolicy policy = VerificationPolicy.budgeted(java.time.Duration.ofHours(1));
+		assertEquals(VerificationPolicy.Mode.FULL, policy.select());
+		assertEquals(VerificationPolicy.Mode.NONE, policy.select());
+	}
+
+	// ==================== Shadow State Tests ====================
+
+	// Edge Case: Auditing an untracked map should throw IllegalStateException.
+	@Test(expected = IllegalStateException.class)
+	public void testAudit_Untracked() {
+		Barricade.audit(new RoamingMap<String, String>());
+	}
+
+	// Code Coverage: Tracking a map copies its current entries into the shadow.
+	@Test
+	public void testTrack_ExistingEntries() {
+		RoamingMap<String, String> map = new RoamingMap<>();
+		map.put("k", "v");
+		Barricade.track(map);
+		assertTrue(Barricade.isTracked(map));
+		assertTrue(Barricade.audit(map));
+		Barricade.untrack(map);
+		assertFalse(Barricade.isTracked(map));
+	}
+
+	// Code Coverage: Normal branch of the tracked get and put under every policy.
+	@Test
+	public void testTrackedPutAndGet_Normal() {
+		RoamingMap<String, String> map = trackedMap();
+		for (VerificationPolicy policy : List.of(VerificationPolicy.always(),
+			VerificationPolicy.shadow(), VerificationPolicy.off())) {
+			Barricade.setVerificationPolicy(policy);
+			Barricade.putWithStateVar(map, "k1", "v1");
+			Barricade.putWithStateVar(map, "k2", "v2");
+			assertEquals("v1", Barricade.getWithStateVar(map, "k1").value());
+			assertNull(Barricade.getWithStateVar(map, "missing").value());
+			assertEquals(2, Barricade.correctSize(map));
+			assertEquals("{k1=v1, k2=v2}", Barricade.correctStringRepresentation(map));
+		}
+		assertTrue(Barricade.audit(map));
+		assertFalse("No warning should be logged", logHandler.getLastLog().isPresent());
+	}
+
+	// Mismatch: A mutation that bypassed Barricade is caught by the digest comparison.
+	@Test
+	public void testTrackedGet_StateMismatch() {
+		RoamingMap<String, String> map = trackedMap();
+		Barricade.putWithStateVar(map, "k1", "v1");
+		map.put("k1", "changed");
+		assertFalse(Barricade.audit(map));
+		try {
+			Barricade.getWithStateVar(map, "k1");
+			fail("Expected RuntimeException");
+		} catch (RuntimeException e) {
+			assertEquals("get method of RoamingMap operated incorrectly", e.getMessage());
+		}
+	}
+
+	// Mismatch: get() returns incorrect value on a tracked map, so fallback to shadow value.
+	@Test
+	public void testTrackedGet_ValueMismatch() {
+		Barricade.setVerificationPolicy(VerificationPolicy.shadow());
+		RoamingMap<String, String> map = new RoamingMap<>(new FaultyGetMap(), true);
+		Barricade.track(map);
+		Barricade.putWithStateVar(map, "keyTracked", "valueTracked");
+		assertEquals("valueTracked", Barricade.getWithStateVar(map, "keyTracked").value());
+		assertEquals(
+			"get method of RoamingMap returned incorrect value; correct value was used instead",
+			logHandler.getLastLog().orElse(null));
+	}
+
+	// Mismatch: size() returns incorrect value on a tracked map, so the shadow size is used.
+	@Test
+	public void testTrackedSize_SizeMismatch() {
+		Barricade.setVerificationPolicy(VerificationPolicy.shadow());
+		RoamingMap<String, String> map = new RoamingMap<>(new FaultySizeMap(), true);
+		Barricade.track(map);
+		map.size();
+		assertEquals(0, Barricade.correctSize(map));
+		assertEquals(
+			"size method of RoamingMap returned incorrect value; correct value was used instead",
+			logHandler.getLastLog().orElse(null));
+	}
+
+	// Mismatch: toString() returns incorrect value on a tracked map, so the shadow's is used.
+	@Test
+	public void testTrackedStringRepresentation_StringMismatch() {
+		RoamingMap<String, String> map = new RoamingMap<>(new FaultyToStringMap(), true);
+		Barricade.track(map);
+		Barricade.putWithStateVar(map, "a", "b");
+		assertEquals("{a=b}", Barricade.correctStringRepresentation(map));
+		assertEquals(
+			"toString method of RoamingMap returned incorrect value; correct value was used instead",
+			logHandler.getLastLog().orElse(null));
+	}
+
+	// Mismatch: Inconsistent value update on a tracked map should throw RuntimeException.
+	@Test(expected = RuntimeException.class)
+	public void testTrackedPut_ValueMismatch() {
+		RoamingMap<String, String> map = new RoamingMap<>(new RandomValueMap(), true);
+		Barricade.track(map);
+		Barricade.putWithStateVar(map, "key", "newValue");
+	}
+
+	// ==================== Async Verification Tests ====================
+
+	// Creates a verifier of the input capacity whose checks only run when the returned queue is
+	// drained, and whose mismatches are collected in mismatches.
+	private static AsyncVerifier queuedVerifier(int capacity, AsyncVerifier.Backpressure backpressure,
+		Queue<Runnable> checks, List<AsyncVerifier.Mismatch> mismatches) {
+		return new AsyncVerifier(checks::add, capacity, backpressure, mismatches::add);
+	}
+
+	// Returns the outcome of a verification that has already completed.
+	private static AsyncVerifier.Outcome outcomeOf(Barricade.StateRecoveryOptional<?> result) {
+		return result.pendingVerification().orElseThrow().toCompletableFuture().getNow(null);
+	}
+
+	// Code Coverage: Only ASYNC calls carry a pending verification.
+	@Test
+	public void testAsync_PendingVerificationOnlyInAsyncMode() {
+		RoamingMap<String, String> map = new RoamingMap<>();
+		assertFalse(Barricade.putWithStateVar(map, "key", "value").pendingVerification().isPresent());
+		Barricade.setVerificationPolicy(VerificationPolicy.async());
+		Barricade.setAsyncVerifier(new AsyncVerifier(Runnable::run, 1,
+			AsyncVerifier.Backpressure.DROP, mismatch -> fail("unexpected " + mismatch)));
+		Barricade.StateRecoveryOptional<String> result = Barricade.getWithStateVar(map, "key");
+		assertEquals("value", result.value());
+		assertEquals(AsyncVerifier.Outcome.VERIFIED, outcomeOf(result));
+		result = Barricade.putWithStateVar(map, "key", "other");
+		assertEquals("value", result.value());
+		assertEquals(AsyncVerifier.Outcome.VERIFIED, outcomeOf(result));
+	}
+
+	// Mismatch: An incorrect get is returned as is and reported once its check runs.
+	@Test
+	public void testAsync_GetMismatchReported() {
+		Queue<Runnable> checks = new ArrayDeque<>();
+		List<AsyncVerifier.Mismatch> mismatches = new ArrayList<>();
+		Barricade.setVerificationPolicy(VerificationPolicy.async());
+		Barricade.setAsyncVerifier(
+			queuedVerifier(4, AsyncVerifier.Backpressure.DROP, checks, mismatches));
+		RoamingMap<String, String> map = new RoamingMap<>(new FaultyGetMap(), true);
+		map.put("key", "value");
+		Barricade.StateRecoveryOptional<String> result = Barricade.getWithStateVar(map, "key");
+		assertNull(result.value());
+		assertFalse(result.pendingVerification().orElseThrow().toCompletableFuture().isDone());
+		assertTrue(mismatches.isEmpty());
+		checks.remove().run();
+		assertEquals(AsyncVerifier.Outcome.MISMATCHED, outcomeOf(result));
+		assertEquals(List.of(new AsyncVerifier.Mismatch("get", "key", "value", null)), mismatches);
+	}
+
+	// Mismatch: A put that stores another value than the one given is reported.
+	@Test
+	public void testAsync_PutMismatchReported() {
+		List<AsyncVerifier.Mismatch> mismatches = new ArrayList<>();
+		Barricade.setVerificationPolicy(VerificationPolicy.async());
+		Barricade.setAsyncVerifier(new AsyncVerifier(Runnable::run, 1,
+			AsyncVerifier.Backpressure.DROP, mismatches::add));
+		RoamingMap<String, String> map = new RoamingMap<>(new RandomValueMap(), true);
+		Barricade.StateRecoveryOptional<String> result = Barricade.putWithStateVar(map, "key",
+			"value");
+		assertEquals(AsyncVerifier.Outcome.MISMATCHED, outcomeOf(result));
+		assertEquals(1, mismatches.size());
+		assertEquals("put", mismatches.get(0).method());
+		assertEquals("value", mismatches.get(0).expected());
+	}
+
+	// Code Coverage: A tracked map still has its shadow updated by ASYNC puts.
+	@Test
+	public void testAsync_TrackedPutUpdatesShadow() {
+		RoamingMap<String, String> map = trackedMap();
+		Barricade.setVerificationPolicy(VerificationPolicy.async());
+		Barricade.setAsyncVerifier(new AsyncVerifier(Runnable::run, 1,
+			AsyncVerifier.Backpressure.DROP, mismatch -> fail("unexpected " + mismatch)));
+		Barricade.putWithStateVar(map, "key", "value");
+		assertTrue(Barricade.audit(map));
+	}
+
+	// Code Coverage: ASYNC calls on an injected map check against floorEntry and never copy the map
+	// on the calling thread.
+	@Test
+	public void testAsync_InjectedMapNotCopied() {
+		Barricade.setVerificationPolicy(VerificationPolicy.async());
+		Barricade.setAsyncVerifier(new AsyncVerifier(Runnable::run, 1,
+			AsyncVerifier.Backpressure.DROP, mismatch -> fail("unexpected " + mismatch)));
+		RoamingMap<String, String> map = new RoamingMap<>(new UncopyableMap(), true);
+		Barricade.StateRecoveryOptional<String> result = Barricade.putWithStateVar(map, "key",
+			"value");
+		assertEquals(AsyncVerifier.Outcome.VERIFIED, outcomeOf(result));
+		result = Barricade.getWithStateVar(map, "key");
+		assertEquals("value", result.value());
+		assertEquals(AsyncVerifier.Outcome.VERIFIED, outcomeOf(result));
+	}
+
+	// Edge Case: Checks submitted to a full DROP verifier are not run.
+	@Test
+	public void testAsync_DropWhenFull() {
+		Queue<Runnable> checks = new ArrayDeque<>();
+		AsyncVerifier verifier = queuedVerifier(1, AsyncVerifier.Backpressure.DROP, checks,
+			new ArrayList<>());
+		Barricade.setVerificationPolicy(VerificationPolicy.async());
+		Barricade.setAsyncVerifier(verifier);
+		RoamingMap<String, String> map = new RoamingMap<>();
+		Barricade.putWithStateVar(map, "key", "value");
+		Barricade.StateRecoveryOptional<String> dropped = Barricade.getWithStateVar(map, "key");
+		assertEquals("value", dropped.value());
+		assertEquals(AsyncVerifier.Outcome.DROPPED, outcomeOf(dropped));
+		assertEquals(1, verifier.dropped());
+		assertEquals(1, checks.size());
+	}
+
+	// Edge Case: A check throwing an Error completes its stage exceptionally, and the checks queued
+	// behind it still run.
+	@Test
+	public void testAsync_ErrorCompletesStage() {
+		Queue<Runnable> checks = new ArrayDeque<>();
+		AsyncVerifier verifier = queuedVerifier(4, AsyncVerifier.Backpressure.DROP, checks,
+			new ArrayList<>());
+		CompletableFuture<AsyncVerifier.Outcome> failing = verifier.submit(
+			BarricadeMetrics.Operation.GET, () -> {
+				throw new StackOverflowError();
+			}).toCompletableFuture();
+		CompletableFuture<AsyncVerifier.Outcome> next = verifier.submit(
+			BarricadeMetrics.Operation.GET, () -> null).toCompletableFuture();
+		try {
+			checks.remove().run();
+			fail("Expected StackOverflowError");
+		} catch (StackOverflowError expected) {
+			// rethrown to the executor after the stage is completed
+		}
+		assertTrue(failing.isCompletedExceptionally());
+		assertFalse(next.isDone());
+		checks.remove().run();
+		assertEquals(AsyncVerifier.Outcome.VERIFIED, next.getNow(null));
+	}
+
+	// Edge Case: A call on a full BLOCK verifier waits until a pending check completes.
+	@Test
+	public void testAsync_BlockWhenFull() throws InterruptedException {
+		Queue<Runnable> checks = new ConcurrentLinkedQueue<>();
+		AsyncVerifier verifier = queuedVerifier(1, AsyncVerifier.Backpressure.BLOCK, checks,
+			new ArrayList<>());
+		Barricade.setVerificationPolicy(VerificationPolicy.async());
+		Barricade.setAsyncVerifier(verifier);
+		RoamingMap<String, String> map = new RoamingMap<>();
+		Barricade.putWithStateVar(map, "key", "value");
+		RoamingMap<String, String> other = new RoamingMap<>();
+		other.put("key", "value");
+		Thread caller = new Thread(() -> Barricade.getWithStateVar(other, "key"));
+		caller.start();
+		caller.join(100);
+		assertTrue(caller.isAlive());
+		checks.remove().run();
+		caller.join(5000);
+		assertFalse(caller.isAlive());
+		assertEquals(0, verifier.dropped());
+	}
+
+	// Edge Case: A non-positive capacity is rejected.
+	@Test(expected = IllegalArgumentException.class)
+	public void testAsync_InvalidCapacity() {
+		new AsyncVerifier(Runnable::run, 0, AsyncVerifier.Backpressure.DROP, mismatch -> {
+		});
+	}
+
+	// ==================== Read Cache Tests ====================
+
+	// Code Coverage: A repeat read of an unchanged map is served from the cache.
+	@Test
+	public void testReadCache_RepeatReadHits() {
+		RoamingMap<String, String> map = new RoamingMap<>();
+		map.put("key", "value");
+		assertEquals("value", Barricade.getWithStateVar(map, "key").value());
+		assertEquals("value", Barricade.getWithStateVar(map, "key").value());
+		assertNull(Barricade.getWithStateVar(map, "missing").value());
+		assertNull(Barricade.getWithStateVar(map, "missing").value());
+		Barricade.ReadCacheStatistics statistics = Barricade.readCacheStatistics();
+		assertEquals(2, statistics.hits());
+		assertEquals(2, statistics.misses());
+		assertEquals(0.5, statistics.hitRate(), 0.0);
+	}
+
+	// Code Coverage: Every kind of write invalidates the cached values of the map.
+	@Test
+	public void testReadCache_WritesInvalidate() {
+		RoamingMap<String, String> map = new RoamingMap<>();
+		map.put("a", "1");
+		map.put("b", "2");
+		map.put("c", "3");
+		Barricade.getWithStateVar(map, "a");
+		map.put("a", "changed");
+		assertEquals("changed", Barricade.getWithStateVar(map, "a").value());
+		map.remove("a");
+		assertNull(Barricade.getWithStateVar(map, "a").value());
+		Barricade.getWithStateVar(map, "b");
+		map.pollFirstEntry();
+		assertNull(Barricade.getWithStateVar(map, "b").value());
+		Barricade.getWithStateVar(map, "c");
+		Iterator<Map.Entry<String, String>> entries = map.tailMap("c", true).entrySet().iterator();
+		entries.next();
+		entries.remove();
+		assertNull(Barricade.getWithStateVar(map, "c").value());
+		map.put("d", "4");
+		Barricade.getWithStateVar(map, "d");
+		map.clear();
+		assertNull(Barricade.getWithStateVar(map, "d").value());
+		assertEquals(0, Barricade.readCacheStatistics().hits());
+	}
+
+	// Mismatch: A recovered value is cached, so the repeat read returns it without a new warning.
+	@Test
+	public void testReadCache_CachesRecoveredValue() {
+		Barricade.setVerificationPolicy(VerificationPolicy.shadow());
+		RoamingMap<String, String> map = trackedMap();
+		Barricade.putWithStateVar(map, "key", "value");
+		map.put("key", "changed");
+		assertEquals("value", Barricade.getWithStateVar(map, "key").value());
+		assertTrue(logHandler.getLastLog().isPresent());
+		logHandler.clearLogRecords();
+		assertEquals("value", Barricade.getWithStateVar(map, "key").value());
+		assertFalse(logHandler.getLastLog().isPresent());
+		assertEquals(1, Barricade.readCacheStatistics().hits());
+	}
+
+	// Code Coverage: Reads of a map created with the injection constructor bypass the cache, so a
+	// write made directly to the injected map is seen by the next read.
+	@Test
+	public void testReadCache_InjectedMapBypassed() {
+		TreeMap<String, String> backing = new TreeMap<>();
+		RoamingMap<String, String> map = new RoamingMap<>(backing, true);
+		map.put("key", "value");
+		assertEquals(-1, map.modCount());
+		assertEquals("value", Barricade.getWithStateVar(map, "key").value());
+		backing.put("key", "changed");
+		assertEquals("changed", Barricade.getWithStateVar(map, "key").value());
+		assertEquals(0, Barricade.readCacheStatistics().hits());
+		assertEquals(0, Barricade.readCacheStatistics().misses());
+	}
+
+	// Code Coverage: The cache keeps at most its capacity and is off at capacity 0.
+	@Test
+	public void testReadCache_Capacity() {
+		RoamingMap<String, String> map = new RoamingMap<>();
+		Barricade.setReadCacheCapacity(1);
+		Barricade.getWithStateVar(map, "a");
+		Barricade.getWithStateVar(map, "b");
+		Barricade.getWithStateVar(map, "a");
+		assertEquals(0, Barricade.readCacheStatistics().hits());
+		Barricade.getWithStateVar(map, "a");
+		assertEquals(1, Barricade.readCacheStatistics().hits());
+		Barricade.setReadCacheCapacity(0);
+		Barricade.resetReadCacheStatistics();
+		Barricade.getWithStateVar(map, "a");
+		Barricade.getWithStateVar(map, "a");
+		assertEquals(0, Barricade.readCacheStatistics().hits());
+		assertEquals(0, Barricade.readCacheStatistics().misses());
+	}
+
+	// Edge Case: A negative capacity is rejected.
+	@Test(expected = IllegalArgumentException.class)
+	public void testReadCache_NegativeCapacity() {
+		Barricade.setReadCacheCapacity(-1);
+	}
+
 	// ==================== Helper Classes ====================
 
 	// Logger handler for capturing log output in tests.
@@ -331,6 +913,32 @@ public class BarricadeTest {
 		}
 	}
 
+	// Helper class: FaultySubMapMap simulates a range view error by returning "faulty" for every value.
+	static class FaultySubMapMap extends TreeMap<String, String> {
+
+		@Override
+		public NavigableMap<String, String> subMap(String fromKey, boolean fromInclusive,
+			String toKey, boolean toInclusive) {
+			NavigableMap<String, String> view = new TreeMap<>(
+				super.subMap(fromKey, fromInclusive, toKey, toInclusive));
+			view.replaceAll((key, value) -> "faulty");
+			return view;
+		}
+	}
+
+	// Helper class: HidingSubMapMap leaves the key "b" out of its range views.
+	static class HidingSubMapMap extends TreeMap<String, String> {
+
+		@Override
+		public NavigableMap<String, String> subMap(String fromKey, boolean fromInclusive,
+			String toKey, boolean toInclusive) {
+			NavigableMap<String, String> view = new TreeMap<>(
+				super.subMap(fromKey, fromInclusive, toKey, toInclusive));
+			view.remove("b");
+			return view;
+		}
+	}
+
 	// Helper class: MismatchEntrySetMap always returns a different entry set to simulate a mismatch.
 	static class MismatchEntrySetMap extends TreeMap<String, String> {
 
@@ -355,6 +963,15 @@ public class BarricadeTest {
 		}
 	}
 
+	// Helper class: UncopyableMap fails every walk of its entries, so any copy of it throws.
+	static class UncopyableMap extends TreeMap<String, String> {
+
+		@Override
+		public Set<Map.Entry<String, String>> entrySet() {
+			throw new UnsupportedOperationException("copied");
+		}
+	}
+
 	// Helper class: ControlledMismatchMap returns a consistent entry set for the first two calls,
 	// then returns an inconsistent one (by adding a dummy entry) on later calls.
 	static class ControlledMismatchMap extends TreeMap<String, String> {
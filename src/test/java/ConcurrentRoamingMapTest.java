@@ -0,0 +1,75 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import roamingcollection.ConcurrentRoamingMap;
+
+// Test class for ConcurrentRoamingMap
+public class ConcurrentRoamingMapTest {
+
+	// Edge Case: Null key should throw NullPointerException.
+	@Test(expected = NullPointerException.class)
+	public void testPut_NullKey() {
+		new ConcurrentRoamingMap<String, String>().put(null, "value");
+	}
+
+	// Edge Case: Null value should throw NullPointerException.
+	@Test(expected = NullPointerException.class)
+	public void testPutIfAbsent_NullValue() {
+		new ConcurrentRoamingMap<String, String>().putIfAbsent("key", null);
+	}
+
+	// Edge Case: Injection flag set to false should throw IllegalArgumentException.
+	@Test(expected = IllegalArgumentException.class)
+	public void testInjection_FalseFlag() {
+		new ConcurrentRoamingMap<String, String>(new ConcurrentSkipListMap<>(), false);
+	}
+
+	// Code Coverage: Navigation follows the natural order of the keys.
+	@Test
+	public void testNavigation_Normal() {
+		ConcurrentRoamingMap<Integer, String> map = new ConcurrentRoamingMap<>(
+			Map.of(1, "a", 3, "c", 5, "e"));
+		assertEquals(Integer.valueOf(3), map.floorKey(4));
+		assertEquals("e", map.ceilingEntry(4).getValue());
+		assertNull(map.higherEntry(5));
+		assertEquals("{3=c, 5=e}", map.tailMap(2).toString());
+	}
+
+	// Code Coverage: Concurrent writers and readers neither lose updates nor fail while iterating.
+	@Test
+	public void testConcurrentAccess_Normal() throws Exception {
+		ConcurrentRoamingMap<Integer, Integer> map = new ConcurrentRoamingMap<>();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				int thread = t;
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 1000; i++) {
+						map.put(thread * 1000 + i, i);
+						map.floorKey(i);
+						if (i % 100 == 0) {
+							map.entrySet().forEach(entry -> entry.getValue().intValue());
+						}
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		}
+		assertEquals(8000, map.size());
+	}
+}
@@ -0,0 +1,86 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+// Test class for Indexes
+public class IndexesTest {
+
+	// ==================== stream Tests ====================
+
+	// Edge Case: Null starting point should throw NullPointerException.
+	@Test(expected = NullPointerException.class)
+	public void testStream_NullFrom() {
+		Indexes.stream(null, Indexes.ORIGIN);
+	}
+
+	// Code Coverage: All indexes of the range are streamed in row-major order.
+	@Test
+	public void testStream_RowMajorOrder() {
+		assertEquals(List.of(new Indexes(1, 2), new Indexes(1, 3), new Indexes(2, 2),
+				new Indexes(2, 3)),
+			Indexes.stream(new Indexes(1, 2), new Indexes(2, 3)).collect(Collectors.toList()));
+		assertEquals(0, Indexes.stream(new Indexes(1, 1), new Indexes(0, 1)).count());
+	}
+
+	// Code Coverage: The stream is sized and splits evenly, and parallel traversal keeps the order.
+	@Test
+	public void testStream_ParallelSplit() {
+		Spliterator<Indexes> spliterator = Indexes.stream(99, 9).spliterator();
+		assertEquals(1000, spliterator.getExactSizeIfKnown());
+		Spliterator<Indexes> prefix = spliterator.trySplit();
+		assertNotNull(prefix);
+		assertEquals(500, prefix.estimateSize());
+		assertEquals(500, spliterator.estimateSize());
+		assertEquals(Indexes.stream(99, 9).collect(Collectors.toList()),
+			Indexes.stream(99, 9).parallel().collect(Collectors.toList()));
+	}
+
+	// ==================== packed Tests ====================
+
+	// Code Coverage: Packed indexes round-trip and keep the order of compareTo.
+	@Test
+	public void testPack_RoundTripAndOrder() {
+		List<Indexes> indexes = List.of(new Indexes(-2, 5), new Indexes(0, -1), new Indexes(0, 0),
+			new Indexes(0, Integer.MAX_VALUE), new Indexes(3, Integer.MIN_VALUE));
+		for (int i = 0; i < indexes.size(); i++) {
+			long packed = Indexes.pack(indexes.get(i).row(), indexes.get(i).column());
+			assertEquals(indexes.get(i).row(), Indexes.packedRow(packed));
+			assertEquals(indexes.get(i).column(), Indexes.packedColumn(packed));
+			if (i > 0) {
+				Indexes previous = indexes.get(i - 1);
+				assertEquals(-1, Long.signum(Indexes.pack(previous.row(), previous.column()) - packed));
+			}
+		}
+	}
+
+	// Code Coverage: The packed stream and forEach visit the same cells as the stream.
+	@Test
+	public void testPackedStreamAndForEach_SameCells() {
+		Indexes from = new Indexes(2, 1);
+		Indexes to = new Indexes(4, 3);
+		List<Indexes> expected = Indexes.stream(from, to).collect(Collectors.toList());
+		assertEquals(expected, Indexes.packedStream(from, to).parallel()
+			.mapToObj(packed -> new Indexes(Indexes.packedRow(packed), Indexes.packedColumn(packed)))
+			.collect(Collectors.toList()));
+		List<Indexes> visited = new ArrayList<>();
+		Indexes.forEach(from, to, (row, column) -> visited.add(new Indexes(row, column)));
+		assertEquals(expected, visited);
+	}
+
+	// ==================== of Tests ====================
+
+	// Code Coverage: Repeated of calls reuse the interned instance.
+	@Test
+	public void testOf_Interned() {
+		Indexes indexes = Indexes.of(3, 4);
+		assertEquals(new Indexes(3, 4), indexes);
+		assertSame(indexes, Indexes.of(3, 4));
+		assertEquals(new Indexes(-1, Integer.MAX_VALUE), Indexes.of(-1, Integer.MAX_VALUE));
+	}
+}
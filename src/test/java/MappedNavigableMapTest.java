@@ -0,0 +1,180 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import roamingcollection.MappedNavigableMap;
+import roamingcollection.MappedNavigableMap.Codec;
+import roamingcollection.RoamingMap;
+
+// Test class for MappedNavigableMap
+public class MappedNavigableMapTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path file() throws IOException {
+		return folder.newFolder().toPath().resolve("map.bin");
+	}
+
+	// Code Coverage: Random puts and removes that split many pages match a TreeMap.
+	@Test
+	public void testPutRemove_MatchesTreeMap() throws IOException {
+		try (MappedNavigableMap<Integer, Long> map = MappedNavigableMap.open(file(),
+			Codec.integers(), Codec.longs())) {
+			TreeMap<Integer, Long> expected = new TreeMap<>();
+			Random random = new Random(42);
+			for (int i = 0; i < 50_000; i++) {
+				int key = random.nextInt(20_000);
+				if (random.nextInt(4) == 0) {
+					assertEquals(expected.remove(key), map.remove(key));
+				} else {
+					assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+				}
+			}
+			assertEquals(expected.size(), map.size());
+			assertEquals(expected, map);
+			assertEquals(List.copyOf(expected.entrySet()), List.copyOf(map.entrySet()));
+		}
+	}
+
+	// Code Coverage: Navigation and range views follow TreeMap, also over emptied leaves.
+	@Test
+	public void testNavigation_MatchesTreeMap() throws IOException {
+		try (MappedNavigableMap<Integer, Integer> map = MappedNavigableMap.open(file(),
+			Codec.integers(), Codec.integers())) {
+			TreeMap<Integer, Integer> expected = new TreeMap<>();
+			for (int i = 0; i < 5_000; i += 2) {
+				map.put(i, -i);
+				expected.put(i, -i);
+			}
+			for (int i = 1_000; i < 3_000; i += 2) {
+				map.remove(i);
+				expected.remove(i);
+			}
+			for (int key : new int[]{-1, 0, 1, 999, 1_000, 1_500, 2_999, 3_000, 4_998, 6_000}) {
+				assertEquals(expected.floorEntry(key), map.floorEntry(key));
+				assertEquals(expected.lowerKey(key), map.lowerKey(key));
+				assertEquals(expected.ceilingEntry(key), map.ceilingEntry(key));
+				assertEquals(expected.higherKey(key), map.higherKey(key));
+			}
+			assertEquals(expected.subMap(500, true, 3_500, false), map.subMap(500, true, 3_500, false));
+			assertEquals(expected.subMap(500, 3_500).size(), map.subMap(500, 3_500).size());
+			NavigableMap<Integer, Integer> descending = map.descendingMap().headMap(3_001, false);
+			NavigableMap<Integer, Integer> expectedDescending = expected.descendingMap()
+				.headMap(3_001, false);
+			assertEquals(List.copyOf(expectedDescending.keySet()), List.copyOf(descending.keySet()));
+			assertEquals(expectedDescending.firstKey(), descending.firstKey());
+			assertEquals(expectedDescending.ceilingKey(2_000), descending.ceilingKey(2_000));
+			assertEquals(expectedDescending.pollLastEntry(), descending.pollLastEntry());
+			assertEquals(expected, map);
+		}
+	}
+
+	// Code Coverage: Removal through the iterator keeps iterating over the remaining entries.
+	@Test
+	public void testIteratorRemove_Normal() throws IOException {
+		try (MappedNavigableMap<Integer, Integer> map = MappedNavigableMap.open(file(),
+			Codec.integers(), Codec.integers())) {
+			for (int i = 0; i < 2_000; i++) {
+				map.put(i, i);
+			}
+			for (Iterator<Map.Entry<Integer, Integer>> it = map.entrySet().iterator(); it.hasNext(); ) {
+				Map.Entry<Integer, Integer> entry = it.next();
+				if (entry.getKey() % 3 == 0) {
+					it.remove();
+				} else {
+					entry.setValue(-entry.getValue());
+				}
+			}
+			assertEquals(1_333, map.size());
+			assertNull(map.get(3));
+			assertEquals(Integer.valueOf(-4), map.get(4));
+		}
+	}
+
+	// Code Coverage: A reopened file holds the same entries without a rebuild.
+	@Test
+	public void testReopen_Normal() throws IOException {
+		Path file = file();
+		TreeMap<Indexes, String> expected = new TreeMap<>();
+		try (MappedNavigableMap<Indexes, String> map = MappedNavigableMap.open(file,
+			Indexes.codec(), Codec.strings(16))) {
+			Indexes.stream(40, 40).forEach(indexes -> {
+				map.put(indexes, indexes.row() + "," + indexes.column());
+				expected.put(indexes, indexes.row() + "," + indexes.column());
+			});
+		}
+		try (MappedNavigableMap<Indexes, String> map = MappedNavigableMap.open(file,
+			Indexes.codec(), Codec.strings(16))) {
+			assertEquals(expected, map);
+			assertEquals(new Indexes(40, 40), map.lastKey());
+		}
+	}
+
+	// Edge Case: Reopening with codecs of other widths should throw IOException.
+	@Test(expected = IOException.class)
+	public void testReopen_CodecMismatch() throws IOException {
+		Path file = file();
+		MappedNavigableMap.open(file, Codec.integers(), Codec.integers()).close();
+		MappedNavigableMap.open(file, Codec.longs(), Codec.integers());
+	}
+
+	// Edge Case: Reopening with a codec of the same width but another encoding should throw
+	// IOException.
+	@Test(expected = IOException.class)
+	public void testReopen_SameWidthCodecMismatch() throws IOException {
+		Path file = file();
+		MappedNavigableMap.open(file, Codec.integers(), Codec.longs()).close();
+		MappedNavigableMap.open(file, Codec.integers(), Codec.doubles());
+	}
+
+	// Edge Case: A value the codec rejects leaves the map unchanged.
+	@Test
+	public void testPut_RejectedValue() throws IOException {
+		try (MappedNavigableMap<Integer, String> map = MappedNavigableMap.open(file(),
+			Codec.integers(), Codec.strings(4))) {
+			map.put(1, "one");
+			map.put(3, "tri");
+			try {
+				map.put(2, "two!!");
+			} catch (IllegalArgumentException expected) {
+				// The string takes 5 bytes
+			}
+			assertEquals("{1=one, 3=tri}", map.toString());
+		}
+	}
+
+	// Edge Case: Null key should throw NullPointerException.
+	@Test(expected = NullPointerException.class)
+	public void testPut_NullKey() throws IOException {
+		try (MappedNavigableMap<Integer, Integer> map = MappedNavigableMap.open(file(),
+			Codec.integers(), Codec.integers())) {
+			map.put(null, 1);
+		}
+	}
+
+	// Code Coverage: RoamingMap wraps the mapped map through the injection constructor.
+	@Test
+	public void testRoamingMap_Injection() throws IOException {
+		try (MappedNavigableMap<Integer, Integer> mapped = MappedNavigableMap.open(file(),
+			Codec.integers(), Codec.integers())) {
+			RoamingMap<Integer, Integer> map = new RoamingMap<>(mapped, true);
+			map.put(2, 4);
+			map.put(1, 1);
+			assertEquals("{1=1, 2=4}", map.snapshot().toString());
+			map.clear();
+			assertFalse(mapped.containsKey(1));
+		}
+	}
+}
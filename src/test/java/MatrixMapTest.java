@@ -1,4 +1,837 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import roamingcollection.MappedNavigableMap;
+import roamingcollection.RoamingMap;
+
 // Test class for MatrixMap
 public class MatrixMapTest {
 
-}
\ No newline at end of file
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	// ==================== instance Tests ====================
+
+	// Edge Case: Null value mapper should throw NullPointerException.
+	@Test(expected = NullPointerException.class)
+	public void testInstance_NullMapper() {
+		MatrixMap.instance(2, 2, null);
+	}
+
+	// Edge Case: Non-positive rows should throw IllegalArgumentException caused by ROW.
+	@Test
+	public void testInstance_NonPositiveRows() {
+		try {
+			MatrixMap.instance(0, 2, indexes -> 1);
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			MatrixMap.InvalidLengthException cause = (MatrixMap.InvalidLengthException) e.getCause();
+			assertEquals(MatrixMap.InvalidLengthException.Cause.ROW, cause.getTheCause());
+			assertEquals(0, cause.getTheLength());
+		}
+	}
+
+	// Code Coverage: Every cell of a rows x columns matrix is built from the value mapper.
+	@Test
+	public void testInstance_Normal() {
+		MatrixMap<Integer> matrix = MatrixMap.instance(3, 4,
+			indexes -> indexes.row() * 10 + indexes.column());
+		assertEquals(Integer.valueOf(0), matrix.value(0, 0));
+		assertEquals(Integer.valueOf(12), matrix.value(1, 2));
+		assertEquals(Integer.valueOf(23), matrix.value(2, 3));
+		assertEquals("{Indexes[row=0, column=0]=0, Indexes[row=0, column=1]=1}",
+			MatrixMap.instance(1, 2, indexes -> indexes.column()).toString());
+	}
+
+	// Edge Case: Cells outside the matrix have no value.
+	@Test
+	public void testValue_OutOfBounds() {
+		MatrixMap<Integer> matrix = MatrixMap.instance(2, 2, indexes -> 1);
+		assertEquals(null, matrix.value(2, 0));
+	}
+
+	// Code Coverage: Matrices without a dominant value are stored densely by default.
+	@Test
+	public void testInstance_DefaultLayout() {
+		assertEquals(MatrixMap.Layout.DENSE,
+			MatrixMap.instance(2, 3, indexes -> indexes.row() * 3 + indexes.column()).layout());
+	}
+
+	// Code Coverage: Matrices dominated by one value are stored sparsely by default.
+	@Test
+	public void testInstance_DominantValueLayout() {
+		MatrixMap<Integer> matrix = MatrixMap.instance(4, 4,
+			indexes -> (indexes.row() == 3 && indexes.column() == 1) ? 7 : 0);
+		assertEquals(MatrixMap.Layout.SPARSE, matrix.layout());
+		assertEquals(Integer.valueOf(7), matrix.value(3, 1));
+		assertEquals(Integer.valueOf(0), matrix.value(3, 2));
+		assertEquals(null, matrix.value(4, 0));
+		assertEquals(new Indexes(4, 4), matrix.size());
+	}
+
+	// Code Coverage: Dense and map-backed layouts expose the same values, size and representation.
+	@Test
+	public void testInstance_LayoutsAgree() {
+		MatrixMap<Integer> dense = MatrixMap.instance(3, 2,
+			indexes -> indexes.row() - indexes.column(), MatrixMap.Layout.DENSE);
+		MatrixMap<Integer> map = MatrixMap.instance(3, 2,
+			indexes -> indexes.row() - indexes.column(), MatrixMap.Layout.MAP);
+		MatrixMap<Integer> sparse = MatrixMap.instance(3, 2,
+			indexes -> indexes.row() - indexes.column(), MatrixMap.Layout.SPARSE);
+		MatrixMap<Integer> packed = MatrixMap.instance(3, 2,
+			indexes -> indexes.row() - indexes.column(), MatrixMap.Layout.PACKED);
+		assertEquals(MatrixMap.Layout.MAP, map.layout());
+		assertEquals(MatrixMap.Layout.SPARSE, sparse.layout());
+		assertEquals(map.toString(), dense.toString());
+		assertEquals(map.toString(), sparse.toString());
+		assertEquals(map.toString(), packed.toString());
+		assertEquals(new Indexes(3, 2), sparse.size());
+		assertEquals(new Indexes(3, 2), dense.size());
+		assertEquals(new Indexes(3, 2), map.size());
+		for (int i = -1; i <= 3; i++) {
+			for (int j = -1; j <= 2; j++) {
+				assertEquals(map.value(i, j), dense.value(i, j));
+				assertEquals(map.value(i, j), sparse.value(i, j));
+				assertEquals(map.value(i, j), packed.value(i, j));
+			}
+		}
+	}
+
+	// Edge Case: With assertions enabled, recorded dimensions that disagree with the key set should
+	// throw AssertionError.
+	@Test
+	public void testMapSize_CrossCheck() {
+		boolean assertions = false;
+		assert assertions = true;
+		Assume.assumeTrue(assertions);
+		RoamingMap<Indexes, Integer> cells = new RoamingMap<>();
+		Indexes.stream(1, 1).forEach(indexes -> cells.put(indexes, 0));
+		assertEquals(new Indexes(2, 2), new MapMatrixStorage<>(cells, 2, 2).size());
+		boolean thrown = false;
+		try {
+			new MapMatrixStorage<>(cells, 3, 2).size();
+		} catch (AssertionError expected) {
+			// The key set ends at (1, 1)
+			thrown = true;
+		}
+		assertTrue(thrown);
+	}
+
+	// Edge Case: A value mapper producing null should throw NullPointerException.
+	@Test(expected = NullPointerException.class)
+	public void testInstance_NullValue() {
+		MatrixMap.instance(2, 2, indexes -> null);
+	}
+
+	// ==================== parallel instance Tests ====================
+
+	// Edge Case: Non-positive parallelism threshold should throw IllegalArgumentException.
+	@Test(expected = IllegalArgumentException.class)
+	public void testParallelBuild_NonPositiveThreshold() {
+		new MatrixMap.ParallelBuild(ForkJoinPool.commonPool(), 0);
+	}
+
+	// Code Coverage: The parallel build gives the same matrix as the sequential build.
+	@Test
+	public void testParallelInstance_SameAsSequential() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			Function<Indexes, Integer> mapper = indexes -> indexes.row() * 31 + indexes.column();
+			MatrixMap<Integer> parallel = MatrixMap.instance(37, 23, mapper,
+				new MatrixMap.ParallelBuild(pool, 16));
+			MatrixMap<Integer> sequential = MatrixMap.instance(37, 23, mapper);
+			assertEquals(sequential.layout(), parallel.layout());
+			assertEquals(sequential.toString(), parallel.toString());
+			assertEquals(sequential.toString(), MatrixMap.instance(37, 23, mapper,
+				MatrixMap.ParallelBuild.common()).toString());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	// Edge Case: A value mapper producing null in a parallel build should throw
+	// NullPointerException.
+	@Test(expected = NullPointerException.class)
+	public void testParallelInstance_NullValue() {
+		MatrixMap.instance(64, 64, indexes -> indexes.row() == 63 ? null : 1,
+			new MatrixMap.ParallelBuild(ForkJoinPool.commonPool(), 8));
+	}
+
+	// ==================== constant Tests ====================
+
+	// Code Coverage: Every cell of a constant matrix holds the same value.
+	@Test
+	public void testConstant_Normal() {
+		MatrixMap<String> matrix = MatrixMap.constant(3, "c");
+		assertEquals("c", matrix.value(0, 0));
+		assertEquals("c", matrix.value(2, 2));
+	}
+
+	// ==================== identity Tests ====================
+
+	// Code Coverage: Diagonal cells hold identity and all other cells hold zero.
+	@Test
+	public void testIdentity_Normal() {
+		MatrixMap<Integer> matrix = MatrixMap.identity(3, 0, 1);
+		assertEquals(MatrixMap.Layout.SPARSE, matrix.layout());
+		assertEquals(Integer.valueOf(1), matrix.value(1, 1));
+		assertEquals(Integer.valueOf(0), matrix.value(1, 2));
+		assertEquals(MatrixMap.instance(3, 3, indexes -> indexes.areDiagonal() ? 1 : 0,
+			MatrixMap.Layout.DENSE).toString(), matrix.toString());
+	}
+
+	// ==================== sparse Tests ====================
+
+	// Code Coverage: Cells missing from values hold the default value.
+	@Test
+	public void testSparse_Normal() {
+		MatrixMap<String> matrix = MatrixMap.sparse(2, 3, "-",
+			Map.of(new Indexes(1, 2), "x", new Indexes(0, 1), "y", new Indexes(1, 0), "-"));
+		assertEquals("y", matrix.value(0, 1));
+		assertEquals("x", matrix.value(1, 2));
+		assertEquals("-", matrix.value(1, 1));
+		assertEquals("-", matrix.value(0, 0));
+	}
+
+	// Code Coverage: Without a majority value, the most frequent value is still the default.
+	@Test
+	public void testSparse_NoMajorityDefault() {
+		List<String> row = List.of("a", "a", "a", "b", "c", "d", "e");
+		SparseMatrixStorage<String> storage = SparseMatrixStorage.from(
+			DenseMatrixStorage.build(1, 7, indexes -> row.get(indexes.column())));
+		assertEquals("a", storage.defaultValue());
+		assertEquals(4, storage.storedCells());
+		assertEquals("e", storage.value(0, 6));
+	}
+
+	// Edge Case: Values outside the matrix should throw IndexOutOfBoundsException.
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testSparse_OutOfBounds() {
+		MatrixMap.sparse(2, 2, 0, Map.of(new Indexes(2, 0), 1));
+	}
+
+	// ==================== packed Tests ====================
+
+	// Code Coverage: Only the cells that differ from the most frequent value are stored.
+	@Test
+	public void testPacked_StoresNonDefaultCells() {
+		PackedMatrixStorage<Integer> storage = PackedMatrixStorage.build(4, 5,
+			indexes -> (indexes.row() == indexes.column()) ? 1 : 0);
+		assertEquals(4, storage.storedCells());
+		assertEquals(Integer.valueOf(1), storage.value(3, 3));
+		assertEquals(Integer.valueOf(0), storage.value(3, 4));
+		assertNull(storage.value(4, 0));
+		List<Integer> values = new ArrayList<>();
+		storage.forEach(1, 3, 0, 5, (row, column, value) -> values.add(value));
+		assertEquals(List.of(0, 1, 0, 0, 0, 0, 0, 1, 0, 0), values);
+		assertEquals(SparseMatrixStorage.from(DenseMatrixStorage.build(4, 5,
+			indexes -> (indexes.row() == indexes.column()) ? 1 : 0)).toString(), storage.toString());
+	}
+
+	// ==================== lazy Tests ====================
+
+	// Code Coverage: Values of a lazy matrix are computed only when they are read.
+	@Test
+	public void testLazy_ComputedOnRead() {
+		AtomicInteger calls = new AtomicInteger();
+		MatrixMap<Integer> matrix = MatrixMap.lazy(1000, 1000, indexes -> {
+			calls.incrementAndGet();
+			return indexes.row() + indexes.column();
+		});
+		assertEquals(MatrixMap.Layout.LAZY, matrix.layout());
+		assertEquals(0, calls.get());
+		assertEquals(Integer.valueOf(5), matrix.value(2, 3));
+		assertEquals(Integer.valueOf(5), matrix.value(2, 3));
+		assertEquals(null, matrix.value(1000, 0));
+		assertEquals(2, calls.get());
+		assertEquals(new Indexes(1000, 1000), matrix.size());
+	}
+
+	// Code Coverage: A memoized lazy matrix computes every value at most once.
+	@Test
+	public void testLazy_Memoized() {
+		AtomicInteger calls = new AtomicInteger();
+		MatrixMap<Integer> matrix = MatrixMap.lazy(2, 2, indexes -> calls.incrementAndGet(), true);
+		assertEquals(matrix.value(1, 1), matrix.value(1, 1));
+		assertEquals(1, calls.get());
+	}
+
+	// Code Coverage: Materializing a lazy matrix stores the same values.
+	@Test
+	public void testLazy_Materialize() {
+		MatrixMap<Integer> lazy = MatrixMap.lazy(2, 3, indexes -> indexes.row() * 3 + indexes.column());
+		MatrixMap<Integer> stored = lazy.materialize();
+		assertEquals(MatrixMap.Layout.DENSE, stored.layout());
+		assertEquals(lazy.toString(), stored.toString());
+		assertEquals(stored, stored.materialize());
+	}
+
+	// ==================== Primitive specialization Tests ====================
+
+	// Code Coverage: Primitive matrices hold the unboxed values of the mapper.
+	@Test
+	public void testPrimitiveInstance_Normal() {
+		IntMatrixMap ints = IntMatrixMap.instance(2, 3, (row, column) -> row * 3 + column);
+		LongMatrixMap longs = LongMatrixMap.instance(2, 3, indexes -> indexes.row() * 3L);
+		DoubleMatrixMap doubles = DoubleMatrixMap.from(new double[][]{{0.5, 1.5}, {2.5, 3.5}});
+		assertEquals(5, ints.getInt(1, 2));
+		assertEquals(3L, longs.getLong(new Indexes(1, 0)));
+		assertEquals(2.5, doubles.getDouble(1, 0), 0.0);
+		assertEquals(new Indexes(2, 3), ints.size());
+		assertEquals(new Indexes(2, 2), doubles.size());
+	}
+
+	// Code Coverage: Primitive matrices render and box like MatrixMap.
+	@Test
+	public void testPrimitiveBoxed_SameRepresentation() {
+		IntMatrixMap identity = IntMatrixMap.identity(2, 0, 1);
+		assertEquals(
+			"{Indexes[row=0, column=0]=1, Indexes[row=0, column=1]=0, Indexes[row=1, column=0]=0, "
+				+ "Indexes[row=1, column=1]=1}", identity.toString());
+		assertEquals(identity.toString(), identity.boxed().toString());
+		assertEquals("{Indexes[row=0, column=0]=7}", LongMatrixMap.constant(1, 7L).toString());
+	}
+
+	// Edge Case: Reading outside a primitive matrix should throw IndexOutOfBoundsException.
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testPrimitiveValue_OutOfBounds() {
+		DoubleMatrixMap.constant(2, 1.0).getDouble(0, 2);
+	}
+
+	// Edge Case: Ragged input rows should throw IllegalArgumentException caused by COLUMN.
+	@Test
+	public void testPrimitiveFrom_RaggedRows() {
+		try {
+			IntMatrixMap.from(new int[][]{{1, 2}, {3}});
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			MatrixMap.InvalidLengthException cause = (MatrixMap.InvalidLengthException) e.getCause();
+			assertEquals(MatrixMap.InvalidLengthException.Cause.COLUMN, cause.getTheCause());
+			assertEquals(1, cause.getTheLength());
+		}
+	}
+
+	// ==================== save and map Tests ====================
+
+	// Code Coverage: A dense matrix mapped back from its file has the same values.
+	@Test
+	public void testMap_Dense() throws IOException {
+		Path file = folder.newFile().toPath();
+		MatrixMap<Integer> matrix = MatrixMap.instance(3, 4, indexes -> indexes.row() * 10
+			+ indexes.column(), MatrixMap.Layout.DENSE);
+		matrix.save(file, MappedNavigableMap.Codec.integers());
+		MatrixMap<Integer> mapped = MatrixMap.map(file, MappedNavigableMap.Codec.integers());
+		assertEquals(MatrixMap.Layout.MAPPED, mapped.layout());
+		assertEquals(matrix.size(), mapped.size());
+		assertEquals(matrix.toString(), mapped.toString());
+		assertNull(mapped.value(3, 0));
+	}
+
+	// Code Coverage: A sparse matrix is saved sparsely and mapped back with the same values.
+	@Test
+	public void testMap_Sparse() throws IOException {
+		Path file = folder.newFile().toPath();
+		MatrixMap<Double> identity = MatrixMap.identity(50, 0.0, 1.0);
+		identity.save(file, MappedNavigableMap.Codec.doubles());
+		assertEquals(MappedMatrixStorage.HEADER_SIZE + Double.BYTES + 50L * (Long.BYTES
+			+ Double.BYTES), Files.size(file));
+		MatrixMap<Double> mapped = MatrixMap.map(file, MappedNavigableMap.Codec.doubles());
+		assertEquals(identity.toString(), mapped.toString());
+	}
+
+	// Edge Case: Mapping with a codec of another width should throw IOException.
+	@Test(expected = IOException.class)
+	public void testMap_CodecMismatch() throws IOException {
+		Path file = folder.newFile().toPath();
+		MatrixMap.constant(2, 1).save(file, MappedNavigableMap.Codec.integers());
+		MatrixMap.map(file, MappedNavigableMap.Codec.longs());
+	}
+
+	// Edge Case: Mapping or streaming with a codec of the same width but another encoding should
+	// throw IOException.
+	@Test
+	public void testMap_SameWidthCodecMismatch() throws IOException {
+		Path file = folder.newFile().toPath();
+		MatrixMap.constant(2, 1L).save(file, MappedNavigableMap.Codec.longs());
+		try {
+			MatrixMap.map(file, MappedNavigableMap.Codec.doubles());
+			fail("Expected IOException");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().contains("codec"));
+		}
+		try (FileChannel channel = FileChannel.open(file)) {
+			MatrixMap.fromChannel(channel, MappedNavigableMap.Codec.doubles());
+			fail("Expected IOException");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().contains("codec"));
+		}
+	}
+
+	// Code Coverage: A packed matrix is saved sparsely from its stored cells.
+	@Test
+	public void testMap_Packed() throws IOException {
+		Path file = folder.newFile().toPath();
+		MatrixMap<Integer> packed = MatrixMap.instance(20, 20,
+			indexes -> indexes.areDiagonal() ? 1 : 0, MatrixMap.Layout.PACKED);
+		packed.save(file, MappedNavigableMap.Codec.integers());
+		assertEquals(MappedMatrixStorage.HEADER_SIZE + Integer.BYTES + 20L * (Long.BYTES
+			+ Integer.BYTES), Files.size(file));
+		assertEquals(packed.toString(),
+			MatrixMap.map(file, MappedNavigableMap.Codec.integers()).toString());
+	}
+
+	// Code Coverage: Primitive matrices read the values of a dense file without boxing them.
+	@Test
+	public void testMap_Primitive() throws IOException {
+		Path ints = folder.newFile().toPath();
+		Path longs = folder.newFile().toPath();
+		Path doubles = folder.newFile().toPath();
+		MatrixMap<Integer> matrix = MatrixMap.instance(3, 4,
+			indexes -> indexes.row() * 10 + indexes.column(), MatrixMap.Layout.DENSE);
+		matrix.save(ints, MappedNavigableMap.Codec.integers());
+		LongMatrixMap.instance(2, 2, (row, column) -> 7L * row + column).boxed()
+			.save(longs, MappedNavigableMap.Codec.longs());
+		DoubleMatrixMap.from(new double[][]{{0.5, 1.5}, {2.5, 3.5}}).boxed()
+			.save(doubles, MappedNavigableMap.Codec.doubles());
+		IntMatrixMap mapped = IntMatrixMap.map(ints);
+		assertEquals(new Indexes(3, 4), mapped.size());
+		assertEquals(23, mapped.getInt(2, 3));
+		assertEquals(matrix.toString(), mapped.toString());
+		assertEquals(8L, LongMatrixMap.map(longs).getLong(1, 1));
+		assertEquals(2.5, DoubleMatrixMap.map(doubles).getDouble(1, 0), 0.0);
+	}
+
+	// Edge Case: Mapping a sparse file or a file of another codec unboxed should throw IOException.
+	@Test
+	public void testMap_PrimitiveRejected() throws IOException {
+		Path sparse = folder.newFile().toPath();
+		MatrixMap.identity(10, 0, 1).save(sparse, MappedNavigableMap.Codec.integers());
+		try {
+			IntMatrixMap.map(sparse);
+			fail("Expected IOException");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().contains("dense"));
+		}
+		Path longs = folder.newFile().toPath();
+		LongMatrixMap.constant(2, 7L).boxed().save(longs, MappedNavigableMap.Codec.longs());
+		try {
+			DoubleMatrixMap.map(longs);
+			fail("Expected IOException");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().contains("codec"));
+		}
+	}
+
+	// Edge Case: Building a MAPPED matrix from a mapper should throw IllegalArgumentException.
+	@Test(expected = IllegalArgumentException.class)
+	public void testInstance_MappedLayout() {
+		MatrixMap.instance(1, 1, indexes -> 0, MatrixMap.Layout.MAPPED);
+	}
+
+	// ==================== from and streaming Tests ====================
+
+	// Code Coverage: A non-square array keeps its rows as rows and its columns as columns.
+	@Test
+	public void testFrom_NonSquare() {
+		MatrixMap<Integer> matrix = MatrixMap.from(new Integer[][]{{1, 2, 3}, {4, 5, 6}});
+		assertEquals(new Indexes(2, 3), matrix.size());
+		assertEquals(Integer.valueOf(6), matrix.value(1, 2));
+	}
+
+	// Code Coverage: Rows streamed from a reused buffer match the array they were taken from.
+	@Test
+	public void testFromRows_ReusedBuffer() {
+		Integer[][] source = {{1, 2}, {3, 4}, {5, 6}};
+		Integer[] buffer = new Integer[2];
+		Iterator<Integer[]> rows = new Iterator<>() {
+
+			private int next;
+
+			@Override
+			public boolean hasNext() {
+				return next < source.length;
+			}
+
+			@Override
+			public Integer[] next() {
+				System.arraycopy(source[next++], 0, buffer, 0, buffer.length);
+				return buffer;
+			}
+		};
+		assertEquals(MatrixMap.from(source).toString(), MatrixMap.fromRows(rows).toString());
+	}
+
+	// Edge Case: A row of another length should throw IllegalArgumentException caused by COLUMN.
+	@Test
+	public void testFromRows_RaggedRows() {
+		try {
+			MatrixMap.fromRows(List.of(new Integer[]{1, 2}, new Integer[]{3}).iterator());
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			MatrixMap.InvalidLengthException cause = (MatrixMap.InvalidLengthException) e.getCause();
+			assertEquals(MatrixMap.InvalidLengthException.Cause.COLUMN, cause.getTheCause());
+			assertEquals(1, cause.getTheLength());
+		}
+	}
+
+	// Edge Case: No rows should throw IllegalArgumentException caused by ROW.
+	@Test
+	public void testFromRows_Empty() {
+		try {
+			MatrixMap.fromRows(Collections.<String[]>emptyIterator());
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			MatrixMap.InvalidLengthException cause = (MatrixMap.InvalidLengthException) e.getCause();
+			assertEquals(MatrixMap.InvalidLengthException.Cause.ROW, cause.getTheCause());
+		}
+	}
+
+	// Code Coverage: Comma-separated rows are parsed field by field, skipping blank lines.
+	@Test
+	public void testFromCsv_Normal() throws IOException {
+		MatrixMap<Integer> matrix = MatrixMap.fromCsv(new ByteArrayInputStream(
+			"1,2,3\n\n4,5,6\n".getBytes(StandardCharsets.UTF_8)), Integer::valueOf);
+		assertEquals(MatrixMap.from(new Integer[][]{{1, 2, 3}, {4, 5, 6}}).toString(),
+			matrix.toString());
+	}
+
+	// Code Coverage: A saved dense matrix is read back row by row from a channel.
+	@Test
+	public void testFromChannel_Normal() throws IOException {
+		Path file = folder.newFile().toPath();
+		MatrixMap<Long> matrix = MatrixMap.instance(4, 3, indexes -> (long) indexes.hashCode(),
+			MatrixMap.Layout.DENSE);
+		matrix.save(file, MappedNavigableMap.Codec.longs());
+		try (FileChannel channel = FileChannel.open(file)) {
+			assertEquals(matrix.toString(),
+				MatrixMap.fromChannel(channel, MappedNavigableMap.Codec.longs()).toString());
+		}
+	}
+
+	// ==================== arithmetic Tests ====================
+
+	private static Long[][] naiveProduct(Long[][] left, Long[][] right) {
+		Long[][] product = new Long[left.length][right[0].length];
+		for (int i = 0; i < left.length; i++) {
+			for (int j = 0; j < right[0].length; j++) {
+				long sum = 0;
+				for (int p = 0; p < right.length; p++) {
+					sum += left[i][p] * right[p][j];
+				}
+				product[i][j] = sum;
+			}
+		}
+		return product;
+	}
+
+	private static Long[][] randomCells(int rows, int columns, Random random) {
+		Long[][] cells = new Long[rows][columns];
+		for (Long[] row : cells) {
+			for (int j = 0; j < columns; j++) {
+				row[j] = random.nextInt(4) == 0 ? 0L : (long) random.nextInt(100);
+			}
+		}
+		return cells;
+	}
+
+	// Code Coverage: Cells are added one by one.
+	@Test
+	public void testAdd_Normal() {
+		MatrixMap<Integer> left = MatrixMap.from(new Integer[][]{{1, 2, 3}, {4, 5, 6}});
+		MatrixMap<Integer> right = MatrixMap.from(new Integer[][]{{6, 5, 4}, {3, 2, 1}});
+		assertEquals(MatrixMap.instance(2, 3, indexes -> 7).toString(),
+			left.add(right, Semiring.integers()).toString());
+	}
+
+	// Edge Case: Matrices of different sizes should throw IllegalArgumentException.
+	@Test(expected = IllegalArgumentException.class)
+	public void testAdd_SizeMismatch() {
+		MatrixMap.instance(2, 3, indexes -> 1)
+			.add(MatrixMap.instance(3, 2, indexes -> 1), Semiring.integers());
+	}
+
+	// Code Coverage: The blocked product matches the naive one across tile boundaries.
+	@Test
+	public void testMultiply_MatchesNaive() {
+		Random random = new Random(7);
+		Long[][] left = randomCells(70, 130, random);
+		Long[][] right = randomCells(130, 90, random);
+		assertEquals(MatrixMap.from(naiveProduct(left, right)).toString(),
+			MatrixMap.from(left).multiply(MatrixMap.from(right), Semiring.longs()).toString());
+	}
+
+	// Code Coverage: The parallel product matches the sequential one.
+	@Test
+	public void testMultiply_Parallel() {
+		Random random = new Random(11);
+		MatrixMap<Long> left = MatrixMap.from(randomCells(150, 80, random));
+		MatrixMap<Long> right = MatrixMap.from(randomCells(80, 100, random));
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			assertEquals(left.multiply(right, Semiring.longs()).toString(),
+				left.multiply(right, Semiring.longs(), new MatrixMap.ParallelBuild(pool, 500))
+					.toString());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	// Code Coverage: The identity of a semiring leaves the other factor unchanged.
+	@Test
+	public void testMultiply_Identity() {
+		MatrixMap<Long> matrix = MatrixMap.from(randomCells(5, 5, new Random(3)));
+		assertEquals(matrix.toString(),
+			MatrixMap.identity(5, Semiring.longs()).multiply(matrix, Semiring.longs()).toString());
+	}
+
+	// Code Coverage: The boolean semiring computes reachability in one step.
+	@Test
+	public void testMultiply_Booleans() {
+		MatrixMap<Boolean> edges = MatrixMap.from(new Boolean[][]{
+			{false, true, false}, {false, false, true}, {false, false, false}});
+		MatrixMap<Boolean> expected = MatrixMap.from(new Boolean[][]{
+			{false, false, true}, {false, false, false}, {false, false, false}});
+		assertEquals(expected.toString(), edges.multiply(edges, Semiring.booleans()).toString());
+	}
+
+	// Edge Case: A zero double factor times NaN or infinity gives NaN, as in IEEE arithmetic.
+	@Test
+	public void testMultiply_DoublesPropagateNaN() {
+		MatrixMap<Double> left = MatrixMap.from(new Double[][]{{0.0, 1.0}, {0.0, 0.0}});
+		MatrixMap<Double> right = MatrixMap.from(new Double[][]{
+			{Double.NaN, Double.POSITIVE_INFINITY}, {2.0, 3.0}});
+		MatrixMap<Double> product = left.multiply(right, Semiring.doubles());
+		assertTrue(product.value(0, 0).isNaN());
+		assertTrue(product.value(0, 1).isNaN());
+		assertTrue(product.value(1, 0).isNaN());
+		assertTrue(product.value(1, 1).isNaN());
+	}
+
+	// Edge Case: Matrices of incompatible sizes should throw IllegalArgumentException.
+	@Test(expected = IllegalArgumentException.class)
+	public void testMultiply_SizeMismatch() {
+		MatrixMap.instance(2, 3, indexes -> 1)
+			.multiply(MatrixMap.instance(2, 3, indexes -> 1), Semiring.integers());
+	}
+
+	// Code Coverage: Rows become columns.
+	@Test
+	public void testTranspose_Normal() {
+		MatrixMap<Integer> matrix = MatrixMap.from(new Integer[][]{{1, 2, 3}, {4, 5, 6}});
+		assertEquals(MatrixMap.from(new Integer[][]{{1, 4}, {2, 5}, {3, 6}}).toString(),
+			matrix.transpose().toString());
+	}
+
+	// Code Coverage: Operands of the map-backed layout are copied through ordered row scans, without
+	// a checked get per cell.
+	@Test
+	public void testArithmetic_MapLayoutScansRows() {
+		MatrixMap<Integer> matrix = MatrixMap.instance(3, 4,
+			indexes -> indexes.row() * 10 + indexes.column(), MatrixMap.Layout.MAP);
+		MatrixMap<Integer> dense = MatrixMap.instance(3, 4,
+			indexes -> indexes.row() * 10 + indexes.column(), MatrixMap.Layout.DENSE);
+		Barricade.resetReadCacheStatistics();
+		assertEquals(dense.transpose().toString(), matrix.transpose().toString());
+		assertEquals(dense.multiply(dense.transpose(), Semiring.integers()).toString(),
+			matrix.multiply(matrix.transpose(), Semiring.integers()).toString());
+		Barricade.ReadCacheStatistics statistics = Barricade.readCacheStatistics();
+		assertEquals(0, statistics.hits() + statistics.misses());
+	}
+
+	// Code Coverage: Every value is multiplied by the scalar.
+	@Test
+	public void testScale_Normal() {
+		MatrixMap<Double> matrix = MatrixMap.from(new Double[][]{{1.0, 0.5}, {0.0, -2.0}});
+		assertEquals(MatrixMap.from(new Double[][]{{2.0, 1.0}, {0.0, -4.0}}).toString(),
+			matrix.scale(2.0, Semiring.doubles()).toString());
+	}
+
+	// ==================== views Tests ====================
+
+	private static String expectedBlock(int fromRow, int fromColumn, int toRow, int toColumn) {
+		return MatrixMap.instance(toRow - fromRow + 1, toColumn - fromColumn + 1,
+			indexes -> (indexes.row() + fromRow) * 10 + indexes.column() + fromColumn,
+			MatrixMap.Layout.DENSE).toString();
+	}
+
+	// Code Coverage: Row, rows, column and submatrix views agree on every layout.
+	@Test
+	public void testViews_AllLayouts() {
+		for (MatrixMap.Layout layout : new MatrixMap.Layout[]{MatrixMap.Layout.DENSE,
+			MatrixMap.Layout.SPARSE, MatrixMap.Layout.PACKED, MatrixMap.Layout.LAZY,
+			MatrixMap.Layout.MAP}) {
+			MatrixMap<Integer> matrix = MatrixMap.instance(6, 7,
+				indexes -> indexes.row() * 10 + indexes.column(), layout);
+			assertEquals(layout.name(), expectedBlock(2, 0, 2, 6), matrix.row(2).toString());
+			assertEquals(layout.name(), expectedBlock(1, 0, 3, 6), matrix.rows(1, 4).toString());
+			assertEquals(layout.name(), expectedBlock(0, 5, 5, 5), matrix.column(5).toString());
+			assertEquals(layout.name(), expectedBlock(1, 2, 4, 5),
+				matrix.submatrix(new Indexes(1, 2), new Indexes(4, 5)).toString());
+			assertEquals(layout, matrix.row(0).layout());
+		}
+	}
+
+	// Code Coverage: A view of a view is shifted by both offsets.
+	@Test
+	public void testSubmatrix_Nested() {
+		MatrixMap<Integer> matrix = MatrixMap.instance(8, 8,
+			indexes -> indexes.row() * 10 + indexes.column());
+		MatrixMap<Integer> block = matrix.submatrix(new Indexes(2, 1), new Indexes(7, 6));
+		assertEquals(new Indexes(6, 6), block.size());
+		assertEquals(expectedBlock(3, 3, 3, 6), block.row(1).submatrix(new Indexes(0, 2),
+			new Indexes(0, 5)).toString());
+		assertEquals(Integer.valueOf(45), block.value(2, 4));
+		assertNull(block.value(6, 0));
+	}
+
+	// Edge Case: A range wider than a view only visits the cells of the view.
+	@Test
+	public void testViewForEach_ClampedToBlock() {
+		ViewMatrixStorage<Integer> view = ViewMatrixStorage.of(DenseMatrixStorage.build(5, 5,
+			indexes -> indexes.row() * 10 + indexes.column()), 1, 2, 2, 2);
+		List<Integer> values = new ArrayList<>();
+		view.forEach(-1, 5, 0, 5, (row, column, value) -> values.add(value));
+		assertEquals(List.of(12, 13, 22, 23), values);
+	}
+
+	// Code Coverage: A view of a lazy matrix computes only its own cells.
+	@Test
+	public void testSubmatrix_LazyComputesBlockOnly() {
+		AtomicInteger computed = new AtomicInteger();
+		MatrixMap<Integer> matrix = MatrixMap.lazy(1_000, 1_000, indexes -> {
+			computed.incrementAndGet();
+			return indexes.row() + indexes.column();
+		});
+		matrix.submatrix(new Indexes(500, 500), new Indexes(501, 502)).toString();
+		assertEquals(6, computed.get());
+	}
+
+	// Code Coverage: forEach visits every cell in row-major order.
+	@Test
+	public void testForEach_RowMajor() {
+		MatrixMap<Integer> matrix = MatrixMap.instance(3, 4,
+			indexes -> indexes.row() * 10 + indexes.column(), MatrixMap.Layout.MAP);
+		List<Integer> values = new ArrayList<>();
+		matrix.rows(1, 3).forEach((row, column, value) -> {
+			assertEquals((row + 1) * 10 + column, value.intValue());
+			values.add(value);
+		});
+		assertEquals(List.of(10, 11, 12, 13, 20, 21, 22, 23), values);
+	}
+
+	// Edge Case: A row outside the matrix should throw IndexOutOfBoundsException.
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testRow_OutOfBounds() {
+		MatrixMap.constant(3, 1).row(3);
+	}
+
+	// Edge Case: An empty row range should throw IllegalArgumentException caused by ROW.
+	@Test
+	public void testRows_Empty() {
+		try {
+			MatrixMap.constant(3, 1).rows(1, 1);
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			MatrixMap.InvalidLengthException cause = (MatrixMap.InvalidLengthException) e.getCause();
+			assertEquals(MatrixMap.InvalidLengthException.Cause.ROW, cause.getTheCause());
+		}
+	}
+
+	// Edge Case: Corners in the wrong order should throw IllegalArgumentException caused by COLUMN.
+	@Test
+	public void testSubmatrix_ReversedCorners() {
+		try {
+			MatrixMap.constant(3, 1).submatrix(new Indexes(0, 2), new Indexes(1, 1));
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			MatrixMap.InvalidLengthException cause = (MatrixMap.InvalidLengthException) e.getCause();
+			assertEquals(MatrixMap.InvalidLengthException.Cause.COLUMN, cause.getTheCause());
+		}
+	}
+
+	// ==================== writeTo Tests ====================
+
+	// Code Coverage: The streamed representation equals toString on every layout.
+	@Test
+	public void testWriteTo_MatchesToString() throws IOException {
+		for (MatrixMap.Layout layout : new MatrixMap.Layout[]{MatrixMap.Layout.DENSE,
+			MatrixMap.Layout.SPARSE, MatrixMap.Layout.PACKED, MatrixMap.Layout.LAZY,
+			MatrixMap.Layout.MAP}) {
+			MatrixMap<Integer> matrix = MatrixMap.instance(4, 3,
+				indexes -> indexes.row() * indexes.column(), layout);
+			StringBuilder out = new StringBuilder();
+			matrix.writeTo(out);
+			assertEquals(layout.name(), matrix.toString(), out.toString());
+		}
+	}
+
+	// Code Coverage: Cells after the limit are elided and never read.
+	@Test
+	public void testWriteTo_CellLimit() throws IOException {
+		AtomicInteger computed = new AtomicInteger();
+		MatrixMap<Integer> matrix = MatrixMap.lazy(1_000, 1_000, indexes -> {
+			computed.incrementAndGet();
+			return indexes.column();
+		});
+		StringBuilder out = new StringBuilder();
+		matrix.writeTo(out, 3);
+		assertEquals("{" + new Indexes(0, 0) + "=0, " + new Indexes(0, 1) + "=1, "
+			+ new Indexes(0, 2) + "=2, ...}", out.toString());
+		assertEquals(3, computed.get());
+	}
+
+	// Code Coverage: A limit covering every cell writes no elision.
+	@Test
+	public void testWriteTo_LimitCoversMatrix() throws IOException {
+		MatrixMap<Integer> matrix = MatrixMap.constant(2, 5);
+		StringBuilder out = new StringBuilder();
+		matrix.writeTo(out, 4);
+		assertEquals(matrix.toString(), out.toString());
+	}
+
+	// Code Coverage: The grid right-aligns every column.
+	@Test
+	public void testWriteGrid_Normal() throws IOException {
+		MatrixMap<Integer> matrix = MatrixMap.from(new Integer[][]{{1, -20, 3}, {400, 5, 6}});
+		StringBuilder out = new StringBuilder();
+		matrix.writeGrid(out, 10, 10);
+		assertEquals("  1 -20 3\n400   5 6\n", out.toString());
+	}
+
+	// Code Coverage: Rows and columns past the limits are elided.
+	@Test
+	public void testWriteGrid_Elided() throws IOException {
+		MatrixMap<Integer> matrix = MatrixMap.instance(500, 500,
+			indexes -> indexes.row() * indexes.column(), MatrixMap.Layout.MAP);
+		StringBuilder out = new StringBuilder();
+		matrix.writeGrid(out, 2, 3);
+		assertEquals("0 0 0 ...\n0 1 2 ...\n...\n", out.toString());
+	}
+
+	// Edge Case: A limit that is not positive should throw IllegalArgumentException.
+	@Test(expected = IllegalArgumentException.class)
+	public void testWriteGrid_NonPositiveLimit() throws IOException {
+		MatrixMap.constant(2, 5).writeGrid(new StringBuilder(), 0, 1);
+	}
+}
@@ -0,0 +1,201 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MismatchReporterTest {
+
+	private Logger logger;
+	private RingBufferHandler handler;
+
+	@Before
+	public void setUp() {
+		logger = Logger.getLogger(MismatchReporterTest.class.getName());
+		logger.setUseParentHandlers(false);
+		handler = new RingBufferHandler(64);
+		logger.addHandler(handler);
+	}
+
+	@After
+	public void tearDown() {
+		logger.removeHandler(handler);
+		logger.setUseParentHandlers(true);
+		logger.setLevel(null);
+	}
+
+	private List<String> messages() {
+		List<String> messages = new ArrayList<>();
+		handler.drainTo(record -> messages.add(record.getMessage()));
+		return messages;
+	}
+
+	// ==================== MismatchReporter Tests ====================
+
+	// Code Coverage: Messages beyond the burst of their key are suppressed; other keys are not.
+	@Test
+	public void testReporter_RateLimitedPerKey() {
+		MismatchReporter reporter = new MismatchReporter(logger, 0.001, 3, Duration.ofHours(1));
+		for (int i = 0; i < 10; i++) {
+			reporter.warning("first");
+		}
+		reporter.warning("second");
+		assertEquals(List.of("first", "first", "first", "second"), messages());
+		assertEquals(7, reporter.suppressed("first"));
+		assertEquals(0, reporter.suppressed("second"));
+	}
+
+	// Code Coverage: A suppressed message is never formatted.
+	@Test
+	public void testReporter_LazyFormatting() {
+		MismatchReporter reporter = new MismatchReporter(logger, 0.001, 1, Duration.ofHours(1));
+		AtomicInteger formatted = new AtomicInteger();
+		for (int i = 0; i < 5; i++) {
+			reporter.warning("key", () -> "message " + formatted.incrementAndGet());
+		}
+		assertEquals(1, formatted.get());
+		assertEquals(List.of("message 1"), messages());
+	}
+
+	// Code Coverage: Nothing is formatted or counted while the logger drops warnings.
+	@Test
+	public void testReporter_NotLoggable() {
+		logger.setLevel(Level.SEVERE);
+		MismatchReporter reporter = new MismatchReporter(logger, 0.001, 1, Duration.ofHours(1));
+		reporter.warning("key", () -> {
+			throw new AssertionError("formatted");
+		});
+		reporter.warning("key");
+		assertEquals(0, reporter.suppressed("key"));
+	}
+
+	// Code Coverage: The timer logs a summary once the interval is over, without a later message
+	// of the same key.
+	@Test
+	public void testReporter_SummaryAfterInterval() throws InterruptedException {
+		MismatchReporter reporter = new MismatchReporter(logger, 0.001, 1, Duration.ofMillis(100));
+		reporter.warning("key");
+		reporter.warning("key");
+		reporter.warning("key");
+		List<String> messages = new ArrayList<>();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (messages.size() < 2 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+			messages.addAll(messages());
+		}
+		assertEquals(List.of("key", "2 suppressed in last 1s: key"), messages);
+		assertEquals(0, reporter.suppressed("key"));
+	}
+
+	// Code Coverage: flush reports the suppressed messages before the interval is over, over the
+	// time actually elapsed rather than the interval.
+	@Test
+	public void testReporter_Flush() {
+		MismatchReporter reporter = new MismatchReporter(logger, 0.001, 1, Duration.ofHours(1));
+		reporter.warning("key");
+		reporter.warning("key");
+		reporter.flush();
+		assertEquals(List.of("key", "1 suppressed in last 1s: key"), messages());
+		reporter.flush();
+		assertTrue(messages().isEmpty());
+	}
+
+	// Edge Case: Non-positive limits are rejected.
+	@Test(expected = IllegalArgumentException.class)
+	public void testReporter_InvalidBurst() {
+		new MismatchReporter(logger, 1, 0, Duration.ofSeconds(1));
+	}
+
+	// ==================== RingBufferHandler Tests ====================
+
+	// Code Coverage: Records are drained once, oldest first.
+	@Test
+	public void testRingBuffer_Drain() {
+		logger.warning("a");
+		logger.warning("b");
+		assertEquals(List.of("a", "b"), messages());
+		assertTrue(messages().isEmpty());
+		assertEquals("b", handler.getLastLog().orElse(null));
+	}
+
+	// Edge Case: A full buffer overwrites its oldest records and counts them as lost.
+	@Test
+	public void testRingBuffer_Overwrite() {
+		RingBufferHandler small = new RingBufferHandler(3);
+		assertEquals(4, small.capacity());
+		for (int i = 0; i < 10; i++) {
+			small.publish(new LogRecord(Level.WARNING, String.valueOf(i)));
+		}
+		assertEquals(4, small.records().size());
+		List<String> drained = new ArrayList<>();
+		small.drainTo(record -> drained.add(record.getMessage()));
+		assertEquals(List.of("6", "7", "8", "9"), drained);
+		assertEquals(6, small.lost());
+	}
+
+	// Code Coverage: Records published concurrently are all captured.
+	@Test
+	public void testRingBuffer_ConcurrentPublish() throws InterruptedException {
+		RingBufferHandler buffer = new RingBufferHandler(1 << 14);
+		int threads = 8;
+		int perThread = 1000;
+		CountDownLatch done = new CountDownLatch(threads);
+		for (int t = 0; t < threads; t++) {
+			new Thread(() -> {
+				for (int i = 0; i < perThread; i++) {
+					buffer.publish(new LogRecord(Level.WARNING, "message"));
+				}
+				done.countDown();
+			}).start();
+		}
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		assertEquals(threads * perThread, buffer.drainTo(record -> {
+		}));
+		assertEquals(0, buffer.lost());
+	}
+
+	// Code Coverage: A handler with a target forwards its records on its own thread.
+	@Test
+	public void testRingBuffer_Forwarding() throws InterruptedException {
+		CountDownLatch forwarded = new CountDownLatch(2);
+		List<String> received = new ArrayList<>();
+		Handler target = new Handler() {
+			@Override
+			public void publish(LogRecord record) {
+				synchronized (received) {
+					received.add(record.getMessage());
+				}
+				forwarded.countDown();
+			}
+
+			@Override
+			public void flush() {
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+		RingBufferHandler forwarding = new RingBufferHandler(16, target, Duration.ofMillis(5));
+		forwarding.publish(new LogRecord(Level.WARNING, "x"));
+		forwarding.publish(new LogRecord(Level.WARNING, "y"));
+		assertTrue(forwarded.await(5, TimeUnit.SECONDS));
+		forwarding.close();
+		synchronized (received) {
+			assertEquals(List.of("x", "y"), received);
+		}
+		assertFalse(forwarding.getLastLog().isEmpty());
+	}
+}
@@ -0,0 +1,266 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.Test;
+import roamingcollection.MapChange;
+import roamingcollection.RoamingMap;
+
+// Test class for RoamingMap snapshots
+public class RoamingMapTest {
+
+	private static RoamingMap<Integer, String> roamingMap(int size) {
+		RoamingMap<Integer, String> map = new RoamingMap<>();
+		for (int i = 0; i < size; i++) {
+			map.put(i, "v" + i);
+		}
+		return map;
+	}
+
+	// Code Coverage: A snapshot keeps its contents while the map keeps changing.
+	@Test
+	public void testSnapshot_IsolatedFromWrites() {
+		RoamingMap<Integer, String> map = roamingMap(5);
+		NavigableMap<Integer, String> snapshot = map.snapshot();
+		map.put(2, "changed");
+		map.put(9, "v9");
+		map.remove(0);
+		NavigableMap<Integer, String> later = map.snapshot();
+		assertEquals("{0=v0, 1=v1, 2=v2, 3=v3, 4=v4}", snapshot.toString());
+		assertEquals(new TreeMap<>(map), later);
+		assertEquals(5, later.size());
+		assertEquals("changed", later.get(2));
+	}
+
+	// Code Coverage: Snapshots stay correct after the writes since the last one outnumber the
+	// entries, which drops the persistent copy until the next snapshot.
+	@Test
+	public void testSnapshot_AfterManyWritesWithoutSnapshot() {
+		RoamingMap<Integer, String> map = roamingMap(3);
+		NavigableMap<Integer, String> snapshot = map.snapshot();
+		for (int i = 0; i < 10; i++) {
+			map.put(i % 4, "w" + i);
+		}
+		assertEquals("{0=v0, 1=v1, 2=v2}", snapshot.toString());
+		NavigableMap<Integer, String> later = map.snapshot();
+		assertEquals(new TreeMap<>(map), later);
+		map.remove(1);
+		assertEquals(new TreeMap<>(map), map.snapshot());
+		assertEquals(4, later.size());
+	}
+
+	// Code Coverage: Writes through views, iterators and entries are reflected in later snapshots.
+	@Test
+	public void testSnapshot_ViewMutations() {
+		RoamingMap<Integer, String> map = roamingMap(10);
+		map.snapshot();
+		map.subMap(2, 4).clear();
+		map.headMap(1, true).put(0, "zero");
+		Iterator<Integer> keys = map.navigableKeySet().iterator();
+		keys.next();
+		keys.next();
+		keys.remove();
+		for (Map.Entry<Integer, String> entry : map.tailMap(8).entrySet()) {
+			entry.setValue("tail");
+		}
+		map.values().removeIf("v5"::equals);
+		map.pollLastEntry();
+		map.descendingMap().pollFirstEntry();
+		assertEquals(new TreeMap<>(map), map.snapshot());
+		assertEquals("{0=zero, 4=v4, 6=v6, 7=v7}", map.snapshot().toString());
+	}
+
+	// Code Coverage: Snapshots of views are restricted to the range and order of the view.
+	@Test
+	public void testSnapshot_OfViews() {
+		RoamingMap<Integer, String> map = roamingMap(10);
+		RoamingMap<Integer, String> range = map.subMap(2, true, 6, false);
+		assertEquals(new TreeMap<>(range), range.snapshot());
+		assertEquals(Integer.valueOf(5), range.snapshot().lastKey());
+		assertEquals(4, range.snapshot().size());
+		assertEquals("{3=v3, 2=v2}", map.descendingMap().tailMap(3, true).headMap(1, false)
+			.toString());
+		assertEquals("{3=v3, 2=v2}", map.descendingMap().snapshot().tailMap(3, true)
+			.headMap(1, false).toString());
+	}
+
+	// Code Coverage: Navigation on a bounded snapshot stays inside its range.
+	@Test
+	public void testSnapshot_Navigation() {
+		NavigableMap<Integer, String> snapshot = roamingMap(10).snapshot().subMap(3, false, 7, true);
+		assertEquals(Integer.valueOf(4), snapshot.firstKey());
+		assertEquals(Integer.valueOf(7), snapshot.floorKey(100));
+		assertEquals(Integer.valueOf(4), snapshot.ceilingKey(-1));
+		assertEquals(null, snapshot.higherKey(7));
+		assertEquals(null, snapshot.get(3));
+		assertFalse(snapshot.containsKey(8));
+		assertEquals("[4, 5, 6, 7]", snapshot.keySet().toString());
+	}
+
+	// Edge Case: Snapshots are read-only.
+	@Test(expected = UnsupportedOperationException.class)
+	public void testSnapshot_Immutable() {
+		roamingMap(3).snapshot().put(5, "v5");
+	}
+
+	// Edge Case: Range views of a snapshot reject keys outside the range.
+	@Test(expected = IllegalArgumentException.class)
+	public void testSnapshot_SubMapOutOfRange() {
+		roamingMap(10).snapshot().headMap(5, true).tailMap(6, true);
+	}
+
+	// Code Coverage: Snapshots stay correct across many inserts and removals.
+	@Test
+	public void testSnapshot_ManyUpdates() {
+		RoamingMap<Integer, String> map = new RoamingMap<>();
+		TreeMap<Integer, String> expected = new TreeMap<>();
+		map.snapshot();
+		for (int i = 0; i < 2000; i++) {
+			int key = (i * 7919) % 1000;
+			if (i % 3 == 0) {
+				map.remove(key);
+				expected.remove(key);
+			} else {
+				map.put(key, "v" + i);
+				expected.put(key, "v" + i);
+			}
+		}
+		NavigableMap<Integer, String> snapshot = map.snapshot();
+		assertEquals(expected, snapshot);
+		assertEquals(expected.headMap(500).size(), snapshot.headMap(500).size());
+	}
+
+	// Code Coverage: Every write through the map, its views, iterators and entries counts.
+	@Test
+	public void testModCount_CountsEveryWrite() {
+		RoamingMap<Integer, String> map = roamingMap(10);
+		long count = map.modCount();
+		map.get(3);
+		map.containsKey(3);
+		map.snapshot();
+		assertEquals(count, map.modCount());
+		map.put(3, "changed");
+		assertTrue(map.modCount() > count);
+		count = map.modCount();
+		map.remove(4);
+		assertTrue(map.modCount() > count);
+		count = map.modCount();
+		map.pollFirstEntry();
+		assertTrue(map.modCount() > count);
+		count = map.modCount();
+		Iterator<Map.Entry<Integer, String>> entries = map.subMap(5, true, 7, true).entrySet()
+			.iterator();
+		entries.next().setValue("set");
+		assertTrue(map.modCount() > count);
+		count = map.modCount();
+		entries.next();
+		entries.remove();
+		assertTrue(map.modCount() > count);
+		count = map.modCount();
+		map.headMap(3, false).clear();
+		assertTrue(map.modCount() > count);
+		assertEquals(map.modCount(), map.descendingMap().modCount());
+		count = map.modCount();
+		map.clear();
+		assertTrue(map.modCount() > count);
+	}
+
+	// Code Coverage: Every kind of write is reported with its old and new value.
+	@Test
+	public void testChangeListener_ReportsWrites() {
+		RoamingMap<Integer, String> map = roamingMap(10);
+		List<MapChange<Integer, String>> changes = new ArrayList<>();
+		map.addChangeListener(changes::add);
+		map.put(20, "new");
+		map.put(1, "changed");
+		map.remove(2);
+		map.remove(99);
+		map.pollFirstEntry();
+		map.subMap(7, true, 9, false).pollLastEntry();
+		assertEquals(List.of(MapChange.put(20, null, "new"), MapChange.put(1, "v1", "changed"),
+			MapChange.remove(2, "v2"), MapChange.poll(0, "v0"), MapChange.poll(8, "v8")), changes);
+		changes.clear();
+		map.clear();
+		assertEquals(List.of(MapChange.<Integer, String>clear()), changes);
+	}
+
+	// Code Coverage: Writes through entry sets, key sets, values and range clears are reported.
+	@Test
+	public void testChangeListener_ViewWrites() {
+		RoamingMap<Integer, String> map = roamingMap(10);
+		List<MapChange<Integer, String>> changes = new ArrayList<>();
+		map.addChangeListener(changes::add);
+		map.entrySet().iterator().next().setValue("set");
+		map.entrySet().remove(Map.entry(1, "v1"));
+		map.keySet().remove(2);
+		Iterator<Integer> keys = map.descendingKeySet().iterator();
+		keys.next();
+		keys.remove();
+		Iterator<String> values = map.values().iterator();
+		values.next();
+		values.remove();
+		map.subMap(5, true, 7, true).clear();
+		assertEquals(List.of(MapChange.put(0, "v0", "set"), MapChange.remove(1, "v1"),
+			MapChange.remove(2, "v2"), MapChange.remove(9, "v9"), MapChange.remove(0, "set"),
+			MapChange.remove(5, "v5"), MapChange.remove(6, "v6"), MapChange.remove(7, "v7")),
+			changes);
+		assertEquals("{3=v3, 4=v4, 8=v8}", map.toString());
+	}
+
+	// Code Coverage: Batches are delivered when full, on flush and on close, and not after it.
+	@Test
+	public void testBatchChangeListener_Delivery() {
+		RoamingMap<Integer, String> map = new RoamingMap<>();
+		List<List<MapChange<Integer, String>>> batches = new ArrayList<>();
+		RoamingMap.ChangeRegistration registration = map.headMap(100, true)
+			.addBatchChangeListener(batches::add, 2);
+		map.put(1, "a");
+		assertTrue(batches.isEmpty());
+		map.put(2, "b");
+		map.put(3, "c");
+		assertEquals(List.of(List.of(MapChange.put(1, null, "a"), MapChange.put(2, null, "b"))),
+			batches);
+		map.flushChanges();
+		assertEquals(List.of(MapChange.put(3, null, "c")), batches.get(1));
+		map.remove(1);
+		registration.close();
+		assertEquals(List.of(MapChange.remove(1, "a")), batches.get(2));
+		map.put(4, "d");
+		map.flushChanges();
+		assertEquals(3, batches.size());
+	}
+
+	// Code Coverage: A consumer kept up to date from the changes alone matches a full rescan.
+	@Test
+	public void testChangeListener_IncrementalConsumer() {
+		RoamingMap<Integer, Integer> map = new RoamingMap<>();
+		map.snapshot();
+		long[] sum = new long[1];
+		map.addChangeListener(change -> {
+			switch (change.kind()) {
+				case PUT -> sum[0] += change.newValue() - (change.oldValue() == null ? 0
+					: change.oldValue());
+				case REMOVE, POLL -> sum[0] -= change.oldValue();
+				case CLEAR -> sum[0] = 0;
+			}
+		});
+		Random random = new Random(7);
+		for (int i = 0; i < 2000; i++) {
+			int key = random.nextInt(100);
+			switch (random.nextInt(6)) {
+				case 0 -> map.remove(key);
+				case 1 -> map.pollFirstEntry();
+				case 2 -> map.tailMap(key, true).headMap(key + 5, false).clear();
+				default -> map.put(key, random.nextInt(1000));
+			}
+			assertEquals(map.values().stream().mapToLong(Integer::longValue).sum(), sum[0]);
+		}
+	}
+}